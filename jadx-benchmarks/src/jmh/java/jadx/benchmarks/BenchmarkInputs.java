@@ -0,0 +1,116 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jadx.api.CommentsLevel;
+import jadx.api.JadxArgs;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.api.usage.impl.EmptyUsageInfoCache;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Checked-in fixtures used by benchmarks.
+ * Fixtures are copied from classpath into temp directory before trial start.
+ */
+final class BenchmarkInputs {
+	static final String DEX = "dex";
+	static final String APK = "apk";
+	static final String SMALI = "smali";
+
+	private static final String FIXTURES_DIR = "/fixtures/";
+
+	private static final String[] SMALI_FILES = {
+			"TestComplexIf.smali",
+			"TestEndlessLoop2.smali",
+			"TestEnums8.smali",
+			"TestIfCodeStyle.smali",
+			"TestNestedTryCatch4.smali",
+			"TestTypeResolver5.smali",
+	};
+
+	private BenchmarkInputs() {
+	}
+
+	static List<File> extract(String inputType, File tmpDir) {
+		switch (inputType) {
+			case DEX:
+				return Collections.singletonList(copyFixture("hello.dex", tmpDir));
+			case APK:
+				return Collections.singletonList(copyFixture("app-with-fake-dex.apk", tmpDir));
+			case SMALI:
+				List<File> files = new ArrayList<>(SMALI_FILES.length);
+				for (String smaliFile : SMALI_FILES) {
+					files.add(copyFixture(SMALI + '/' + smaliFile, tmpDir));
+				}
+				return files;
+			default:
+				throw new JadxRuntimeException("Unknown benchmark input type: " + inputType);
+		}
+	}
+
+	/**
+	 * Args without caches, so every iteration do full processing
+	 */
+	static JadxArgs makeArgs(List<File> inputFiles, File outDir) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(new ArrayList<>(inputFiles));
+		args.setRootDir(outDir);
+		args.setCodeCache(NoOpCodeCache.INSTANCE);
+		args.setUsageInfoCache(new EmptyUsageInfoCache());
+		args.setCommentsLevel(CommentsLevel.NONE);
+		args.setThreadsCount(1);
+		return args;
+	}
+
+	static File makeTempDir(String prefix) {
+		try {
+			File dir = File.createTempFile("jadx-bench-" + prefix, "");
+			if (!dir.delete() || !dir.mkdirs()) {
+				throw new IOException("Failed to create temp dir: " + dir);
+			}
+			return dir;
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Temp dir create failed", e);
+		}
+	}
+
+	static void deleteDir(File dir) {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				deleteDir(file);
+			}
+		}
+		//noinspection ResultOfMethodCallIgnored
+		dir.delete();
+	}
+
+	private static File copyFixture(String name, File tmpDir) {
+		File outFile = new File(tmpDir, name);
+		File parentDir = outFile.getParentFile();
+		if (!parentDir.exists() && !parentDir.mkdirs()) {
+			throw new JadxRuntimeException("Failed to create dir: " + parentDir);
+		}
+		try (InputStream in = BenchmarkInputs.class.getResourceAsStream(FIXTURES_DIR + name);
+				OutputStream out = new FileOutputStream(outFile)) {
+			if (in == null) {
+				throw new JadxRuntimeException("Fixture not found: " + name);
+			}
+			byte[] buf = new byte[8192];
+			int read;
+			while ((read = in.read(buf)) != -1) {
+				out.write(buf, 0, read);
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to copy fixture: " + name, e);
+		}
+		return outFile;
+	}
+}
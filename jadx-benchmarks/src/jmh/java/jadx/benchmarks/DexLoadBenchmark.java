@@ -0,0 +1,53 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import jadx.plugins.input.dex.DexFileLoader;
+import jadx.plugins.input.dex.DexInputOptions;
+import jadx.plugins.input.dex.DexReader;
+
+/**
+ * Input files reading: {@link DexFileLoader#collectDexFiles(List)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DexLoadBenchmark {
+
+	@Param({ BenchmarkInputs.DEX, BenchmarkInputs.APK })
+	public String input;
+
+	private File tmpDir;
+	private List<File> inputFiles;
+	private DexFileLoader loader;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		tmpDir = BenchmarkInputs.makeTempDir("dex-load");
+		inputFiles = BenchmarkInputs.extract(input, tmpDir);
+		loader = new DexFileLoader(new DexInputOptions());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkInputs.deleteDir(tmpDir);
+	}
+
+	@Benchmark
+	public List<DexReader> collectDexFiles() {
+		return loader.collectDexFiles(inputFiles);
+	}
+}
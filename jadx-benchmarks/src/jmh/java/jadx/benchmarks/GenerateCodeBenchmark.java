@@ -0,0 +1,64 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.ProcessClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Decompilation passes and codegen for all top level classes: {@link ProcessClass#generateCode(ClassNode)}.
+ * Classes unloaded after codegen, so every invocation do full processing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GenerateCodeBenchmark {
+
+	@Param({ BenchmarkInputs.DEX, BenchmarkInputs.APK, BenchmarkInputs.SMALI })
+	public String input;
+
+	private File tmpDir;
+	private JadxDecompiler decompiler;
+	private ProcessClass processClass;
+	private List<ClassNode> classes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		tmpDir = BenchmarkInputs.makeTempDir("generate-code");
+		List<File> inputFiles = BenchmarkInputs.extract(input, tmpDir);
+		decompiler = new JadxDecompiler(BenchmarkInputs.makeArgs(inputFiles, new File(tmpDir, "out")));
+		decompiler.load();
+		RootNode root = decompiler.getRoot();
+		processClass = root.getProcessClasses();
+		classes = root.getClassesWithoutInner();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		decompiler.close();
+		BenchmarkInputs.deleteDir(tmpDir);
+	}
+
+	@Benchmark
+	public void generateCode(Blackhole bh) {
+		for (ClassNode cls : classes) {
+			bh.consume(processClass.generateCode(cls));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package jadx.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.InfoStorage;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Contention in {@link InfoStorage}: all threads intern same set of class, field and method infos,
+ * like decompile threads resolving references to same classes.
+ * Storage is recreated before each iteration, so first calls are misses and then mostly hits.
+ * Compare throughput per thread count to check scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InfoStorageBenchmark {
+	private static final int CLASSES_COUNT = 4096;
+	private static final int PACKAGES_COUNT = 64;
+
+	private static final List<ArgType> MTH_ARGS = Arrays.asList(ArgType.INT, ArgType.STRING);
+
+	private final String[] clsNames = new String[CLASSES_COUNT];
+
+	private RootNode root;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		int next;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			// threads start from different classes
+			next = (int) (Thread.currentThread().getId() * 31);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		for (int i = 0; i < CLASSES_COUNT; i++) {
+			clsNames[i] = "pkg" + (i % PACKAGES_COUNT) + ".Cls" + i;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void resetStorage() {
+		root = new RootNode(new JadxArgs());
+	}
+
+	@Benchmark
+	@Threads(1)
+	public MethodInfo intern1Thread(ThreadState state) {
+		return intern(state);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public MethodInfo intern4Threads(ThreadState state) {
+		return intern(state);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public MethodInfo intern16Threads(ThreadState state) {
+		return intern(state);
+	}
+
+	private MethodInfo intern(ThreadState state) {
+		String clsName = clsNames[(state.next++ & Integer.MAX_VALUE) % CLASSES_COUNT];
+		ClassInfo cls = ClassInfo.fromName(root, clsName);
+		FieldInfo.from(root, cls, "field", ArgType.INT);
+		MethodInfo.fromDetails(root, cls, "method", MTH_ARGS, ArgType.VOID);
+		return MethodInfo.fromDetails(root, cls, "<init>", Collections.emptyList(), ArgType.VOID);
+	}
+}
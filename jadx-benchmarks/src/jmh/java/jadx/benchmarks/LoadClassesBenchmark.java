@@ -0,0 +1,63 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.plugins.input.ICodeLoader;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Class nodes creation: {@link RootNode#loadClasses(List)}.
+ * Inputs loaded once, root node recreated on each invocation (constructor cost included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoadClassesBenchmark {
+
+	@Param({ BenchmarkInputs.DEX, BenchmarkInputs.APK, BenchmarkInputs.SMALI })
+	public String input;
+
+	private File tmpDir;
+	private JadxDecompiler decompiler;
+	private JadxArgs args;
+	private List<ICodeLoader> codeLoaders;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		tmpDir = BenchmarkInputs.makeTempDir("load-classes");
+		List<File> inputFiles = BenchmarkInputs.extract(input, tmpDir);
+		args = BenchmarkInputs.makeArgs(inputFiles, new File(tmpDir, "out"));
+		decompiler = new JadxDecompiler(args);
+		decompiler.load();
+		codeLoaders = decompiler.getLoadedInputs();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		decompiler.close();
+		BenchmarkInputs.deleteDir(tmpDir);
+	}
+
+	@Benchmark
+	public RootNode loadClasses() {
+		RootNode root = new RootNode(args);
+		root.init();
+		root.loadClasses(codeLoaders);
+		return root;
+	}
+}
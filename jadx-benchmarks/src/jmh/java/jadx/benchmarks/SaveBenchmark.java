@@ -0,0 +1,59 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+
+/**
+ * Full save: {@link JadxDecompiler#save()} with sources and resources.
+ * Code cache disabled, so every invocation decompile all classes again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SaveBenchmark {
+
+	@Param({ BenchmarkInputs.DEX, BenchmarkInputs.APK, BenchmarkInputs.SMALI })
+	public String input;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private File tmpDir;
+	private JadxDecompiler decompiler;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		tmpDir = BenchmarkInputs.makeTempDir("save");
+		List<File> inputFiles = BenchmarkInputs.extract(input, tmpDir);
+		JadxArgs args = BenchmarkInputs.makeArgs(inputFiles, new File(tmpDir, "out"));
+		args.setThreadsCount(threads);
+		decompiler = new JadxDecompiler(args);
+		decompiler.load();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		decompiler.close();
+		BenchmarkInputs.deleteDir(tmpDir);
+	}
+
+	@Benchmark
+	public void save() {
+		decompiler.save();
+	}
+}
@@ -5,9 +5,12 @@ import org.slf4j.LoggerFactory;
 
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
+import jadx.api.impl.ChunkedCodeWriter;
 import jadx.api.impl.NoOpCodeCache;
-import jadx.api.impl.SimpleCodeWriter;
+import jadx.api.metrics.JadxPassMetrics;
 import jadx.cli.LogHelper.LogLevelEnum;
+import jadx.core.cache.code.disk.DiskCodeCache;
+import jadx.core.cache.code.disk.SharedCodeCache;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
 import jadx.core.utils.files.FileUtils;
 
@@ -43,16 +46,18 @@ public class JadxCLI {
 		LogHelper.setLogLevelsForLoadingStage();
 		JadxArgs jadxArgs = cliArgs.toJadxArgs();
 		jadxArgs.setCodeCache(new NoOpCodeCache());
-		jadxArgs.setCodeWriterProvider(SimpleCodeWriter::new);
+		jadxArgs.setCodeWriterProvider(ChunkedCodeWriter::new);
 		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
 			jadx.load();
 			if (checkForErrors(jadx)) {
 				return 1;
 			}
 			LogHelper.setLogLevelsForDecompileStage();
+			initDiskCodeCache(jadx, cliArgs);
 			if (!SingleClassMode.process(jadx, cliArgs)) {
 				save(jadx);
 			}
+			savePassMetrics(jadx, cliArgs);
 			int errorsCount = jadx.getErrorsCount();
 			if (errorsCount != 0) {
 				jadx.printErrorsReport();
@@ -83,6 +88,31 @@ public class JadxCLI {
 		return false;
 	}
 
+	private static void initDiskCodeCache(JadxDecompiler jadx, JadxCLIArgs cliArgs) {
+		// cache keys depend on loaded classes, so set cache after load
+		// only one cache can be used, both options rejected in args check
+		String cacheDir = cliArgs.getCacheDir();
+		if (cacheDir != null) {
+			jadx.getArgs().setCodeCache(new DiskCodeCache(jadx.getRoot(), FileUtils.toFile(cacheDir)));
+		}
+		String sharedCacheDir = cliArgs.getSharedCacheDir();
+		if (sharedCacheDir != null) {
+			long maxSize = cliArgs.getSharedCacheSize() * 1024L * 1024L;
+			jadx.getArgs().setCodeCache(new SharedCodeCache(jadx.getRoot(), FileUtils.toFile(sharedCacheDir), maxSize));
+		}
+	}
+
+	private static void savePassMetrics(JadxDecompiler jadx, JadxCLIArgs cliArgs) {
+		String passStatsFile = cliArgs.getPassStatsFile();
+		if (passStatsFile == null) {
+			return;
+		}
+		JadxPassMetrics passMetrics = jadx.getPassMetrics();
+		if (passMetrics != null) {
+			passMetrics.save(FileUtils.toFile(passStatsFile));
+		}
+	}
+
 	private static void save(JadxDecompiler jadx) {
 		if (LogHelper.getLogLevel() == LogLevelEnum.QUIET) {
 			jadx.save();
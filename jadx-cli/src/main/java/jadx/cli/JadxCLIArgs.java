@@ -195,6 +195,63 @@ public class JadxCLIArgs {
 	@Parameter(names = { "--raw-cfg" }, description = "save methods control flow graph (use raw instructions)")
 	protected boolean rawCfgOutput = false;
 
+	@Parameter(names = { "--pass-stats" }, description = "collect time and allocations metrics for decompilation passes and save to json file")
+	protected String passStatsFile = null;
+
+	@Parameter(
+			names = { "--cache-dir" },
+			description = "directory for persistent code cache, only changed classes will be decompiled on next run"
+	)
+	protected String cacheDir = null;
+
+	@Parameter(
+			names = { "--shared-cache-dir" },
+			description = "directory for code cache shared between projects, reuse code of same library classes"
+	)
+	protected String sharedCacheDir = null;
+
+	@Parameter(names = { "--shared-cache-size" }, description = "max size of shared code cache in MB")
+	protected int sharedCacheSize = 4096;
+
+	@Parameter(names = { "--parallel-prepare" }, description = "run class local prepare passes in parallel")
+	protected boolean parallelPreDecompile = false;
+
+	@Parameter(names = { "--parallel-load" }, description = "parse input classes in parallel")
+	protected boolean parallelClassesLoad = false;
+
+	@Parameter(names = { "--lazy-load" }, description = "load class members on demand and prepare only used classes")
+	protected boolean lazyClassesLoad = false;
+
+	@Parameter(
+			names = { "--work-stealing-save" },
+			description = "decompile classes in dependency order using work stealing threads pool"
+	)
+	protected boolean workStealingSave = false;
+
+	@Parameter(names = { "--streaming-save" }, description = "write code files in separate threads with memory bounded queue")
+	protected boolean streamingSave = false;
+
+	@Parameter(
+			names = { "--save-queue-limit" },
+			description = "max size of generated code waiting for write in streaming save mode (in MB)"
+	)
+	protected int streamingSaveQueueLimit = 64;
+
+	@Parameter(
+			names = { "--method-time-limit" },
+			description = "method decompilation time limit in milliseconds (fallback mode used on timeout), 0 - no limit"
+	)
+	protected int methodTimeLimit = 0;
+
+	@Parameter(
+			names = { "--class-time-limit" },
+			description = "class decompilation time limit in milliseconds, 0 - no limit"
+	)
+	protected int classTimeLimit = 0;
+
+	@Parameter(names = { "--parallel-methods" }, description = "process methods of huge classes in parallel")
+	protected boolean parallelMethodsProcessing = false;
+
 	@Parameter(names = { "-f", "--fallback" }, description = "set '--decompilation-mode' to 'fallback' (deprecated)")
 	protected boolean fallbackMode = false;
 
@@ -265,6 +322,9 @@ public class JadxCLIArgs {
 			if (threadsCount <= 0) {
 				throw new JadxException("Threads count must be positive, got: " + threadsCount);
 			}
+			if (cacheDir != null && sharedCacheDir != null) {
+				throw new JadxException("Options '--cache-dir' and '--shared-cache-dir' can't be used together");
+			}
 		} catch (JadxException e) {
 			System.err.println("ERROR: " + e.getMessage());
 			jcw.printUsage();
@@ -320,6 +380,17 @@ public class JadxCLIArgs {
 		args.setCommentsLevel(commentsLevel);
 		args.setUseDxInput(useDx);
 		args.setPluginOptions(pluginOptions);
+		args.setCollectPassMetrics(passStatsFile != null);
+		args.setParallelPreDecompile(parallelPreDecompile);
+		args.setParallelClassesLoad(parallelClassesLoad);
+		// single class decompilation need only classes used in it
+		args.setLazyClassesLoad(lazyClassesLoad || singleClass != null);
+		args.setWorkStealingSave(workStealingSave);
+		args.setStreamingSave(streamingSave);
+		args.setStreamingSaveQueueLimit(streamingSaveQueueLimit);
+		args.setMethodTimeLimit(methodTimeLimit);
+		args.setClassTimeLimit(classTimeLimit);
+		args.setParallelMethodsProcessing(parallelMethodsProcessing);
 		return args;
 	}
 
@@ -359,6 +430,58 @@ public class JadxCLIArgs {
 		return threadsCount;
 	}
 
+	public String getPassStatsFile() {
+		return passStatsFile;
+	}
+
+	public String getCacheDir() {
+		return cacheDir;
+	}
+
+	public String getSharedCacheDir() {
+		return sharedCacheDir;
+	}
+
+	public int getSharedCacheSize() {
+		return sharedCacheSize;
+	}
+
+	public boolean isParallelPreDecompile() {
+		return parallelPreDecompile;
+	}
+
+	public boolean isParallelClassesLoad() {
+		return parallelClassesLoad;
+	}
+
+	public boolean isLazyClassesLoad() {
+		return lazyClassesLoad;
+	}
+
+	public boolean isWorkStealingSave() {
+		return workStealingSave;
+	}
+
+	public boolean isStreamingSave() {
+		return streamingSave;
+	}
+
+	public int getStreamingSaveQueueLimit() {
+		return streamingSaveQueueLimit;
+	}
+
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	public int getClassTimeLimit() {
+		return classTimeLimit;
+	}
+
+	public boolean isParallelMethodsProcessing() {
+		return parallelMethodsProcessing;
+	}
+
 	public boolean isFallbackMode() {
 		return fallbackMode;
 	}
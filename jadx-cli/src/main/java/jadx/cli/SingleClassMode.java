@@ -35,6 +35,8 @@ public class SingleClassMode {
 			if (clsForProcess == null) {
 				throw new JadxRuntimeException("Input class not found: " + singleClass);
 			}
+			// in lazy mode prepare passes run only for this class and classes used in it
+			jadx.getRoot().ensurePreDecompiled(clsForProcess);
 			if (clsForProcess.contains(AFlag.DONT_GENERATE)) {
 				throw new JadxRuntimeException("Input class can't be saved by currect jadx settings (marked as DONT_GENERATE)");
 			}
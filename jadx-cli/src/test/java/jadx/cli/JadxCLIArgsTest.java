@@ -35,6 +35,14 @@ public class JadxCLIArgsTest {
 		assertThat(parse("").isSkipSources(), is(false));
 	}
 
+	@Test
+	public void testCacheDirOptions() {
+		assertThat(parse("--cache-dir", "cache").getCacheDir(), is("cache"));
+		assertThat(parse("--shared-cache-dir", "shared").getSharedCacheDir(), is("shared"));
+		// only one code cache can be used
+		assertThat(new JadxCLIArgs().processArgs(new String[] { "--cache-dir", "cache", "--shared-cache-dir", "shared" }), is(false));
+	}
+
 	@Test
 	public void testOptionsOverride() {
 		assertThat(override(new JadxCLIArgs(), "--no-imports").isUseImports(), is(false));
@@ -17,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.files.FileUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +46,58 @@ public class TestInput {
 		decompile("multi", "samples/hello.dex", "samples/HelloWorld.smali");
 	}
 
+	@Test
+	public void testSingleClass() throws Exception {
+		Path tempDir = FileUtils.createTempDir("single");
+		List<String> args = new ArrayList<>();
+		args.add("-v");
+		args.add("-d");
+		args.add(tempDir.toAbsolutePath().toString());
+		args.add("--single-class");
+		args.add("smali.HelloWorld");
+		for (String inputSample : new String[] { "samples/hello.dex", "samples/HelloWorld.smali" }) {
+			URL resource = getClass().getClassLoader().getResource(inputSample);
+			assertThat(resource).isNotNull();
+			args.add(resource.toURI().getRawPath());
+		}
+
+		int result = JadxCLI.execute(args.toArray(new String[0]));
+		assertThat(result).isEqualTo(0);
+		List<Path> resultJavaFiles = collectJavaFilesInDir(tempDir);
+		assertThat(resultJavaFiles).hasSize(1);
+		assertThat(resultJavaFiles.get(0).getFileName().toString()).isEqualTo("HelloWorld.java");
+	}
+
+	@Test
+	public void testSingleClassClosure() throws Exception {
+		Path tempDir = FileUtils.createTempDir("single-closure");
+		List<String> args = new ArrayList<>();
+		args.add("-d");
+		args.add(tempDir.toAbsolutePath().toString());
+		args.add("--single-class");
+		args.add("closure.Main");
+		for (String cls : new String[] { "Main", "Used", "Unrelated" }) {
+			URL resource = getClass().getClassLoader().getResource("samples/closure/" + cls + ".class");
+			assertThat(resource).isNotNull();
+			args.add(resource.toURI().getRawPath());
+		}
+		JadxCLIArgs cliArgs = new JadxCLIArgs();
+		assertThat(cliArgs.processArgs(args.toArray(new String[0]))).isTrue();
+		try (JadxDecompiler jadx = new JadxDecompiler(cliArgs.toJadxArgs())) {
+			jadx.load();
+			assertThat(SingleClassMode.process(jadx, cliArgs)).isTrue();
+
+			// only classes used by requested class should be loaded
+			RootNode root = jadx.getRoot();
+			assertThat(root.resolveClass("closure.Main").isMembersLoaded()).isTrue();
+			assertThat(root.resolveClass("closure.Used").isMembersLoaded()).isTrue();
+			assertThat(root.resolveClass("closure.Unrelated").isMembersLoaded()).isFalse();
+		}
+		List<Path> resultJavaFiles = collectJavaFilesInDir(tempDir);
+		assertThat(resultJavaFiles).hasSize(1);
+		assertThat(resultJavaFiles.get(0).getFileName().toString()).isEqualTo("Main.java");
+	}
+
 	@Test
 	public void testResourceOnly() throws Exception {
 		decode("resourceOnly", "samples/resources-only.apk");
@@ -144,6 +144,65 @@ public class JadxArgs implements Closeable {
 	 */
 	private boolean skipFilesSave = false;
 
+	/**
+	 * Collect time and allocations metrics for every pass, see {@link jadx.api.metrics.JadxPassMetrics}
+	 */
+	private boolean collectPassMetrics = false;
+
+	/**
+	 * Run class-local prepare passes (see {@link jadx.core.dex.visitors.JadxVisitor#classLocal()})
+	 * in parallel using {@link #threadsCount} threads
+	 */
+	private boolean parallelPreDecompile = false;
+
+	/**
+	 * Parse input classes in parallel using {@link #threadsCount} threads,
+	 * input split into parts by {@link jadx.api.plugins.input.ICodeLoader#getPartsCount()}
+	 */
+	private boolean parallelClassesLoad = false;
+
+	/**
+	 * Create class nodes with only name, super types and access flags,
+	 * fields and methods are loaded on first access.
+	 * Prepare passes will run only for requested classes and their dependencies closure.
+	 */
+	private boolean lazyClassesLoad = false;
+
+	/**
+	 * Save classes in dependency order using work stealing pool
+	 * (see {@link jadx.core.utils.DagDecompilerScheduler}) instead of fixed batches
+	 */
+	private boolean workStealingSave = false;
+
+	/**
+	 * Write code files in separate threads through memory bounded queue
+	 * (see {@link jadx.core.utils.files.StreamingCodeSaver})
+	 */
+	private boolean streamingSave = false;
+
+	/**
+	 * Max size of generated code waiting for write in streaming save mode (in megabytes)
+	 */
+	private int streamingSaveQueueLimit = 64;
+
+	/**
+	 * Time limit for method decompilation passes in milliseconds, 0 - no limit.
+	 * Method with exceeded limit generated in fallback mode.
+	 */
+	private int methodTimeLimit = 0;
+
+	/**
+	 * Time limit for decompilation passes of all methods in class (including inner classes)
+	 * in milliseconds, 0 - no limit.
+	 */
+	private int classTimeLimit = 0;
+
+	/**
+	 * Run method local passes (see {@link jadx.core.dex.visitors.JadxVisitor#methodLocal()})
+	 * for methods of huge classes in parallel
+	 */
+	private boolean parallelMethodsProcessing = false;
+
 	private Map<String, String> pluginOptions = new HashMap<>();
 
 	public JadxArgs() {
@@ -614,6 +673,86 @@ public class JadxArgs implements Closeable {
 		this.skipFilesSave = skipFilesSave;
 	}
 
+	public boolean isCollectPassMetrics() {
+		return collectPassMetrics;
+	}
+
+	public void setCollectPassMetrics(boolean collectPassMetrics) {
+		this.collectPassMetrics = collectPassMetrics;
+	}
+
+	public boolean isParallelPreDecompile() {
+		return parallelPreDecompile;
+	}
+
+	public void setParallelPreDecompile(boolean parallelPreDecompile) {
+		this.parallelPreDecompile = parallelPreDecompile;
+	}
+
+	public boolean isParallelClassesLoad() {
+		return parallelClassesLoad;
+	}
+
+	public void setParallelClassesLoad(boolean parallelClassesLoad) {
+		this.parallelClassesLoad = parallelClassesLoad;
+	}
+
+	public boolean isLazyClassesLoad() {
+		return lazyClassesLoad;
+	}
+
+	public void setLazyClassesLoad(boolean lazyClassesLoad) {
+		this.lazyClassesLoad = lazyClassesLoad;
+	}
+
+	public boolean isWorkStealingSave() {
+		return workStealingSave;
+	}
+
+	public void setWorkStealingSave(boolean workStealingSave) {
+		this.workStealingSave = workStealingSave;
+	}
+
+	public boolean isStreamingSave() {
+		return streamingSave;
+	}
+
+	public void setStreamingSave(boolean streamingSave) {
+		this.streamingSave = streamingSave;
+	}
+
+	public int getStreamingSaveQueueLimit() {
+		return streamingSaveQueueLimit;
+	}
+
+	public void setStreamingSaveQueueLimit(int streamingSaveQueueLimit) {
+		this.streamingSaveQueueLimit = streamingSaveQueueLimit;
+	}
+
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	public void setMethodTimeLimit(int methodTimeLimit) {
+		this.methodTimeLimit = methodTimeLimit;
+	}
+
+	public int getClassTimeLimit() {
+		return classTimeLimit;
+	}
+
+	public void setClassTimeLimit(int classTimeLimit) {
+		this.classTimeLimit = classTimeLimit;
+	}
+
+	public boolean isParallelMethodsProcessing() {
+		return parallelMethodsProcessing;
+	}
+
+	public void setParallelMethodsProcessing(boolean parallelMethodsProcessing) {
+		this.parallelMethodsProcessing = parallelMethodsProcessing;
+	}
+
 	public Map<String, String> getPluginOptions() {
 		return pluginOptions;
 	}
@@ -678,6 +817,16 @@ public class JadxArgs implements Closeable {
 				+ ", pluginOptions=" + pluginOptions
 				+ ", cfgOutput=" + cfgOutput
 				+ ", rawCFGOutput=" + rawCFGOutput
+				+ ", collectPassMetrics=" + collectPassMetrics
+				+ ", parallelPreDecompile=" + parallelPreDecompile
+				+ ", parallelClassesLoad=" + parallelClassesLoad
+				+ ", lazyClassesLoad=" + lazyClassesLoad
+				+ ", workStealingSave=" + workStealingSave
+				+ ", streamingSave=" + streamingSave
+				+ ", streamingSaveQueueLimit=" + streamingSaveQueueLimit
+				+ ", methodTimeLimit=" + methodTimeLimit
+				+ ", classTimeLimit=" + classTimeLimit
+				+ ", parallelMethodsProcessing=" + parallelMethodsProcessing
 				+ '}';
 	}
 }
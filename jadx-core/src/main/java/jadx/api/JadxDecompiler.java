@@ -12,6 +12,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -27,6 +28,7 @@ import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
 import jadx.api.metadata.annotations.VarNode;
 import jadx.api.metadata.annotations.VarRef;
+import jadx.api.metrics.JadxPassMetrics;
 import jadx.api.plugins.JadxPlugin;
 import jadx.api.plugins.input.ICodeLoader;
 import jadx.api.plugins.input.JadxCodeInput;
@@ -43,10 +45,15 @@ import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.SaveCode;
 import jadx.core.export.ExportGradleProject;
 import jadx.core.plugins.JadxPluginManager;
+import jadx.core.utils.CountingForkJoinPool;
+import jadx.core.utils.DagDecompilerScheduler;
 import jadx.core.utils.DecompilerScheduler;
+import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.StreamingCodeSaver;
+import jadx.core.utils.files.ZipFilePool;
 import jadx.core.xmlgen.BinaryXMLParser;
 import jadx.core.xmlgen.ProtoXMLParser;
 import jadx.core.xmlgen.ResContainer;
@@ -94,6 +101,7 @@ public final class JadxDecompiler implements Closeable {
 	private ProtoXMLParser protoXmlParser;
 
 	private final IDecompileScheduler decompileScheduler = new DecompilerScheduler();
+	private final ZipFilePool zipFilePool = new ZipFilePool();
 
 	private final List<ICodeLoader> customCodeLoaders = new ArrayList<>();
 	private final Map<JadxPassType, List<JadxPass>> customPasses = new HashMap<>();
@@ -154,11 +162,15 @@ public final class JadxDecompiler implements Closeable {
 	}
 
 	private void reset() {
+		if (root != null) {
+			root.getProcessClasses().close();
+		}
 		root = null;
 		classes = null;
 		resources = null;
 		binaryXmlParser = null;
 		protoXmlParser = null;
+		zipFilePool.close();
 	}
 
 	@Override
@@ -221,9 +233,18 @@ public final class JadxDecompiler implements Closeable {
 
 	@SuppressWarnings("BusyWait")
 	public void save(int intervalInMillis, ProgressListener listener) {
-		ThreadPoolExecutor ex = (ThreadPoolExecutor) getSaveExecutor();
-		ex.shutdown();
+		ExecutorService executor = getSaveExecutor();
+		executor.shutdown();
 		try {
+			if (executor instanceof CountingForkJoinPool) {
+				CountingForkJoinPool pool = (CountingForkJoinPool) executor;
+				long total = pool.getTaskCount();
+				while (!pool.awaitTermination(intervalInMillis, TimeUnit.MILLISECONDS)) {
+					listener.progress(pool.getCompletedTaskCount(), total);
+				}
+				return;
+			}
+			ThreadPoolExecutor ex = (ThreadPoolExecutor) executor;
 			long total = ex.getTaskCount();
 			while (ex.isTerminating()) {
 				long done = ex.getCompletedTaskCount();
@@ -268,13 +289,54 @@ public final class JadxDecompiler implements Closeable {
 		int threadsCount = args.getThreadsCount();
 		LOG.debug("processing threads count: {}", threadsCount);
 		LOG.info("processing ...");
-		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
-		List<Runnable> tasks = getSaveTasks(saveSources, saveResources);
+		StreamingCodeSaver codeSaver = buildStreamingCodeSaver(saveSources);
+		if (args.isWorkStealingSave()) {
+			CountingForkJoinPool pool = new CountingForkJoinPool(threadsCount);
+			if (codeSaver != null) {
+				pool.setTerminateHook(codeSaver::close);
+			}
+			List<Runnable> tasks = getSaveTasks(saveSources, saveResources, pool, codeSaver);
+			tasks.forEach(pool::execute);
+			return pool;
+		}
+		ExecutorService executor;
+		if (codeSaver != null) {
+			// wait for pending writes before executor reported as terminated
+			executor = new ThreadPoolExecutor(threadsCount, threadsCount,
+					0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+				@Override
+				protected void terminated() {
+					codeSaver.close();
+				}
+			};
+		} else {
+			executor = Executors.newFixedThreadPool(threadsCount);
+		}
+		List<Runnable> tasks = getSaveTasks(saveSources, saveResources, null, codeSaver);
 		tasks.forEach(executor::execute);
 		return executor;
 	}
 
+	private @Nullable StreamingCodeSaver buildStreamingCodeSaver(boolean saveSources) {
+		if (!saveSources || !args.isStreamingSave() || args.isSkipFilesSave()) {
+			return null;
+		}
+		int writersCount = Math.max(1, args.getThreadsCount() / 4);
+		long queueLimit = args.getStreamingSaveQueueLimit() * 1024L * 1024L;
+		LOG.debug("Streaming save: writers count: {}, queue limit: {}MB", writersCount, args.getStreamingSaveQueueLimit());
+		return new StreamingCodeSaver(writersCount, queueLimit);
+	}
+
 	private List<Runnable> getSaveTasks(boolean saveSources, boolean saveResources) {
+		return getSaveTasks(saveSources, saveResources, null, null);
+	}
+
+	/**
+	 * @param workStealingPool if not null, sources save tasks submitted directly into this pool
+	 * @param codeSaver        if not null, code files written by this saver
+	 */
+	private List<Runnable> getSaveTasks(boolean saveSources, boolean saveResources,
+			@Nullable CountingForkJoinPool workStealingPool, @Nullable StreamingCodeSaver codeSaver) {
 		if (root == null) {
 			throw new JadxRuntimeException("No loaded files");
 		}
@@ -311,7 +373,7 @@ public final class JadxDecompiler implements Closeable {
 			appendResourcesSaveTasks(tasks, resOutDir);
 		}
 		if (saveSources) {
-			appendSourcesSave(tasks, sourcesOutDir);
+			appendSourcesSave(tasks, sourcesOutDir, workStealingPool, codeSaver);
 		}
 		return tasks;
 	}
@@ -343,7 +405,8 @@ public final class JadxDecompiler implements Closeable {
 		}
 	}
 
-	private void appendSourcesSave(List<Runnable> tasks, File outDir) {
+	private void appendSourcesSave(List<Runnable> tasks, File outDir,
+			@Nullable CountingForkJoinPool workStealingPool, @Nullable StreamingCodeSaver codeSaver) {
 		Predicate<String> classFilter = args.getClassFilter();
 		List<JavaClass> classes = getClasses();
 		List<JavaClass> processQueue = new ArrayList<>(classes.size());
@@ -360,6 +423,14 @@ public final class JadxDecompiler implements Closeable {
 			}
 			processQueue.add(cls);
 		}
+		if (args.isLazyClassesLoad()) {
+			// prepare only used classes before concurrent processing to collect dependencies
+			root.runPreDecompileStageForClosure(ListUtils.map(processQueue, JavaClass::getClassNode));
+		}
+		if (workStealingPool != null) {
+			new DagDecompilerScheduler().execute(workStealingPool, processQueue, cls -> saveClass(outDir, cls, codeSaver));
+			return;
+		}
 		List<List<JavaClass>> batches;
 		try {
 			batches = decompileScheduler.buildBatches(processQueue);
@@ -369,18 +440,26 @@ public final class JadxDecompiler implements Closeable {
 		for (List<JavaClass> decompileBatch : batches) {
 			tasks.add(() -> {
 				for (JavaClass cls : decompileBatch) {
-					try {
-						ClassNode clsNode = cls.getClassNode();
-						ICodeInfo code = clsNode.getCode();
-						SaveCode.save(outDir, clsNode, code);
-					} catch (Exception e) {
-						LOG.error("Error saving class: {}", cls, e);
-					}
+					saveClass(outDir, cls, codeSaver);
 				}
 			});
 		}
 	}
 
+	private static void saveClass(File outDir, JavaClass cls, @Nullable StreamingCodeSaver codeSaver) {
+		try {
+			ClassNode clsNode = cls.getClassNode();
+			ICodeInfo code = clsNode.getCode();
+			if (codeSaver != null) {
+				SaveCode.save(outDir, clsNode, code, codeSaver);
+			} else {
+				SaveCode.save(outDir, clsNode, code);
+			}
+		} catch (Exception e) {
+			LOG.error("Error saving class: {}", cls, e);
+		}
+	}
+
 	public List<JavaClass> getClasses() {
 		if (root == null) {
 			return Collections.emptyList();
@@ -449,6 +528,25 @@ public final class JadxDecompiler implements Closeable {
 		return root;
 	}
 
+	/**
+	 * Shared opened zip files for resources decoding, closed on decompiler close.
+	 */
+	@ApiStatus.Internal
+	public ZipFilePool getZipFilePool() {
+		return zipFilePool;
+	}
+
+	/**
+	 * Passes metrics, available only after load and if enabled by {@link JadxArgs#setCollectPassMetrics(boolean)}
+	 */
+	@Nullable
+	public JadxPassMetrics getPassMetrics() {
+		if (root == null) {
+			return null;
+		}
+		return root.getPassMetrics();
+	}
+
 	synchronized BinaryXMLParser getBinaryXmlParser() {
 		if (binaryXmlParser == null) {
 			binaryXmlParser = new BinaryXMLParser(root);
@@ -657,6 +755,14 @@ public final class JadxDecompiler implements Closeable {
 		return decompileScheduler;
 	}
 
+	/**
+	 * Internal API. Not Stable!
+	 */
+	@ApiStatus.Internal
+	public List<ICodeLoader> getLoadedInputs() {
+		return loadedInputs;
+	}
+
 	public void addCustomCodeLoader(ICodeLoader customCodeLoader) {
 		customCodeLoaders.add(customCodeLoader);
 	}
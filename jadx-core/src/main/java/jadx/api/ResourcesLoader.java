@@ -22,6 +22,8 @@ import jadx.core.utils.Utils;
 import jadx.core.utils.android.Res9patchStreamDecoder;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipFilePool;
+import jadx.core.utils.files.ZipFilePool.ZipHandle;
 import jadx.core.xmlgen.ResContainer;
 import jadx.core.xmlgen.ResProtoParser;
 import jadx.core.xmlgen.ResTableParser;
@@ -61,7 +63,8 @@ public final class ResourcesLoader {
 					return decoder.decode(file.length(), inputStream);
 				}
 			} else {
-				try (ZipFile zipFile = new ZipFile(zipRef.getZipFile())) {
+				try (ZipHandle zipHandle = openZip(rf, zipRef)) {
+					ZipFile zipFile = zipHandle.getZipFile();
 					ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
 					if (entry == null) {
 						throw new IOException("Zip entry not found: " + zipRef);
@@ -79,6 +82,14 @@ public final class ResourcesLoader {
 		}
 	}
 
+	private static ZipHandle openZip(ResourceFile rf, ZipRef zipRef) throws IOException {
+		JadxDecompiler decompiler = rf.getDecompiler();
+		if (decompiler == null) {
+			return ZipFilePool.openUnpooled(zipRef.getZipFile());
+		}
+		return decompiler.getZipFilePool().acquire(zipRef.getZipFile());
+	}
+
 	static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 		try {
 			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, is));
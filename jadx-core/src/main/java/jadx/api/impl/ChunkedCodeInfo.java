@@ -0,0 +1,75 @@
+package jadx.api.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import jadx.api.ICodeInfo;
+import jadx.api.metadata.ICodeMetadata;
+
+/**
+ * Code without metadata stored as list of chunks (see {@link ChunkedCodeWriter}).
+ * Full code string built only on first {@link #getCodeStr()} call,
+ * use {@link #writeTo(Writer)} or {@link #getChunks()} to save code without copy.
+ */
+public class ChunkedCodeInfo implements ICodeInfo {
+
+	private final List<String> chunks;
+	private final int length;
+	private volatile String code;
+
+	public ChunkedCodeInfo(List<String> chunks, int length) {
+		this.chunks = chunks;
+		this.length = length;
+	}
+
+	@Override
+	public String getCodeStr() {
+		String str = code;
+		if (str == null) {
+			str = buildCodeStr();
+			code = str;
+		}
+		return str;
+	}
+
+	private String buildCodeStr() {
+		if (chunks.size() == 1) {
+			return chunks.get(0);
+		}
+		StringBuilder sb = new StringBuilder(length);
+		for (String chunk : chunks) {
+			sb.append(chunk);
+		}
+		return sb.toString();
+	}
+
+	public void writeTo(Writer writer) throws IOException {
+		for (String chunk : chunks) {
+			writer.write(chunk);
+		}
+	}
+
+	public List<String> getChunks() {
+		return chunks;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	@Override
+	public ICodeMetadata getCodeMetadata() {
+		return ICodeMetadata.EMPTY;
+	}
+
+	@Override
+	public boolean hasMetadata() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return getCodeStr();
+	}
+}
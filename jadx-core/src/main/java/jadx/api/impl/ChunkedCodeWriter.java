@@ -0,0 +1,109 @@
+package jadx.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+import jadx.api.JadxArgs;
+
+/**
+ * CodeWriter implementation without meta information support.
+ * <br>
+ * Code collected in chunks split on line start, so big classes don't need
+ * to copy whole buffer on grow and in {@link #finish()}.
+ * Current line always stays in raw buffer.
+ */
+public class ChunkedCodeWriter extends SimpleCodeWriter {
+	private static final int CHUNK_SIZE = 32 * 1024;
+
+	private final List<String> chunks = new ArrayList<>();
+	private int chunksLength;
+
+	public ChunkedCodeWriter() {
+		super();
+	}
+
+	public ChunkedCodeWriter(JadxArgs args) {
+		super(args);
+	}
+
+	@Override
+	protected void addLine() {
+		if (buf.length() >= CHUNK_SIZE) {
+			flushChunk();
+		}
+		super.addLine();
+	}
+
+	private void flushChunk() {
+		if (buf.length() != 0) {
+			chunks.add(buf.toString());
+			chunksLength += buf.length();
+			// keep buffer capacity
+			buf.setLength(0);
+		}
+	}
+
+	@Override
+	public ICodeWriter add(ICodeWriter cw) {
+		if (cw instanceof ChunkedCodeWriter) {
+			ChunkedCodeWriter code = (ChunkedCodeWriter) cw;
+			code.removeFirstEmptyLine();
+			if (!code.chunks.isEmpty()) {
+				flushChunk();
+				chunks.addAll(code.chunks);
+				chunksLength += code.chunksLength;
+			}
+			buf.append(code.buf);
+			return this;
+		}
+		return super.add(cw);
+	}
+
+	@Override
+	protected void removeFirstEmptyLine() {
+		if (chunks.isEmpty()) {
+			super.removeFirstEmptyLine();
+			return;
+		}
+		String first = chunks.get(0);
+		int len = NL.length();
+		if (first.length() > len && first.startsWith(NL)) {
+			chunks.set(0, first.substring(len));
+			chunksLength -= len;
+		}
+	}
+
+	@Override
+	public ICodeInfo finish() {
+		removeFirstEmptyLine();
+		flushChunk();
+		int length = chunksLength;
+		buf = null;
+		if (chunks.isEmpty()) {
+			return new SimpleCodeInfo("");
+		}
+		return new ChunkedCodeInfo(Collections.unmodifiableList(chunks), length);
+	}
+
+	@Override
+	public int getLength() {
+		return chunksLength + buf.length();
+	}
+
+	@Override
+	public String getCodeStr() {
+		removeFirstEmptyLine();
+		if (chunks.isEmpty()) {
+			return buf.toString();
+		}
+		StringBuilder sb = new StringBuilder(getLength());
+		for (String chunk : chunks) {
+			sb.append(chunk);
+		}
+		sb.append(buf);
+		return sb.toString();
+	}
+}
@@ -96,12 +96,33 @@ public class SimpleCodeWriter implements ICodeWriter {
 
 	@Override
 	public SimpleCodeWriter addMultiLine(String str) {
-		if (str.contains(NL)) {
-			buf.append(str.replace(NL, NL + indentStr));
-		} else {
+		appendMultiLine(str);
+		return this;
+	}
+
+	/**
+	 * Append string with indent added after every new line (without intermediate string copies)
+	 *
+	 * @return new lines count
+	 */
+	protected int appendMultiLine(String str) {
+		int pos = str.indexOf(NL);
+		if (pos == -1) {
 			buf.append(str);
+			return 0;
 		}
-		return this;
+		int nlLen = NL.length();
+		int start = 0;
+		int count = 0;
+		do {
+			int end = pos + nlLen;
+			buf.append(str, start, end).append(indentStr);
+			start = end;
+			count++;
+			pos = str.indexOf(NL, start);
+		} while (pos != -1);
+		buf.append(str, start, str.length());
+		return count;
 	}
 
 	@Override
@@ -1,12 +1,12 @@
 package jadx.api.metadata.impl;
 
-import android.os.Build;
-
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.jetbrains.annotations.Nullable;
@@ -16,52 +16,106 @@ import jadx.api.metadata.ICodeAnnotation.AnnType;
 import jadx.api.metadata.ICodeMetadata;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.metadata.annotations.NodeDeclareRef;
-import jadx.core.utils.Utils;
 
+/**
+ * Immutable code metadata storage.
+ * <br>
+ * Annotations and lines mapping stored in sorted int arrays of positions (and lines)
+ * with parallel values arrays, search done by binary search.
+ * Maps returned by {@link #getAsMap()} and {@link #getLineMapping()} are read only views over these arrays.
+ */
 public class CodeMetadataStorage implements ICodeMetadata {
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final ICodeAnnotation[] EMPTY_ANNOTATIONS = new ICodeAnnotation[0];
 
 	public static ICodeMetadata build(Map<Integer, Integer> lines, Map<Integer, ICodeAnnotation> map) {
 		if (map.isEmpty() && lines.isEmpty()) {
 			return ICodeMetadata.EMPTY;
 		}
-		Comparator<Integer> reverseCmp = Comparator.comparingInt(Integer::intValue).reversed();
-		NavigableMap<Integer, ICodeAnnotation> navMap = new TreeMap<>(reverseCmp);
-		navMap.putAll(map);
-		return new CodeMetadataStorage(lines, navMap);
+		int[] positions = sortedKeys(map);
+		int annCount = positions.length;
+		ICodeAnnotation[] annotations = new ICodeAnnotation[annCount];
+		for (int i = 0; i < annCount; i++) {
+			annotations[i] = map.get(positions[i]);
+		}
+		int[] codeLines = sortedKeys(lines);
+		int linesCount = codeLines.length;
+		int[] sourceLines = new int[linesCount];
+		for (int i = 0; i < linesCount; i++) {
+			sourceLines[i] = lines.get(codeLines[i]);
+		}
+		return new CodeMetadataStorage(positions, annotations, codeLines, sourceLines);
 	}
 
 	public static ICodeMetadata empty() {
-		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-			return new CodeMetadataStorage(Collections.emptyMap(), Collections.emptyNavigableMap());
+		return new CodeMetadataStorage(EMPTY_INTS, EMPTY_ANNOTATIONS, EMPTY_INTS, EMPTY_INTS);
+	}
+
+	private static int[] sortedKeys(Map<Integer, ?> map) {
+		if (map.isEmpty()) {
+			return EMPTY_INTS;
 		}
-		return new CodeMetadataStorage(Collections.emptyMap(), new TreeMap<>());
+		int[] keys = new int[map.size()];
+		int i = 0;
+		for (Integer key : map.keySet()) {
+			keys[i++] = key;
+		}
+		Arrays.sort(keys);
+		return keys;
 	}
 
-	private final Map<Integer, Integer> lines;
+	/**
+	 * Annotations positions in ascending order
+	 */
+	private final int[] positions;
+	private final ICodeAnnotation[] annotations;
+	/**
+	 * Decompiled code lines in ascending order
+	 */
+	private final int[] codeLines;
+	private final int[] sourceLines;
 
-	private final NavigableMap<Integer, ICodeAnnotation> navMap;
+	private CodeMetadataStorage(int[] positions, ICodeAnnotation[] annotations, int[] codeLines, int[] sourceLines) {
+		this.positions = positions;
+		this.annotations = annotations;
+		this.codeLines = codeLines;
+		this.sourceLines = sourceLines;
+	}
 
-	private CodeMetadataStorage(Map<Integer, Integer> lines, NavigableMap<Integer, ICodeAnnotation> navMap) {
-		this.lines = lines;
-		this.navMap = navMap;
+	/**
+	 * Index of last annotation with position less or equal to {@code pos}, -1 if not found
+	 */
+	private int floorIndex(int pos) {
+		int idx = Arrays.binarySearch(positions, pos);
+		return idx >= 0 ? idx : -idx - 2;
+	}
+
+	/**
+	 * Index of first annotation with position greater or equal to {@code pos}
+	 */
+	private int ceilIndex(int pos) {
+		int idx = Arrays.binarySearch(positions, pos);
+		return idx >= 0 ? idx : -idx - 1;
 	}
 
 	@Override
 	public ICodeAnnotation getAt(int position) {
-		return navMap.get(position);
+		int idx = Arrays.binarySearch(positions, position);
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation getClosestUp(int position) {
-		Map.Entry<Integer, ICodeAnnotation> entryBefore = navMap.higherEntry(position);
-		return entryBefore != null ? entryBefore.getValue() : null;
+		int idx = ceilIndex(position) - 1;
+		return idx >= 0 ? annotations[idx] : null;
 	}
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, AnnType annType) {
-		for (ICodeAnnotation v : navMap.tailMap(position, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
+		for (int i = floorIndex(position); i >= 0; i--) {
+			ICodeAnnotation ann = annotations[i];
+			if (ann.getAnnType() == annType) {
+				return ann;
 			}
 		}
 		return null;
@@ -69,9 +123,10 @@ public class CodeMetadataStorage implements ICodeMetadata {
 
 	@Override
 	public @Nullable ICodeAnnotation searchUp(int position, int limitPos, AnnType annType) {
-		for (ICodeAnnotation v : navMap.subMap(position, true, limitPos, true).values()) {
-			if (v.getAnnType() == annType) {
-				return v;
+		for (int i = floorIndex(position); i >= 0 && positions[i] >= limitPos; i--) {
+			ICodeAnnotation ann = annotations[i];
+			if (ann.getAnnType() == annType) {
+				return ann;
 			}
 		}
 		return null;
@@ -79,8 +134,8 @@ public class CodeMetadataStorage implements ICodeMetadata {
 
 	@Override
 	public <T> @Nullable T searchUp(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		for (Map.Entry<Integer, ICodeAnnotation> entry : navMap.tailMap(startPos, true).entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		for (int i = floorIndex(startPos); i >= 0; i--) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -90,9 +145,8 @@ public class CodeMetadataStorage implements ICodeMetadata {
 
 	@Override
 	public <T> @Nullable T searchDown(int startPos, BiFunction<Integer, ICodeAnnotation, T> visitor) {
-		NavigableMap<Integer, ICodeAnnotation> map = navMap.headMap(startPos, true).descendingMap();
-		for (Map.Entry<Integer, ICodeAnnotation> entry : map.entrySet()) {
-			T value = visitor.apply(entry.getKey(), entry.getValue());
+		for (int i = ceilIndex(startPos), len = positions.length; i < len; i++) {
+			T value = visitor.apply(positions[i], annotations[i]);
 			if (value != null) {
 				return value;
 			}
@@ -103,7 +157,8 @@ public class CodeMetadataStorage implements ICodeMetadata {
 	@Override
 	public ICodeNodeRef getNodeAt(int position) {
 		int nesting = 0;
-		for (ICodeAnnotation ann : navMap.tailMap(position, true).values()) {
+		for (int i = floorIndex(position); i >= 0; i--) {
+			ICodeAnnotation ann = annotations[i];
 			switch (ann.getAnnType()) {
 				case END:
 					nesting++;
@@ -126,7 +181,8 @@ public class CodeMetadataStorage implements ICodeMetadata {
 
 	@Override
 	public ICodeNodeRef getNodeBelow(int position) {
-		for (ICodeAnnotation ann : navMap.headMap(position, true).descendingMap().values()) {
+		for (int i = ceilIndex(position), len = positions.length; i < len; i++) {
+			ICodeAnnotation ann = annotations[i];
 			if (ann.getAnnType() == AnnType.DECLARATION) {
 				ICodeNodeRef node = ((NodeDeclareRef) ann).getNode();
 				AnnType nodeType = node.getAnnType();
@@ -138,19 +194,120 @@ public class CodeMetadataStorage implements ICodeMetadata {
 		return null;
 	}
 
+	/**
+	 * Annotations by position, iterated from last position to first
+	 */
 	@Override
-	public NavigableMap<Integer, ICodeAnnotation> getAsMap() {
-		return navMap;
+	public Map<Integer, ICodeAnnotation> getAsMap() {
+		return new SortedArrayMap<ICodeAnnotation>(positions, true) {
+			@Override
+			protected ICodeAnnotation valueAt(int idx) {
+				return annotations[idx];
+			}
+		};
 	}
 
+	/**
+	 * Source lines by decompiled code lines, iterated in ascending order
+	 */
 	@Override
 	public Map<Integer, Integer> getLineMapping() {
-		return lines;
+		return new SortedArrayMap<Integer>(codeLines, false) {
+			@Override
+			protected Integer valueAt(int idx) {
+				return sourceLines[idx];
+			}
+		};
 	}
 
 	@Override
 	public String toString() {
-		return "CodeMetadata{\nlines=" + lines
-				+ "\nannotations=\n " + Utils.listToString(navMap.descendingMap().entrySet(), "\n ") + "\n}";
+		StringBuilder sb = new StringBuilder();
+		sb.append("CodeMetadata{\nlines=").append(getLineMapping());
+		sb.append("\nannotations=\n ");
+		for (int i = 0, len = positions.length; i < len; i++) {
+			if (i != 0) {
+				sb.append("\n ");
+			}
+			sb.append(positions[i]).append('=').append(annotations[i]);
+		}
+		sb.append("\n}");
+		return sb.toString();
+	}
+
+	/**
+	 * Read only map view over sorted int keys array
+	 */
+	private abstract static class SortedArrayMap<V> extends AbstractMap<Integer, V> {
+		private final int[] keys;
+		private final boolean descending;
+
+		protected SortedArrayMap(int[] keys, boolean descending) {
+			this.keys = keys;
+			this.descending = descending;
+		}
+
+		protected abstract V valueAt(int idx);
+
+		private int indexOf(Object key) {
+			if (!(key instanceof Integer)) {
+				return -1;
+			}
+			int idx = Arrays.binarySearch(keys, (Integer) key);
+			return idx >= 0 ? idx : -1;
+		}
+
+		@Override
+		public V get(Object key) {
+			int idx = indexOf(key);
+			return idx >= 0 ? valueAt(idx) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return keys.length == 0;
+		}
+
+		@Override
+		public Set<Entry<Integer, V>> entrySet() {
+			return new AbstractSet<Entry<Integer, V>>() {
+				@Override
+				public Iterator<Entry<Integer, V>> iterator() {
+					return new Iterator<Entry<Integer, V>>() {
+						private int pos = 0;
+
+						@Override
+						public boolean hasNext() {
+							return pos < keys.length;
+						}
+
+						@Override
+						public Entry<Integer, V> next() {
+							if (pos >= keys.length) {
+								throw new NoSuchElementException();
+							}
+							int idx = descending ? keys.length - 1 - pos : pos;
+							pos++;
+							return new SimpleImmutableEntry<>(keys[idx], valueAt(idx));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return keys.length;
+				}
+			};
+		}
 	}
 }
@@ -0,0 +1,205 @@
+package jadx.api.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Collect wall time, allocated bytes, invocations and failures count for every pass and class.
+ * Enabled by {@link jadx.api.JadxArgs#setCollectPassMetrics(boolean)}.
+ */
+public class JadxPassMetrics {
+	private static final Logger LOG = LoggerFactory.getLogger(JadxPassMetrics.class);
+
+	private static final Gson GSON = new GsonBuilder()
+			.setPrettyPrinting()
+			.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_DASHES)
+			.disableHtmlEscaping()
+			.create();
+
+	public enum Stage {
+		PREPARE, DECOMPILE
+	}
+
+	private final ThreadAllocationCounter allocCounter = new ThreadAllocationCounter();
+	private final Map<String, Stats> passStats = new ConcurrentHashMap<>();
+	private final Map<String, Stats> clsStats = new ConcurrentHashMap<>();
+
+	/**
+	 * Run pass for class using {@link DepthTraversal} and record metrics.
+	 *
+	 * @return false if pass failed for class or any inner node
+	 */
+	public boolean visit(Stage stage, IDexTreeVisitor pass, ClassNode cls) {
+		return visit(stage, pass, cls, () -> DepthTraversal.visit(pass, cls));
+	}
+
+	/**
+	 * Record metrics for custom pass traversal.
+	 * Allocations counted only for current thread.
+	 */
+	public boolean visit(Stage stage, IDexTreeVisitor pass, ClassNode cls, BooleanSupplier traversal) {
+		long startAlloc = allocCounter.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		boolean success = traversal.getAsBoolean();
+		long time = System.nanoTime() - start;
+		long alloc = allocCounter.getCurrentThreadAllocatedBytes() - startAlloc;
+
+		String passName = pass.getName();
+		passStats.computeIfAbsent(stage + ":" + passName, k -> new Stats(stage.name(), passName))
+				.add(time, alloc, success);
+		String clsName = cls.getRawName();
+		clsStats.computeIfAbsent(clsName, k -> new Stats(null, clsName))
+				.add(time, alloc, success);
+		return success;
+	}
+
+	public boolean isAllocationTrackingSupported() {
+		return allocCounter.isSupported();
+	}
+
+	public List<Stats> getPassStats() {
+		return sortByTime(passStats);
+	}
+
+	public List<Stats> getClassStats() {
+		return sortByTime(clsStats);
+	}
+
+	public void reset() {
+		passStats.clear();
+		clsStats.clear();
+	}
+
+	public void save(File file) {
+		JsonMetrics json = new JsonMetrics();
+		json.allocationTracking = isAllocationTrackingSupported();
+		json.passes = toJson(getPassStats());
+		json.classes = toJson(getClassStats());
+
+		FileUtils.makeDirsForFile(file);
+		try (Writer writer = new FileWriter(file)) {
+			GSON.toJson(json, writer);
+			LOG.info("Pass metrics saved to {}", file.getAbsolutePath());
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to save pass metrics", e);
+		}
+	}
+
+	private static List<Stats> sortByTime(Map<String, Stats> map) {
+		List<Stats> list = new ArrayList<>(map.values());
+		list.sort(Comparator.comparingLong(Stats::getTimeNanos).reversed());
+		return list;
+	}
+
+	private static List<JsonStats> toJson(List<Stats> list) {
+		List<JsonStats> result = new ArrayList<>(list.size());
+		for (Stats stats : list) {
+			JsonStats json = new JsonStats();
+			json.stage = stats.getStage();
+			json.name = stats.getName();
+			json.invocations = stats.getInvocations();
+			json.failures = stats.getFailures();
+			json.timeMs = stats.getTimeNanos() / 1_000_000;
+			json.allocatedBytes = stats.getAllocatedBytes();
+			result.add(json);
+		}
+		return result;
+	}
+
+	public static final class Stats {
+		private final String stage;
+		private final String name;
+		private final AtomicLong invocations = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+		private final AtomicLong timeNanos = new AtomicLong();
+		private final AtomicLong allocatedBytes = new AtomicLong();
+
+		private Stats(String stage, String name) {
+			this.stage = stage;
+			this.name = name;
+		}
+
+		private void add(long time, long alloc, boolean success) {
+			invocations.incrementAndGet();
+			if (!success) {
+				failures.incrementAndGet();
+			}
+			timeNanos.addAndGet(time);
+			allocatedBytes.addAndGet(alloc);
+		}
+
+		/**
+		 * Pass stage, null for class stats
+		 */
+		public String getStage() {
+			return stage;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getInvocations() {
+			return invocations.get();
+		}
+
+		public long getFailures() {
+			return failures.get();
+		}
+
+		public long getTimeNanos() {
+			return timeNanos.get();
+		}
+
+		public long getAllocatedBytes() {
+			return allocatedBytes.get();
+		}
+
+		@Override
+		public String toString() {
+			return (stage == null ? "" : stage + ':') + name
+					+ " time: " + timeNanos.get() / 1_000_000 + "ms"
+					+ ", alloc: " + allocatedBytes.get()
+					+ ", invocations: " + invocations.get()
+					+ ", failures: " + failures.get();
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static final class JsonMetrics {
+		private boolean allocationTracking;
+		private List<JsonStats> passes;
+		private List<JsonStats> classes;
+	}
+
+	@SuppressWarnings("unused")
+	private static final class JsonStats {
+		private String stage;
+		private String name;
+		private long invocations;
+		private long failures;
+		private long timeMs;
+		private long allocatedBytes;
+	}
+}
@@ -0,0 +1,57 @@
+package jadx.api.metrics;
+
+import java.lang.reflect.Method;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read allocated bytes for current thread using {@code com.sun.management.ThreadMXBean}.
+ * Management API not available on Android, so access done only by reflection
+ * and counter returns zero if not supported.
+ */
+final class ThreadAllocationCounter {
+	private static final Logger LOG = LoggerFactory.getLogger(ThreadAllocationCounter.class);
+
+	@Nullable
+	private final Object threadMXBean;
+	@Nullable
+	private final Method getAllocatedBytes;
+
+	ThreadAllocationCounter() {
+		Object bean = null;
+		Method method = null;
+		try {
+			Class<?> factoryCls = Class.forName("java.lang.management.ManagementFactory");
+			bean = factoryCls.getMethod("getThreadMXBean").invoke(null);
+			Class<?> sunBeanCls = Class.forName("com.sun.management.ThreadMXBean");
+			if (sunBeanCls.isInstance(bean)) {
+				Method supported = sunBeanCls.getMethod("isThreadAllocatedMemorySupported");
+				Method enabled = sunBeanCls.getMethod("isThreadAllocatedMemoryEnabled");
+				if ((Boolean) supported.invoke(bean) && (Boolean) enabled.invoke(bean)) {
+					method = sunBeanCls.getMethod("getThreadAllocatedBytes", long.class);
+				}
+			}
+		} catch (Throwable e) {
+			LOG.debug("Thread allocation tracking not supported: {}", e.toString());
+		}
+		this.getAllocatedBytes = method;
+		this.threadMXBean = method != null ? bean : null;
+	}
+
+	public boolean isSupported() {
+		return getAllocatedBytes != null;
+	}
+
+	public long getCurrentThreadAllocatedBytes() {
+		if (getAllocatedBytes == null) {
+			return 0;
+		}
+		try {
+			return (Long) getAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+}
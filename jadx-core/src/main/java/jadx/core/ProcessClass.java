@@ -1,6 +1,11 @@
 package jadx.core;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
+import jadx.api.metrics.JadxPassMetrics;
 import jadx.core.codegen.CodeGen;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
@@ -16,6 +22,7 @@ import jadx.core.dex.nodes.LoadStage;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import static jadx.core.dex.nodes.ProcessState.GENERATED_AND_UNLOADED;
@@ -27,7 +34,15 @@ import static jadx.core.dex.nodes.ProcessState.PROCESS_STARTED;
 public class ProcessClass {
 	private static final Logger LOG = LoggerFactory.getLogger(ProcessClass.class);
 
+	/**
+	 * Min methods count in class (including inner classes) to process methods in parallel
+	 */
+	private static final int PARALLEL_METHODS_THRESHOLD = 64;
+
 	private final List<IDexTreeVisitor> passes;
+	private final Map<Class<?>, Boolean> methodLocalPasses = new ConcurrentHashMap<>();
+	private final AtomicInteger parallelClassesCount = new AtomicInteger();
+	private volatile ForkJoinPool methodsPool;
 
 	public ProcessClass(JadxArgs args) {
 		this.passes = Jadx.getPassesList(args);
@@ -68,8 +83,25 @@ public class ProcessClass {
 				}
 				if (cls.getState() == LOADED) {
 					cls.setState(PROCESS_STARTED);
+					JadxPassMetrics passMetrics = cls.root().getPassMetrics();
+					boolean parallelMethods = isParallelMethodsClass(cls);
+					if (parallelMethods) {
+						parallelClassesCount.incrementAndGet();
+					}
 					for (IDexTreeVisitor visitor : passes) {
-						DepthTraversal.visit(visitor, cls);
+						if (parallelMethods && isMethodLocalPass(visitor)) {
+							ForkJoinPool pool = getMethodsPool(cls.root().getArgs());
+							if (passMetrics != null) {
+								passMetrics.visit(JadxPassMetrics.Stage.DECOMPILE, visitor, cls,
+										() -> DepthTraversal.visitParallel(visitor, cls, pool));
+							} else {
+								DepthTraversal.visitParallel(visitor, cls, pool);
+							}
+						} else if (passMetrics != null) {
+							passMetrics.visit(JadxPassMetrics.Stage.DECOMPILE, visitor, cls);
+						} else {
+							DepthTraversal.visit(visitor, cls);
+						}
 					}
 					cls.setState(PROCESS_COMPLETE);
 				}
@@ -92,6 +124,50 @@ public class ProcessClass {
 		}
 	}
 
+	/**
+	 * Process methods of huge class in parallel to not block whole decompilation on one thread.
+	 * Passes not marked as method local still work as barriers and processed sequentially.
+	 */
+	private static boolean isParallelMethodsClass(ClassNode cls) {
+		JadxArgs args = cls.root().getArgs();
+		if (!args.isParallelMethodsProcessing() || args.getThreadsCount() <= 1) {
+			return false;
+		}
+		return countMethods(cls) >= PARALLEL_METHODS_THRESHOLD;
+	}
+
+	private static int countMethods(ClassNode cls) {
+		int count = cls.getMethods().size();
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			count += countMethods(innerCls);
+		}
+		return count;
+	}
+
+	private boolean isMethodLocalPass(IDexTreeVisitor pass) {
+		return methodLocalPasses.computeIfAbsent(pass.getClass(), passCls -> {
+			JadxVisitor visitorInfo = passCls.getAnnotation(JadxVisitor.class);
+			return visitorInfo != null && visitorInfo.methodLocal();
+		});
+	}
+
+	/**
+	 * Pool shared by all classes, created on first use and stopped in {@link #close()}
+	 */
+	private ForkJoinPool getMethodsPool(JadxArgs args) {
+		ForkJoinPool pool = methodsPool;
+		if (pool == null) {
+			synchronized (this) {
+				pool = methodsPool;
+				if (pool == null) {
+					pool = new ForkJoinPool(args.getThreadsCount());
+					methodsPool = pool;
+				}
+			}
+		}
+		return pool;
+	}
+
 	@NotNull
 	public ICodeInfo generateCode(ClassNode cls) {
 		ClassNode topParentClass = cls.getTopParentClass();
@@ -99,29 +175,40 @@ public class ProcessClass {
 			return generateCode(topParentClass);
 		}
 		try {
-			if (cls.contains(AFlag.DONT_GENERATE)) {
-				process(cls, false);
-				return ICodeInfo.EMPTY;
-			}
-			for (ClassNode depCls : cls.getDependencies()) {
-				process(depCls, false);
-			}
-			if (!cls.getCodegenDeps().isEmpty()) {
-				process(cls, false);
-				for (ClassNode codegenDep : cls.getCodegenDeps()) {
-					process(codegenDep, false);
-				}
-			}
-			ICodeInfo code = process(cls, true);
-			if (code == null) {
-				throw new JadxRuntimeException("Codegen failed");
+			cls.root().ensurePreDecompiled(cls);
+			Lock codegenLock = cls.root().getCodegenLock();
+			codegenLock.lock();
+			try {
+				return generateCodeForPrepared(cls);
+			} finally {
+				codegenLock.unlock();
 			}
-			return code;
 		} catch (Throwable e) {
 			throw new JadxRuntimeException("Failed to generate code for class: " + cls.getFullName(), e);
 		}
 	}
 
+	private ICodeInfo generateCodeForPrepared(ClassNode cls) {
+		if (cls.contains(AFlag.DONT_GENERATE)) {
+			process(cls, false);
+			return ICodeInfo.EMPTY;
+		}
+		for (ClassNode depCls : cls.getDependencies()) {
+			process(depCls, false);
+		}
+		if (!cls.getCodegenDeps().isEmpty()) {
+			process(cls, false);
+			for (ClassNode codegenDep : cls.getCodegenDeps()) {
+				process(codegenDep, false);
+			}
+		}
+		ICodeInfo code = process(cls, true);
+		if (code == null) {
+			throw new JadxRuntimeException("Codegen failed");
+		}
+		return code;
+	}
+
 	public void initPasses(RootNode root) {
 		for (IDexTreeVisitor pass : passes) {
 			try {
@@ -132,6 +219,21 @@ public class ProcessClass {
 		}
 	}
 
+	/**
+	 * Count of classes processed with methods level parallelism
+	 */
+	public int getParallelClassesCount() {
+		return parallelClassesCount.get();
+	}
+
+	public synchronized void close() {
+		ForkJoinPool pool = methodsPool;
+		if (pool != null) {
+			methodsPool = null;
+			pool.shutdown();
+		}
+	}
+
 	// TODO: make passes list private and not visible
 	public List<IDexTreeVisitor> getPasses() {
 		return passes;
@@ -0,0 +1,393 @@
+package jadx.core.cache.code.disk;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.ICatch;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IDebugInfo;
+import jadx.api.plugins.input.data.IFieldRef;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.ITry;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.custom.IArrayPayload;
+import jadx.api.plugins.input.insns.custom.ICustomPayload;
+import jadx.api.plugins.input.insns.custom.ISwitchPayload;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Build hash of class input data.
+ * <br>
+ * Indexes in input files are not stable between builds, so hash calculated
+ * from resolved data (names, types, decoded instructions) instead of raw bytes.
+ * Class key include inner classes, input hashes of direct dependencies and all super types,
+ * also app-wide state used in code generation (see {@link #addAppContext(HashBuilder, ClassNode)}).
+ */
+public class ClassInputHash {
+
+	private final Map<ClassNode, String> inputHashes = new ConcurrentHashMap<>();
+
+	private volatile @Nullable Map<String, String> pkgHashes;
+	private volatile @Nullable String appHash;
+	private volatile @Nullable String constsHash;
+
+	/**
+	 * Return key for top level class or null if class can't be cached (no input data)
+	 */
+	@Nullable
+	public String getClassKey(ClassNode cls) {
+		String inputHash = getInputHash(cls);
+		if (inputHash == null) {
+			return null;
+		}
+		// dependencies and renames known only after prepare stage (can be delayed in lazy mode)
+		cls.root().ensurePreDecompiled(cls);
+
+		HashBuilder builder = new HashBuilder();
+		builder.add(inputHash);
+		for (ClassNode dep : cls.getDependencies()) {
+			String depHash = getInputHash(dep);
+			builder.add(dep.getRawName());
+			builder.add(depHash == null ? "" : depHash);
+		}
+		addAppContext(builder, cls);
+		return builder.build();
+	}
+
+	/**
+	 * Add app-wide state which affects class code:
+	 * <ul>
+	 * <li>aliases of class, inner classes and dependencies (renames depend on all app classes)</li>
+	 * <li>input of all super types (methods override check use whole hierarchy)</li>
+	 * <li>names of app classes in class package (used for imports collision check)</li>
+	 * <li>public constants and resources names if constants replace is enabled</li>
+	 * </ul>
+	 * Deobfuscation and user renames can change names of any class or member,
+	 * so in that case whole app input is added (any change will invalidate all entries).
+	 */
+	private void addAppContext(HashBuilder builder, ClassNode cls) {
+		addAliases(builder, cls);
+		for (ClassNode dep : cls.getDependencies()) {
+			addAliases(builder, dep);
+		}
+		Set<ClassNode> superTypes = new TreeSet<>();
+		collectSuperTypes(cls, superTypes);
+		for (ClassNode superCls : superTypes) {
+			String superHash = getInputHash(superCls);
+			builder.add(superCls.getRawName());
+			builder.add(superHash == null ? "" : superHash);
+		}
+		String pkgHash = getPkgHashes(cls.root()).get(cls.getClassInfo().getAliasPkg());
+		builder.add(pkgHash == null ? "" : pkgHash);
+
+		JadxArgs args = cls.root().getArgs();
+		if (args.isDeobfuscationOn() || args.getUserRenamesMappingsPath() != null) {
+			builder.add(getAppHash(cls.root()));
+		}
+		if (args.isReplaceConsts()) {
+			builder.add(getConstsHash(cls.root()));
+		}
+	}
+
+	private static void addAliases(HashBuilder builder, ClassNode cls) {
+		builder.add(cls.getClassInfo().getAliasFullName());
+		for (FieldNode fld : cls.getFields()) {
+			builder.add(fld.getAlias());
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			builder.add(mth.getAlias());
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addAliases(builder, innerCls);
+		}
+	}
+
+	private static void collectSuperTypes(ClassNode cls, Set<ClassNode> result) {
+		RootNode root = cls.root();
+		ArgType superClass = cls.getSuperClass();
+		if (superClass != null) {
+			addSuperType(root.resolveClass(superClass), result);
+		}
+		for (ArgType intf : cls.getInterfaces()) {
+			addSuperType(root.resolveClass(intf), result);
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			collectSuperTypes(innerCls, result);
+		}
+	}
+
+	private static void addSuperType(@Nullable ClassNode superCls, Set<ClassNode> result) {
+		if (superCls != null && result.add(superCls)) {
+			collectSuperTypes(superCls, result);
+		}
+	}
+
+	private Map<String, String> getPkgHashes(RootNode root) {
+		Map<String, String> map = pkgHashes;
+		if (map == null) {
+			Map<String, List<String>> pkgClasses = new HashMap<>();
+			for (ClassNode cls : root.getClasses()) {
+				if (!cls.isInner()) {
+					ClassInfo clsInfo = cls.getClassInfo();
+					pkgClasses.computeIfAbsent(clsInfo.getAliasPkg(), p -> new ArrayList<>()).add(clsInfo.getRawName());
+				}
+			}
+			map = new HashMap<>(pkgClasses.size());
+			for (Map.Entry<String, List<String>> entry : pkgClasses.entrySet()) {
+				List<String> names = entry.getValue();
+				Collections.sort(names);
+				HashBuilder builder = new HashBuilder();
+				names.forEach(builder::add);
+				map.put(entry.getKey(), builder.build());
+			}
+			pkgHashes = map;
+		}
+		return map;
+	}
+
+	private String getAppHash(RootNode root) {
+		String hash = appHash;
+		if (hash == null) {
+			HashBuilder builder = new HashBuilder();
+			for (ClassNode cls : root.getClasses()) {
+				if (!cls.isInner()) {
+					String inputHash = getInputHash(cls);
+					builder.add(cls.getRawName());
+					builder.add(inputHash == null ? "" : inputHash);
+				}
+			}
+			hash = builder.build();
+			appHash = hash;
+		}
+		return hash;
+	}
+
+	/**
+	 * Literals can be replaced by constant field from any class or by resource field,
+	 * used fields not known before code generation, so add all
+	 */
+	private String getConstsHash(RootNode root) {
+		String hash = constsHash;
+		if (hash == null) {
+			HashBuilder builder = new HashBuilder();
+			root.getConstValues().getGlobalState().forEach(builder::add);
+			hash = builder.build();
+			constsHash = hash;
+		}
+		return hash;
+	}
+
+	@Nullable
+	private String getInputHash(ClassNode cls) {
+		String hash = inputHashes.get(cls);
+		if (hash != null) {
+			return hash;
+		}
+		String newHash = calcInputHash(cls);
+		if (newHash == null) {
+			return null;
+		}
+		inputHashes.put(cls, newHash);
+		return newHash;
+	}
+
+	@Nullable
+	private String calcInputHash(ClassNode cls) {
+		IClassData clsData = cls.getClsData();
+		if (clsData == null) {
+			return null;
+		}
+		HashBuilder builder = new HashBuilder();
+		addClassData(builder, clsData.copy());
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			String innerHash = getInputHash(innerCls);
+			if (innerHash == null) {
+				return null;
+			}
+			builder.add(innerHash);
+		}
+		return builder.build();
+	}
+
+	private static void addClassData(HashBuilder builder, IClassData clsData) {
+		builder.add(clsData.getType());
+		builder.add(clsData.getAccessFlags());
+		builder.add(String.valueOf(clsData.getSuperType()));
+		builder.add(clsData.getInterfacesTypes().toString());
+		addAttributes(builder, clsData.getAttributes());
+		clsData.visitFieldsAndMethods(
+				field -> {
+					builder.add(field.getName());
+					builder.add(field.getType());
+					builder.add(field.getAccessFlags());
+					addAttributes(builder, field.getAttributes());
+				},
+				mth -> addMethod(builder, mth));
+	}
+
+	private static void addMethod(HashBuilder builder, IMethodData mth) {
+		addMethodRef(builder, mth.getMethodRef());
+		builder.add(mth.getAccessFlags());
+		addAttributes(builder, mth.getAttributes());
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null) {
+			builder.add("no-code");
+			return;
+		}
+		builder.add(codeReader.getRegistersCount());
+		builder.add(codeReader.getArgsStartReg());
+		codeReader.visitInstructions(insn -> {
+			insn.decode();
+			addInsn(builder, insn);
+		});
+		for (ITry tryData : codeReader.getTries()) {
+			builder.add(tryData.getStartOffset());
+			builder.add(tryData.getEndOffset());
+			ICatch catchData = tryData.getCatch();
+			builder.add(Arrays.toString(catchData.getTypes()));
+			builder.add(Arrays.toString(catchData.getHandlers()));
+			builder.add(catchData.getCatchAllHandler());
+		}
+		IDebugInfo debugInfo = codeReader.getDebugInfo();
+		if (debugInfo != null) {
+			builder.add(debugInfo.getSourceLineMapping().toString());
+			debugInfo.getLocalVars().forEach(var -> {
+				builder.add(var.getName());
+				builder.add(var.getType());
+				builder.add(String.valueOf(var.getSignature()));
+				builder.add(var.getRegNum());
+				builder.add(var.getStartOffset());
+				builder.add(var.getEndOffset());
+			});
+		}
+	}
+
+	private static void addInsn(HashBuilder builder, InsnData insn) {
+		builder.add(insn.getOffset());
+		builder.add(insn.getOpcode().ordinal());
+		int regsCount = insn.getRegsCount();
+		builder.add(regsCount);
+		for (int i = 0; i < regsCount; i++) {
+			builder.add(insn.getReg(i));
+		}
+		builder.add(insn.getResultReg());
+		builder.add(insn.getLiteral());
+		builder.add(insn.getTarget());
+		switch (insn.getIndexType()) {
+			case TYPE_REF:
+				builder.add(insn.getIndexAsType());
+				break;
+			case STRING_REF:
+				builder.add(insn.getIndexAsString());
+				break;
+			case FIELD_REF:
+				IFieldRef fieldRef = insn.getIndexAsField();
+				builder.add(fieldRef.getParentClassType());
+				builder.add(fieldRef.getName());
+				builder.add(fieldRef.getType());
+				break;
+			case METHOD_REF:
+				addMethodRef(builder, insn.getIndexAsMethod());
+				break;
+			case CALL_SITE:
+				builder.add(insn.getIndexAsCallSite().toString());
+				break;
+			default:
+				break;
+		}
+		addPayload(builder, insn.getPayload());
+	}
+
+	private static void addMethodRef(HashBuilder builder, IMethodRef mthRef) {
+		mthRef.load();
+		builder.add(mthRef.getParentClassType());
+		builder.add(mthRef.getName());
+		builder.add(mthRef.getReturnType());
+		builder.add(mthRef.getArgTypes().toString());
+	}
+
+	private static void addPayload(HashBuilder builder, @Nullable ICustomPayload payload) {
+		if (payload instanceof ISwitchPayload) {
+			ISwitchPayload switchPayload = (ISwitchPayload) payload;
+			builder.add(Arrays.toString(switchPayload.getKeys()));
+			builder.add(Arrays.toString(switchPayload.getTargets()));
+		} else if (payload instanceof IArrayPayload) {
+			IArrayPayload arrayPayload = (IArrayPayload) payload;
+			builder.add(arrayPayload.getElementSize());
+			builder.add(arrayToString(arrayPayload.getData()));
+		} else if (payload != null) {
+			builder.add(payload.toString());
+		}
+	}
+
+	private static String arrayToString(Object data) {
+		if (data instanceof byte[]) {
+			return Arrays.toString((byte[]) data);
+		}
+		if (data instanceof short[]) {
+			return Arrays.toString((short[]) data);
+		}
+		if (data instanceof int[]) {
+			return Arrays.toString((int[]) data);
+		}
+		if (data instanceof long[]) {
+			return Arrays.toString((long[]) data);
+		}
+		return String.valueOf(data);
+	}
+
+	private static void addAttributes(HashBuilder builder, List<IJadxAttribute> attributes) {
+		for (IJadxAttribute attr : attributes) {
+			builder.add(attr.toString());
+		}
+	}
+
+	private static final class HashBuilder {
+		private final MessageDigest md;
+
+		HashBuilder() {
+			try {
+				md = MessageDigest.getInstance("MD5");
+			} catch (Exception e) {
+				throw new JadxRuntimeException("Failed to init hash builder", e);
+			}
+		}
+
+		void add(String str) {
+			md.update(str.getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+		}
+
+		void add(long value) {
+			for (int i = 0; i < 8; i++) {
+				md.update((byte) (value >>> (i * 8)));
+			}
+		}
+
+		String build() {
+			return FileUtils.bytesToHex(md.digest());
+		}
+	}
+}
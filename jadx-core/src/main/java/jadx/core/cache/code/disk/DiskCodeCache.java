@@ -0,0 +1,294 @@
+package jadx.core.cache.code.disk;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.plugins.PluginContext;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Persistent code cache.
+ * <br>
+ * Entries stored by class key: hash of class input data, its dependencies and used app-wide state
+ * (see {@link ClassInputHash}), so cache can be reused for changed inputs (new build of same app)
+ * and only changed classes will be decompiled again.
+ * With deobfuscation or user renames any input change invalidates all entries.
+ * Whole cache reset if decompilation options, jadx version or plugins changed.
+ */
+public class DiskCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
+
+	private static final int DATA_FORMAT_VERSION = 14;
+
+	private final RootNode root;
+	private final File srcDir;
+	private final File metaDir;
+	private final File codeVersionFile;
+	private final String codeVersion;
+	private final CodeMetadataAdapter codeMetadataAdapter;
+	private final ClassInputHash classInputHash = new ClassInputHash();
+	private final Map<String, String> clsKeys = new ConcurrentHashMap<>();
+	private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+
+	public DiskCodeCache(RootNode root, File baseDir) {
+		this.root = root;
+		this.srcDir = new File(baseDir, "sources");
+		this.metaDir = new File(baseDir, "metadata");
+		this.codeVersionFile = new File(baseDir, "code-version");
+		this.codeVersion = buildCodeVersion(root.getArgs(), root.getDecompiler());
+		this.codeMetadataAdapter = new CodeMetadataAdapter(root);
+		if (!checkCodeVersion()) {
+			reset();
+		}
+	}
+
+	private boolean checkCodeVersion() {
+		try {
+			if (!codeVersionFile.exists()) {
+				return false;
+			}
+			return readFile(codeVersionFile).equals(codeVersion);
+		} catch (Exception e) {
+			LOG.warn("Failed to load code version file", e);
+			return false;
+		}
+	}
+
+	private void reset() {
+		try {
+			LOG.info("Resetting disk code cache, base dir: {}", codeVersionFile.getParentFile().getAbsolutePath());
+			FileUtils.deleteDirIfExists(srcDir);
+			FileUtils.deleteDirIfExists(metaDir);
+			FileUtils.makeDirs(srcDir);
+			FileUtils.makeDirs(metaDir);
+			FileUtils.write(codeVersionFile, codeVersion.getBytes(StandardCharsets.UTF_8), false);
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to reset code cache", e);
+		}
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return;
+		}
+		try {
+			File javaFile = getJavaFile(key);
+			FileUtils.makeDirsForFile(javaFile);
+			FileUtils.write(javaFile, codeInfo.getCodeStr().getBytes(StandardCharsets.UTF_8), false);
+			codeMetadataAdapter.write(getMetadataFile(key), codeInfo.getCodeMetadata());
+		} catch (Exception e) {
+			LOG.error("Failed to write code cache for {}", clsFullName, e);
+			removeFiles(key);
+		}
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return null;
+		}
+		try {
+			File javaFile = getJavaFile(key);
+			if (!javaFile.exists()) {
+				return null;
+			}
+			return readFile(javaFile);
+		} catch (Exception e) {
+			LOG.error("Failed to read class code for {}", clsFullName, e);
+			return null;
+		}
+	}
+
+	@Override
+	public ICodeInfo get(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return ICodeInfo.EMPTY;
+		}
+		try {
+			File javaFile = getJavaFile(key);
+			if (!javaFile.exists()) {
+				return ICodeInfo.EMPTY;
+			}
+			return codeMetadataAdapter.readAndBuild(getMetadataFile(key), readFile(javaFile));
+		} catch (Exception e) {
+			LOG.error("Failed to read code cache for {}", clsFullName, e);
+			return ICodeInfo.EMPTY;
+		}
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		return key != null && getJavaFile(key).exists();
+	}
+
+	/**
+	 * Remove entry and forget calculated key: class can be changed (renamed, reloaded) after this call.
+	 */
+	@Override
+	public void remove(String clsFullName) {
+		String key = clsKeys.remove(clsFullName);
+		if (key != null) {
+			LOG.debug("Removing class code from disk cache: {}", clsFullName);
+			usedKeys.remove(key);
+			removeFiles(key);
+		}
+	}
+
+	private void removeFiles(String key) {
+		try {
+			FileUtils.deleteFileIfExists(getJavaFile(key));
+			FileUtils.deleteFileIfExists(getMetadataFile(key));
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to remove code cache entry: " + key, e);
+		}
+	}
+
+	private @Nullable String getClsKey(String clsFullName) {
+		String key = clsKeys.get(clsFullName);
+		if (key != null) {
+			return key;
+		}
+		ClassNode cls = root.resolveRawClass(clsFullName);
+		if (cls == null) {
+			return null;
+		}
+		String newKey = classInputHash.getClassKey(cls);
+		if (newKey == null) {
+			return null;
+		}
+		clsKeys.put(clsFullName, newKey);
+		usedKeys.add(newKey);
+		return newKey;
+	}
+
+	static String readFile(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			return new String(FileUtils.streamToByteArray(in), StandardCharsets.UTF_8);
+		}
+	}
+
+	static String buildCodeVersion(JadxArgs args, @Nullable JadxDecompiler decompiler) {
+		List<String> parts = new ArrayList<>();
+		parts.add(String.valueOf(DATA_FORMAT_VERSION));
+		parts.add(Jadx.getVersion());
+		parts.add(args.makeCodeArgsHash());
+		// code without metadata can't be used for navigation in GUI
+		parts.add(args.getCodeWriterProvider().apply(args).isMetadataSupported() ? "metadata" : "no-metadata");
+		File mappingFile = args.getGeneratedRenamesMappingFile();
+		if (args.getGeneratedRenamesMappingFileMode().shouldRead()
+				&& mappingFile != null && mappingFile.exists()) {
+			parts.add(mappingFile.getAbsolutePath() + ':' + mappingFile.length() + ':' + mappingFile.lastModified());
+		}
+		parts.add(buildPluginsHash(decompiler));
+		return FileUtils.md5Sum(String.join(":", parts));
+	}
+
+	private static String buildPluginsHash(@Nullable JadxDecompiler decompiler) {
+		if (decompiler == null) {
+			return "";
+		}
+		return decompiler.getPluginManager().getResolvedPluginContexts()
+				.stream()
+				.map(PluginContext::getInputsHash)
+				.collect(Collectors.joining());
+	}
+
+	private File getJavaFile(String key) {
+		return new File(srcDir, getPathForKey(key, ".java"));
+	}
+
+	private File getMetadataFile(String key) {
+		return new File(metaDir, getPathForKey(key, ".jadxmd"));
+	}
+
+	static String getPathForKey(String key, String ext) {
+		// all entries divided between 256 top level folders
+		return key.substring(0, 2) + File.separatorChar + key + ext;
+	}
+
+	/**
+	 * Delete entries not used in this session, but only if keys for all classes were calculated
+	 * (usually after full save), otherwise valid entries can be lost.
+	 */
+	private void removeUnusedEntries() {
+		int topClassesCount = 0;
+		for (ClassNode cls : root.getClasses()) {
+			if (!cls.isInner() && cls.getClsData() != null) {
+				topClassesCount++;
+			}
+		}
+		if (usedKeys.size() < topClassesCount) {
+			return;
+		}
+		int removed = removeUnused(srcDir, ".java") + removeUnused(metaDir, ".jadxmd");
+		if (removed != 0) {
+			LOG.debug("Removed {} unused files from disk code cache", removed);
+		}
+	}
+
+	private int removeUnused(File dir, String ext) {
+		int count = 0;
+		File[] subDirs = dir.listFiles(File::isDirectory);
+		if (subDirs == null) {
+			return 0;
+		}
+		for (File subDir : subDirs) {
+			File[] files = subDir.listFiles();
+			if (files == null) {
+				continue;
+			}
+			for (File file : files) {
+				String name = file.getName();
+				if (name.endsWith(ext) && !usedKeys.contains(name.substring(0, name.length() - ext.length()))) {
+					if (file.delete()) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void close() {
+		try {
+			removeUnusedEntries();
+		} catch (Exception e) {
+			LOG.warn("Failed to remove unused entries from disk code cache", e);
+		} finally {
+			clsKeys.clear();
+			usedKeys.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DiskCodeCache{" + codeVersionFile.getParentFile() + '}';
+	}
+}
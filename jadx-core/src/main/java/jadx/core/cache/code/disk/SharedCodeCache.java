@@ -0,0 +1,305 @@
+package jadx.core.cache.code.disk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Persistent code cache shared between different projects (inputs).
+ * <br>
+ * Entries stored by content address: hash of class input data, its dependencies and used app-wide state
+ * (see {@link ClassInputHash}) combined with decompilation options, jadx version and plugins,
+ * so same library classes bundled into different apps decompiled only once.
+ * Unlike {@link DiskCodeCache}, entries for other options are kept
+ * and total size limited by removing least recently used entries.
+ * <br>
+ * Renamed or reloaded classes excluded from cache for current session.
+ * <br>
+ * Code and metadata stored in one file, so entry replaced atomically by rename
+ * and concurrent readers in other processes always get consistent pair.
+ */
+public class SharedCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(SharedCodeCache.class);
+
+	private static final String ENTRY_EXT = ".jadxsc";
+
+	private final RootNode root;
+	private final File baseDir;
+	private final long maxSize;
+	private final String codeVersion;
+	private final boolean enabled;
+	private final CodeMetadataAdapter codeMetadataAdapter;
+	private final ClassInputHash classInputHash = new ClassInputHash();
+	private final Map<String, String> clsKeys = new ConcurrentHashMap<>();
+	private final Set<String> excludedClasses = ConcurrentHashMap.newKeySet();
+	private final AtomicLong totalSize = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param maxSize max size of all entries in bytes
+	 */
+	public SharedCodeCache(RootNode root, File baseDir, long maxSize) {
+		this.root = root;
+		this.baseDir = baseDir;
+		this.maxSize = maxSize;
+		this.codeVersion = DiskCodeCache.buildCodeVersion(root.getArgs(), root.getDecompiler());
+		this.enabled = checkArgs(root.getArgs());
+		this.codeMetadataAdapter = new CodeMetadataAdapter(root);
+		FileUtils.makeDirs(baseDir);
+		totalSize.set(calcTotalSize());
+	}
+
+	/**
+	 * Class names depends on all app classes if deobfuscation or renames mapping is used,
+	 * so code can't be shared with other projects.
+	 */
+	private static boolean checkArgs(JadxArgs args) {
+		if (args.isDeobfuscationOn() || args.getUserRenamesMappingsPath() != null) {
+			LOG.warn("Shared code cache disabled: not supported with deobfuscation or renames mapping");
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return;
+		}
+		File entryFile = getEntryFile(key);
+		File tmpFile = null;
+		try {
+			// write to temp file and rename: cache directory can be used by several processes
+			FileUtils.makeDirsForFile(entryFile);
+			tmpFile = File.createTempFile(key, ".tmp", entryFile.getParentFile());
+			writeEntry(tmpFile, codeInfo);
+			long oldSize = entryFile.length();
+			if (!tmpFile.renameTo(entryFile)) {
+				// rename fails on some systems if target exists, most likely written by another process
+				deleteTempFile(tmpFile);
+				return;
+			}
+			long size = totalSize.addAndGet(entryFile.length() - oldSize);
+			if (size > maxSize) {
+				evict();
+			}
+		} catch (Exception e) {
+			LOG.error("Failed to write shared code cache for {}", clsFullName, e);
+			deleteTempFile(tmpFile);
+		}
+	}
+
+	private void writeEntry(File file, ICodeInfo codeInfo) throws IOException {
+		byte[] code = codeInfo.getCodeStr().getBytes(StandardCharsets.UTF_8);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(code.length);
+			out.write(code);
+			codeMetadataAdapter.write(out, codeInfo.getCodeMetadata());
+		}
+	}
+
+	private static String readCode(DataInputStream in) throws IOException {
+		byte[] code = new byte[in.readInt()];
+		in.readFully(code);
+		return new String(code, StandardCharsets.UTF_8);
+	}
+
+	private static DataInputStream openEntry(File file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+	}
+
+	private static void deleteTempFile(@Nullable File file) {
+		if (file != null && file.exists() && !file.delete()) {
+			LOG.warn("Failed to delete temp file: {}", file);
+		}
+	}
+
+	@Override
+	public @Nullable String getCode(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return null;
+		}
+		File entryFile = getEntryFile(key);
+		if (!entryFile.exists()) {
+			return null;
+		}
+		try (DataInputStream in = openEntry(entryFile)) {
+			return readCode(in);
+		} catch (Exception e) {
+			LOG.error("Failed to read class code for {}", clsFullName, e);
+			return null;
+		}
+	}
+
+	@Override
+	public ICodeInfo get(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		if (key == null) {
+			return ICodeInfo.EMPTY;
+		}
+		File entryFile = getEntryFile(key);
+		if (!entryFile.exists()) {
+			misses.incrementAndGet();
+			return ICodeInfo.EMPTY;
+		}
+		try (DataInputStream in = openEntry(entryFile)) {
+			ICodeInfo codeInfo = codeMetadataAdapter.readAndBuild(in, readCode(in));
+			// modification time used for LRU eviction
+			entryFile.setLastModified(System.currentTimeMillis());
+			hits.incrementAndGet();
+			return codeInfo;
+		} catch (Exception e) {
+			LOG.error("Failed to read shared code cache for {}", clsFullName, e);
+			misses.incrementAndGet();
+			return ICodeInfo.EMPTY;
+		}
+	}
+
+	@Override
+	public boolean contains(String clsFullName) {
+		String key = getClsKey(clsFullName);
+		return key != null && getEntryFile(key).exists();
+	}
+
+	/**
+	 * Class changed (renamed, reloaded): code not valid for other projects,
+	 * so exclude class from cache until end of session.
+	 * Entry itself kept, because it still valid for unchanged class.
+	 */
+	@Override
+	public void remove(String clsFullName) {
+		excludedClasses.add(clsFullName);
+		clsKeys.remove(clsFullName);
+	}
+
+	private @Nullable String getClsKey(String clsFullName) {
+		if (!enabled || excludedClasses.contains(clsFullName)) {
+			return null;
+		}
+		String key = clsKeys.get(clsFullName);
+		if (key != null) {
+			return key;
+		}
+		ClassNode cls = root.resolveRawClass(clsFullName);
+		if (cls == null) {
+			return null;
+		}
+		String clsKey = classInputHash.getClassKey(cls);
+		if (clsKey == null) {
+			return null;
+		}
+		String newKey = FileUtils.md5Sum(codeVersion + ':' + clsKey);
+		clsKeys.put(clsFullName, newKey);
+		return newKey;
+	}
+
+	/**
+	 * Remove least recently used entries until total size less than 90% of limit
+	 */
+	private synchronized void evict() {
+		if (totalSize.get() <= maxSize) {
+			return;
+		}
+		// all files checked: left temp files and entries in old format also removed
+		List<File> files = listFiles();
+		long[] times = new long[files.size()];
+		Integer[] order = new Integer[files.size()];
+		for (int i = 0; i < times.length; i++) {
+			times[i] = files.get(i).lastModified();
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingLong(i -> times[i]));
+		long size = calcTotalSize();
+		long target = maxSize / 10 * 9;
+		int removed = 0;
+		for (int i = 0; i < order.length && size > target; i++) {
+			File file = files.get(order[i]);
+			long fileSize = file.length();
+			if (file.delete()) {
+				size -= fileSize;
+				removed++;
+			}
+		}
+		totalSize.set(size);
+		LOG.debug("Removed {} files from shared code cache, size: {}", removed, size);
+	}
+
+	private long calcTotalSize() {
+		long size = 0;
+		for (File file : listFiles()) {
+			size += file.length();
+		}
+		return size;
+	}
+
+	private List<File> listFiles() {
+		List<File> list = new ArrayList<>();
+		File[] subDirs = baseDir.listFiles(File::isDirectory);
+		if (subDirs == null) {
+			return list;
+		}
+		for (File subDir : subDirs) {
+			File[] files = subDir.listFiles();
+			if (files != null) {
+				Collections.addAll(list, files);
+			}
+		}
+		return list;
+	}
+
+	private File getEntryFile(String key) {
+		return new File(baseDir, DiskCodeCache.getPathForKey(key, ENTRY_EXT));
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public void close() {
+		if (enabled) {
+			LOG.info("Shared code cache: hits {}, misses {}, size {} MB",
+					hits.get(), misses.get(), totalSize.get() / (1024 * 1024));
+		}
+		clsKeys.clear();
+		excludedClasses.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "SharedCodeCache{" + baseDir + '}';
+	}
+}
@@ -1,4 +1,4 @@
-package jadx.gui.cache.code.disk.adapters;
+package jadx.core.cache.code.disk.adapters;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -8,10 +8,10 @@ import jadx.api.metadata.annotations.VarNode;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.MethodNode;
 
-import static jadx.gui.cache.code.disk.adapters.DataAdapterHelper.readNullableUTF;
-import static jadx.gui.cache.code.disk.adapters.DataAdapterHelper.readUVInt;
-import static jadx.gui.cache.code.disk.adapters.DataAdapterHelper.writeNullableUTF;
-import static jadx.gui.cache.code.disk.adapters.DataAdapterHelper.writeUVInt;
+import static jadx.core.cache.code.disk.adapters.DataAdapterHelper.readNullableUTF;
+import static jadx.core.cache.code.disk.adapters.DataAdapterHelper.readUVInt;
+import static jadx.core.cache.code.disk.adapters.DataAdapterHelper.writeNullableUTF;
+import static jadx.core.cache.code.disk.adapters.DataAdapterHelper.writeUVInt;
 
 public class VarNodeAdapter implements DataAdapter<VarNode> {
 	private final MethodNodeAdapter mthAdapter;
@@ -1,4 +1,4 @@
-package jadx.gui.cache.code.disk.adapters;
+package jadx.core.cache.code.disk.adapters;
 
 import java.io.DataInput;
 import java.io.DataOutput;
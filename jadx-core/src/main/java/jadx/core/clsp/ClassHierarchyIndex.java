@@ -0,0 +1,445 @@
+package jadx.core.clsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Immutable classes hierarchy index with dense int ids.
+ * <br>
+ * Known classes numbered in sorted names order, unknown parent classes added after them.
+ * Hierarchy checks done without super types sets:
+ * - classes tree built by first parent (super class) and numbered in DFS pre-order,
+ * so ancestor check in this tree is an interval check;
+ * - other super types (interfaces and their parents) stored in sorted int arrays,
+ * shared with super class if class not add new interfaces.
+ */
+public final class ClassHierarchyIndex {
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final String[] EMPTY_STRINGS = new String[0];
+
+	private final String[] names;
+	private final Map<String, Integer> idsMap;
+	private final int knownCount;
+	/**
+	 * Parent in classes tree (first parent), -1 for roots
+	 */
+	private final int[] treeParent;
+	/**
+	 * DFS pre-order number in classes tree
+	 */
+	private final int[] pre;
+	/**
+	 * Max pre-order number in class subtree
+	 */
+	private final int[] subtreeEnd;
+	/**
+	 * Class id by pre-order number
+	 */
+	private final int[] byPre;
+	/**
+	 * Sorted ids of super types not contained in classes tree path to root
+	 */
+	private final int[][] extraSuperTypes;
+
+	private final Map<Integer, int[]> implementationsCache = new ConcurrentHashMap<>();
+
+	/**
+	 * @param missingClasses collect names of unknown parent classes
+	 */
+	public ClassHierarchyIndex(Map<String, ClspClass> nameMap, Set<String> missingClasses) {
+		this(nameMap, null, missingClasses);
+	}
+
+	/**
+	 * @param nameMap  loaded classes, override classes with same name from snapshot
+	 * @param snapshot not loaded classpath classes, only parents names used
+	 */
+	public ClassHierarchyIndex(Map<String, ClspClass> nameMap, @Nullable ClsSnapshot snapshot, Set<String> missingClasses) {
+		List<String> known = new ArrayList<>(nameMap.keySet());
+		if (snapshot != null) {
+			for (int i = 0, len = snapshot.getClassesCount(); i < len; i++) {
+				String name = snapshot.getClassName(i);
+				if (!nameMap.containsKey(name)) {
+					known.add(name);
+				}
+			}
+		}
+		Collections.sort(known);
+		int count = known.size();
+		List<String> allNames = new ArrayList<>(known);
+		Map<String, Integer> ids = new HashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			ids.put(known.get(i), i);
+		}
+		List<int[]> parentsList = new ArrayList<>(count);
+		for (String name : known) {
+			String[] parents = getParentNames(name, nameMap, snapshot);
+			int[] parentIds = new int[parents.length];
+			int k = 0;
+			for (String parentName : parents) {
+				if (parentName == null) {
+					continue;
+				}
+				Integer id = ids.get(parentName);
+				if (id == null) {
+					// parent type is unknown
+					missingClasses.add(parentName);
+					id = allNames.size();
+					allNames.add(parentName);
+					ids.put(parentName, id);
+				}
+				parentIds[k++] = id;
+			}
+			parentsList.add(k == parentIds.length ? parentIds : Arrays.copyOf(parentIds, k));
+		}
+		int total = allNames.size();
+		int[][] parents = new int[total][];
+		for (int i = 0; i < total; i++) {
+			parents[i] = i < count ? parentsList.get(i) : EMPTY_INTS;
+		}
+		this.names = allNames.toArray(new String[0]);
+		this.idsMap = ids;
+		this.knownCount = count;
+		this.treeParent = new int[total];
+		this.pre = new int[total];
+		this.subtreeEnd = new int[total];
+		this.byPre = new int[total];
+		buildTree(parents);
+		this.extraSuperTypes = buildExtraSuperTypes(parents);
+	}
+
+	private static String[] getParentNames(String name, Map<String, ClspClass> nameMap, @Nullable ClsSnapshot snapshot) {
+		ClspClass cls = nameMap.get(name);
+		if (cls == null) {
+			return Objects.requireNonNull(snapshot).getParentNames(snapshot.findClass(name));
+		}
+		ArgType[] parents = cls.getParents();
+		if (parents == null || parents.length == 0) {
+			return EMPTY_STRINGS;
+		}
+		String[] names = new String[parents.length];
+		for (int i = 0; i < parents.length; i++) {
+			ArgType parent = parents[i];
+			names[i] = parent == null ? null : parent.getObject();
+		}
+		return names;
+	}
+
+	private void buildTree(int[][] parents) {
+		int total = names.length;
+		// children lists in compact form: children of 'id' are childList[childStart[id] .. childStart[id + 1])
+		int[] childStart = new int[total + 1];
+		for (int id = 0; id < total; id++) {
+			int p = parents[id].length == 0 ? -1 : parents[id][0];
+			treeParent[id] = p;
+			if (p != -1) {
+				childStart[p + 1]++;
+			}
+		}
+		for (int i = 0; i < total; i++) {
+			childStart[i + 1] += childStart[i];
+		}
+		int[] childList = new int[childStart[total]];
+		int[] fill = Arrays.copyOf(childStart, total);
+		for (int id = 0; id < total; id++) {
+			int p = treeParent[id];
+			if (p != -1) {
+				childList[fill[p]++] = id;
+			}
+		}
+		Arrays.fill(pre, -1);
+		int[] stack = new int[total];
+		int[] childPos = new int[total];
+		int counter = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			for (int start = 0; start < total; start++) {
+				if (pre[start] != -1) {
+					continue;
+				}
+				if (pass == 0 && treeParent[start] != -1) {
+					continue;
+				}
+				// second pass: not visited nodes are in super class cycle, make them roots
+				treeParent[start] = -1;
+				int sp = 0;
+				stack[sp++] = start;
+				pre[start] = counter;
+				byPre[counter++] = start;
+				childPos[start] = childStart[start];
+				while (sp > 0) {
+					int node = stack[sp - 1];
+					if (childPos[node] < childStart[node + 1]) {
+						int child = childList[childPos[node]++];
+						if (pre[child] == -1) {
+							pre[child] = counter;
+							byPre[counter++] = child;
+							childPos[child] = childStart[child];
+							stack[sp++] = child;
+						}
+					} else {
+						subtreeEnd[node] = counter - 1;
+						sp--;
+					}
+				}
+			}
+		}
+	}
+
+	private int[][] buildExtraSuperTypes(int[][] parents) {
+		int total = names.length;
+		int[][] superTypes = collectAllSuperTypes(parents);
+		int[][] extra = new int[total][];
+		// process in pre-order, so extra super types of tree parent already computed
+		for (int n = 0; n < total; n++) {
+			int id = byPre[n];
+			int[] all = superTypes[id];
+			int[] filtered = new int[all.length];
+			int k = 0;
+			for (int st : all) {
+				if (!isTreeAncestor(st, id)) {
+					filtered[k++] = st;
+				}
+			}
+			int p = treeParent[id];
+			if (k == 0) {
+				extra[id] = EMPTY_INTS;
+			} else if (p != -1 && equalsPrefix(extra[p], filtered, k)) {
+				extra[id] = extra[p];
+			} else {
+				extra[id] = k == filtered.length ? filtered : Arrays.copyOf(filtered, k);
+			}
+		}
+		return extra;
+	}
+
+	private static boolean equalsPrefix(int[] arr, int[] prefixArr, int len) {
+		if (arr.length != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (arr[i] != prefixArr[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sorted ids of all super types for every class.
+	 * Classes processed in topological order (parents first) to reuse already collected parents sets,
+	 * classes in hierarchy cycles processed by direct graph walk.
+	 */
+	private static int[][] collectAllSuperTypes(int[][] parents) {
+		int total = parents.length;
+		int[][] result = new int[total][];
+		int[] pendingParents = new int[total];
+		int[] childStart = new int[total + 1];
+		for (int id = 0; id < total; id++) {
+			pendingParents[id] = parents[id].length;
+			for (int p : parents[id]) {
+				childStart[p + 1]++;
+			}
+		}
+		for (int i = 0; i < total; i++) {
+			childStart[i + 1] += childStart[i];
+		}
+		int[] childList = new int[childStart[total]];
+		int[] fill = Arrays.copyOf(childStart, total);
+		for (int id = 0; id < total; id++) {
+			for (int p : parents[id]) {
+				childList[fill[p]++] = id;
+			}
+		}
+		int[] queue = new int[total];
+		int head = 0;
+		int tail = 0;
+		for (int id = 0; id < total; id++) {
+			if (pendingParents[id] == 0) {
+				queue[tail++] = id;
+			}
+		}
+		IntList buf = new IntList();
+		while (head < tail) {
+			int id = queue[head++];
+			buf.clear();
+			for (int p : parents[id]) {
+				buf.add(p);
+				buf.addAll(result[p]);
+			}
+			result[id] = buf.toSortedUniqueArray();
+			for (int i = childStart[id]; i < childStart[id + 1]; i++) {
+				int child = childList[i];
+				if (--pendingParents[child] == 0) {
+					queue[tail++] = child;
+				}
+			}
+		}
+		if (tail != total) {
+			int[] visitMark = new int[total];
+			int[] stack = new int[total];
+			int mark = 0;
+			for (int id = 0; id < total; id++) {
+				if (result[id] != null) {
+					continue;
+				}
+				mark++;
+				buf.clear();
+				int sp = 0;
+				stack[sp++] = id;
+				while (sp > 0) {
+					int node = stack[--sp];
+					for (int p : parents[node]) {
+						if (visitMark[p] == mark) {
+							continue;
+						}
+						visitMark[p] = mark;
+						buf.add(p);
+						int[] parentSuperTypes = result[p];
+						if (parentSuperTypes != null) {
+							buf.addAll(parentSuperTypes);
+						} else {
+							stack[sp++] = p;
+						}
+					}
+				}
+				result[id] = buf.toSortedUniqueArray();
+			}
+		}
+		return result;
+	}
+
+	private boolean isTreeAncestor(int ancestor, int id) {
+		int idPre = pre[id];
+		return pre[ancestor] < idPre && idPre <= subtreeEnd[ancestor];
+	}
+
+	/**
+	 * @return class id or -1 if class not present in index
+	 */
+	public int getId(String clsName) {
+		Integer id = idsMap.get(clsName);
+		return id == null ? -1 : id;
+	}
+
+	public String getName(int id) {
+		return names[id];
+	}
+
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @return true if {@code superId} is a super type of {@code id}
+	 */
+	public boolean isSubtype(int id, int superId) {
+		if (id < 0 || superId < 0) {
+			return false;
+		}
+		if (isTreeAncestor(superId, id)) {
+			return true;
+		}
+		int[] extra = extraSuperTypes[id];
+		return extra.length != 0 && Arrays.binarySearch(extra, superId) >= 0;
+	}
+
+	/**
+	 * @return ids of all super types (not sorted)
+	 */
+	public int[] getSuperTypes(int id) {
+		if (id < 0) {
+			return EMPTY_INTS;
+		}
+		int[] extra = extraSuperTypes[id];
+		int depth = 0;
+		for (int p = treeParent[id]; p != -1; p = treeParent[p]) {
+			depth++;
+		}
+		if (depth == 0) {
+			return extra;
+		}
+		int[] result = Arrays.copyOf(extra, extra.length + depth);
+		int k = extra.length;
+		for (int p = treeParent[id]; p != -1; p = treeParent[p]) {
+			result[k++] = p;
+		}
+		return result;
+	}
+
+	/**
+	 * @return ids of known classes with {@code id} in super types, sorted by class name
+	 */
+	public int[] getImplementations(int id) {
+		if (id < 0) {
+			return EMPTY_INTS;
+		}
+		int[] cached = implementationsCache.get(id);
+		if (cached != null) {
+			return cached;
+		}
+		IntList list = new IntList();
+		for (int n = pre[id] + 1, end = subtreeEnd[id]; n <= end; n++) {
+			list.add(byPre[n]);
+		}
+		for (int cls = 0; cls < knownCount; cls++) {
+			int[] extra = extraSuperTypes[cls];
+			if (extra.length != 0 && Arrays.binarySearch(extra, id) >= 0) {
+				list.add(cls);
+			}
+		}
+		// unknown classes don't have parents, so all ids already point to known classes
+		int[] result = list.toSortedUniqueArray();
+		implementationsCache.put(id, result);
+		return result;
+	}
+
+	private static final class IntList {
+		private int[] data = new int[16];
+		private int size;
+
+		void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+
+		void addAll(int[] values) {
+			int len = values.length;
+			if (size + len > data.length) {
+				data = Arrays.copyOf(data, Math.max(size * 2, size + len));
+			}
+			System.arraycopy(values, 0, data, size, len);
+			size += len;
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		int[] toSortedUniqueArray() {
+			if (size == 0) {
+				return EMPTY_INTS;
+			}
+			Arrays.sort(data, 0, size);
+			int k = 1;
+			for (int i = 1; i < size; i++) {
+				if (data[i] != data[k - 1]) {
+					data[k++] = data[i];
+				}
+			}
+			return Arrays.copyOf(data, k);
+		}
+	}
+}
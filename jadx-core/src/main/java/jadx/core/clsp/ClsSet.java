@@ -12,6 +12,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -54,7 +58,7 @@ public class ClsSet {
 
 	private static final String STRING_CHARSET = "US-ASCII";
 
-	private static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
+	static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
 
 	private final RootNode root;
 
@@ -62,7 +66,7 @@ public class ClsSet {
 		this.root = root;
 	}
 
-	private enum TypeEnum {
+	enum TypeEnum {
 		WILDCARD,
 		GENERIC,
 		GENERIC_TYPE_VARIABLE,
@@ -73,19 +77,48 @@ public class ClsSet {
 	}
 
 	private ClspClass[] classes;
+	/**
+	 * Set if classes loaded from snapshot format, in this case {@link #classes} not filled
+	 */
+	private ClsSnapshot snapshot;
 
 	public void loadFromClstFile() throws IOException, DecodeException {
 		long startTime = System.currentTimeMillis();
-		try (InputStream input = ClsSet.class.getResourceAsStream(CLST_PATH)) {
-			if (input == null) {
-				throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
+		File clstFile = getClstResourceFile();
+		if (clstFile != null) {
+			load(clstFile);
+		} else {
+			try (InputStream input = ClsSet.class.getResourceAsStream(CLST_PATH)) {
+				if (input == null) {
+					throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
+				}
+				load(input);
 			}
-			load(input);
 		}
 		if (LOG.isDebugEnabled()) {
 			long time = System.currentTimeMillis() - startTime;
-			int methodsCount = Stream.of(classes).mapToInt(clspClass -> clspClass.getMethodsMap().size()).sum();
-			LOG.debug("Clst file loaded in {}ms, classes: {}, methods: {}", time, classes.length, methodsCount);
+			if (snapshot != null) {
+				LOG.debug("Clst snapshot loaded in {}ms, classes: {}", time, snapshot.getClassesCount());
+			} else {
+				int methodsCount = Stream.of(classes).mapToInt(clspClass -> clspClass.getMethodsMap().size()).sum();
+				LOG.debug("Clst file loaded in {}ms, classes: {}, methods: {}", time, classes.length, methodsCount);
+			}
+		}
+	}
+
+	/**
+	 * Resource file can be mapped directly if not packed into jar/apk
+	 */
+	@Nullable
+	private static File getClstResourceFile() {
+		URL url = ClsSet.class.getResource(CLST_PATH);
+		if (url == null || !"file".equals(url.getProtocol())) {
+			return null;
+		}
+		try {
+			return new File(url.toURI());
+		} catch (Exception e) {
+			return null;
 		}
 	}
 
@@ -158,10 +191,6 @@ public class ClsSet {
 		return getCls(cls.getRawName(), names);
 	}
 
-	private static ClspClass getCls(ArgType clsType, Map<String, ClspClass> names) {
-		return getCls(clsType.getObject(), names);
-	}
-
 	private static ClspClass getCls(String fullName, Map<String, ClspClass> names) {
 		ClspClass cls = names.get(fullName);
 		if (cls == null) {
@@ -214,106 +243,32 @@ public class ClsSet {
 	private void save(OutputStream output) throws IOException {
 		DataOutputStream out = new DataOutputStream(output);
 		out.writeBytes(JADX_CLS_SET_HEADER);
-		out.writeByte(VERSION);
-
-		Map<String, ClspClass> names = new HashMap<>(classes.length);
-		out.writeInt(classes.length);
-		for (ClspClass cls : classes) {
-			String clsName = cls.getName();
-			writeString(out, clsName);
-			names.put(clsName, cls);
-		}
-		for (ClspClass cls : classes) {
-			writeArgTypesArray(out, cls.getParents(), names);
-			writeArgTypesList(out, cls.getTypeParameters(), names);
-			List<ClspMethod> methods = cls.getSortedMethodsList();
-			out.writeShort(methods.size());
-			for (ClspMethod method : methods) {
-				writeMethod(out, method, names);
-			}
-		}
-		int methodsCount = Stream.of(classes).mapToInt(c -> c.getMethodsMap().size()).sum();
-		LOG.info("Classes: {}, methods: {}, file size: {} bytes", classes.length, methodsCount, out.size());
+		out.writeByte(ClsSnapshot.VERSION);
+		ClspClass[] allClasses = getAllClasses();
+		ClsSnapshot.write(out, allClasses);
+		out.flush();
+		int methodsCount = Stream.of(allClasses).mapToInt(c -> c.getMethodsMap().size()).sum();
+		LOG.info("Classes: {}, methods: {}, file size: {} bytes", allClasses.length, methodsCount, out.size());
 	}
 
-	private static void writeMethod(DataOutputStream out, ClspMethod method, Map<String, ClspClass> names) throws IOException {
-		MethodInfo methodInfo = method.getMethodInfo();
-		writeString(out, methodInfo.getName());
-		writeArgTypesList(out, methodInfo.getArgumentsTypes(), names);
-		writeArgType(out, methodInfo.getReturnType(), names);
-
-		writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList(), names);
-		writeArgType(out, method.getReturnType(), names);
-		writeArgTypesList(out, method.getTypeParameters(), names);
-		out.writeInt(method.getRawAccessFlags());
-		writeArgTypesList(out, method.getThrows(), names);
-	}
-
-	private static void writeArgTypesList(DataOutputStream out, List<ArgType> list, Map<String, ClspClass> names) throws IOException {
-		int size = list.size();
-		writeUnsignedByte(out, size);
-		if (size != 0) {
-			for (ArgType type : list) {
-				writeArgType(out, type, names);
-			}
+	private ClspClass[] getAllClasses() {
+		if (classes != null) {
+			return classes;
 		}
-	}
-
-	private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr, Map<String, ClspClass> names) throws IOException {
-		if (arr == null) {
-			out.writeByte(-1);
-			return;
-		}
-		int size = arr.length;
-		out.writeByte(size);
-		if (size != 0) {
-			for (ArgType type : arr) {
-				writeArgType(out, type, names);
-			}
-		}
-	}
-
-	private static void writeArgType(DataOutputStream out, ArgType argType, Map<String, ClspClass> names) throws IOException {
-		if (argType == null) {
-			out.writeByte(-1);
-			return;
-		}
-		if (argType.isPrimitive()) {
-			out.writeByte(TypeEnum.PRIMITIVE.ordinal());
-			out.writeByte(argType.getPrimitiveType().getShortName().charAt(0));
-		} else if (argType.getOuterType() != null) {
-			out.writeByte(TypeEnum.OUTER_GENERIC.ordinal());
-			writeArgType(out, argType.getOuterType(), names);
-			writeArgType(out, argType.getInnerType(), names);
-		} else if (argType.getWildcardType() != null) {
-			out.writeByte(TypeEnum.WILDCARD.ordinal());
-			ArgType.WildcardBound bound = argType.getWildcardBound();
-			out.writeByte(bound.getNum());
-			if (bound != ArgType.WildcardBound.UNBOUND) {
-				writeArgType(out, argType.getWildcardType(), names);
-			}
-		} else if (argType.isGeneric()) {
-			out.writeByte(TypeEnum.GENERIC.ordinal());
-			out.writeInt(getCls(argType, names).getId());
-			writeArgTypesList(out, argType.getGenericTypes(), names);
-		} else if (argType.isGenericType()) {
-			out.writeByte(TypeEnum.GENERIC_TYPE_VARIABLE.ordinal());
-			writeString(out, argType.getObject());
-			writeArgTypesList(out, argType.getExtendTypes(), names);
-		} else if (argType.isObject()) {
-			out.writeByte(TypeEnum.OBJECT.ordinal());
-			out.writeInt(getCls(argType, names).getId());
-		} else if (argType.isArray()) {
-			out.writeByte(TypeEnum.ARRAY.ordinal());
-			writeArgType(out, argType.getArrayElement(), names);
-		} else {
-			throw new JadxRuntimeException("Cannot save type: " + argType);
+		int count = snapshot.getClassesCount();
+		ClspClass[] arr = new ClspClass[count];
+		for (int i = 0; i < count; i++) {
+			arr[i] = snapshot.loadClass(i);
 		}
+		return arr;
 	}
 
-	private void load(File input) throws IOException, DecodeException {
+	public void load(File input) throws IOException, DecodeException {
 		String name = input.getName();
 		if (name.endsWith(CLST_EXTENSION)) {
+			if (loadMapped(input)) {
+				return;
+			}
 			try (InputStream inputStream = new FileInputStream(input)) {
 				load(inputStream);
 			}
@@ -332,15 +287,48 @@ public class ClsSet {
 		}
 	}
 
+	/**
+	 * Map file into memory and use it as snapshot data without copy
+	 *
+	 * @return false if file not in snapshot format
+	 */
+	private boolean loadMapped(File input) throws IOException, DecodeException {
+		try (RandomAccessFile file = new RandomAccessFile(input, "r");
+				FileChannel channel = file.getChannel()) {
+			ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
+			if (buf.remaining() <= header.length) {
+				throw new DecodeException("Wrong jadx class set header");
+			}
+			buf.get(header);
+			int version = buf.get();
+			checkHeader(header, header.length, version);
+			if (version != ClsSnapshot.VERSION) {
+				return false;
+			}
+			// mapping stays valid after channel close
+			snapshot = ClsSnapshot.read(root, buf.slice());
+			return true;
+		}
+	}
+
+	private static void checkHeader(byte[] header, int readHeaderLength, int version) throws IOException, DecodeException {
+		if (readHeaderLength != JADX_CLS_SET_HEADER.length()
+				|| !JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))
+				|| (version != VERSION && version != ClsSnapshot.VERSION)) {
+			throw new DecodeException("Wrong jadx class set header");
+		}
+	}
+
 	private void load(InputStream input) throws IOException, DecodeException {
 		try (DataInputStream in = new DataInputStream(new BufferedInputStream(input))) {
 			byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
 			int readHeaderLength = in.read(header);
 			int version = in.readByte();
-			if (readHeaderLength != JADX_CLS_SET_HEADER.length()
-					|| !JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))
-					|| version != VERSION) {
-				throw new DecodeException("Wrong jadx class set header");
+			checkHeader(header, readHeaderLength, version);
+			if (version == ClsSnapshot.VERSION) {
+				snapshot = ClsSnapshot.read(root, ByteBuffer.wrap(FileUtils.streamToByteArray(in)));
+				return;
 			}
 			int clsCount = in.readInt();
 			classes = new ClspClass[clsCount];
@@ -462,16 +450,6 @@ public class ClsSet {
 		}
 	}
 
-	private static void writeString(DataOutputStream out, String name) throws IOException {
-		byte[] bytes = name.getBytes(STRING_CHARSET);
-		int len = bytes.length;
-		if (len >= 0xFF) {
-			throw new JadxRuntimeException("String is too long: " + name);
-		}
-		writeUnsignedByte(out, bytes.length);
-		out.write(bytes);
-	}
-
 	private static String readString(DataInputStream in) throws IOException {
 		int len = readUnsignedByte(in);
 		return readString(in, len);
@@ -491,22 +469,29 @@ public class ClsSet {
 		return new String(bytes, STRING_CHARSET);
 	}
 
-	private static void writeUnsignedByte(DataOutputStream out, int value) throws IOException {
-		if (value < 0 || value >= 0xFF) {
-			throw new JadxRuntimeException("Unsigned byte value is too big: " + value);
-		}
-		out.writeByte(value);
-	}
-
 	private static int readUnsignedByte(DataInputStream in) throws IOException {
 		return ((int) in.readByte()) & 0xFF;
 	}
 
 	public int getClassesCount() {
-		return classes.length;
+		return snapshot != null ? snapshot.getClassesCount() : classes.length;
 	}
 
+	/**
+	 * @return snapshot for lazy classes loading, null if classes loaded eagerly
+	 */
+	@Nullable
+	public ClsSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Add eagerly loaded classes, nothing added in snapshot mode (see {@link #getSnapshot()})
+	 */
 	public void addToMap(Map<String, ClspClass> nameMap) {
+		if (classes == null) {
+			return;
+		}
 		for (ClspClass cls : classes) {
 			nameMap.put(cls.getName(), cls);
 		}
@@ -0,0 +1,420 @@
+package jadx.core.clsp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.clsp.ClsSet.TypeEnum;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Classpath snapshot: binary classes set format with random access,
+ * classes details decoded on first request.
+ * <br>
+ * Data layout (all offsets relative to data start, big-endian):
+ * <pre>
+ * int      strings count
+ * int[]    strings offsets
+ * int      classes count
+ * int[][2] classes index, sorted by class name: name string index, class data offset
+ * ...      classes data: raw parents names, parents types, type parameters, methods
+ * ...      strings data: unsigned byte length + ASCII bytes
+ * </pre>
+ * Class names and types references stored as strings indexes,
+ * so data can be used directly from memory mapped file.
+ */
+public final class ClsSnapshot {
+	static final int VERSION = 4;
+
+	private static final String[] EMPTY_STRINGS = new String[0];
+
+	private static final TypeEnum[] TYPE_ENUM_VALUES = TypeEnum.values();
+
+	private final RootNode root;
+	private final ByteBuffer data;
+	/**
+	 * Decoded strings cache, filled on first use (race is harmless)
+	 */
+	private final String[] strings;
+	/**
+	 * Sorted classes names
+	 */
+	private final String[] clsNames;
+	private final int[] clsDataOffsets;
+
+	private ClsSnapshot(RootNode root, ByteBuffer data) throws DecodeException {
+		this.root = root;
+		this.data = data;
+		try {
+			int stringsCount = data.getInt(0);
+			this.strings = new String[stringsCount];
+			int clsIndexStart = 4 + stringsCount * 4;
+			int clsCount = data.getInt(clsIndexStart);
+			this.clsNames = new String[clsCount];
+			this.clsDataOffsets = new int[clsCount];
+			int pos = clsIndexStart + 4;
+			for (int i = 0; i < clsCount; i++) {
+				clsNames[i] = getString(data.getInt(pos));
+				clsDataOffsets[i] = data.getInt(pos + 4);
+				pos += 8;
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw new DecodeException("Corrupted jadx class set data", e);
+		}
+	}
+
+	/**
+	 * @param data snapshot data, can be mapped file (not modified and accessed only by absolute position)
+	 */
+	public static ClsSnapshot read(RootNode root, ByteBuffer data) throws DecodeException {
+		return new ClsSnapshot(root, data);
+	}
+
+	public int getClassesCount() {
+		return clsNames.length;
+	}
+
+	public String getClassName(int clsIdx) {
+		return clsNames[clsIdx];
+	}
+
+	/**
+	 * @return class index or -1 if not found
+	 */
+	public int findClass(String clsName) {
+		int idx = Arrays.binarySearch(clsNames, clsName);
+		return idx >= 0 ? idx : -1;
+	}
+
+	/**
+	 * Parents names without types decoding, used for build classes hierarchy
+	 */
+	public String[] getParentNames(int clsIdx) {
+		int pos = clsDataOffsets[clsIdx];
+		int count = data.get(pos) & 0xFF;
+		if (count == 0) {
+			return EMPTY_STRINGS;
+		}
+		String[] arr = new String[count];
+		for (int i = 0; i < count; i++) {
+			arr[i] = getString(data.getInt(pos + 1 + i * 4));
+		}
+		return arr;
+	}
+
+	/**
+	 * Decode full class details, result not cached
+	 */
+	public ClspClass loadClass(int clsIdx) {
+		ByteBuffer in = data.duplicate();
+		int pos = clsDataOffsets[clsIdx];
+		int rawParentsCount = data.get(pos) & 0xFF;
+		in.position(pos + 1 + rawParentsCount * 4);
+
+		ClspClass cls = new ClspClass(ArgType.object(clsNames[clsIdx]), clsIdx);
+		ClassInfo clsInfo = ClassInfo.fromType(root, cls.getClsType());
+		cls.setParents(readArgTypesArray(in));
+		cls.setTypeParameters(readArgTypesList(in));
+		int mCount = in.getShort() & 0xFFFF;
+		List<ClspMethod> methods = new ArrayList<>(mCount);
+		for (int i = 0; i < mCount; i++) {
+			methods.add(readMethod(in, clsInfo));
+		}
+		cls.setMethods(methods);
+		return cls;
+	}
+
+	private ClspMethod readMethod(ByteBuffer in, ClassInfo clsInfo) {
+		String name = getString(in.getInt());
+		List<ArgType> argTypes = readArgTypesList(in);
+		ArgType retType = readArgType(in);
+		List<ArgType> genericArgTypes = readArgTypesList(in);
+		if (genericArgTypes.isEmpty() || Objects.equals(genericArgTypes, argTypes)) {
+			genericArgTypes = argTypes;
+		}
+		ArgType genericRetType = readArgType(in);
+		if (Objects.equals(genericRetType, retType)) {
+			genericRetType = retType;
+		}
+		List<ArgType> typeParameters = readArgTypesList(in);
+		int accFlags = in.getInt();
+		List<ArgType> throwList = readArgTypesList(in);
+		MethodInfo methodInfo = MethodInfo.fromDetails(root, clsInfo, name, argTypes, retType);
+		return new ClspMethod(methodInfo, genericArgTypes, genericRetType, typeParameters, throwList, accFlags);
+	}
+
+	private List<ArgType> readArgTypesList(ByteBuffer in) {
+		int count = in.get() & 0xFF;
+		if (count == 0) {
+			return Collections.emptyList();
+		}
+		List<ArgType> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(readArgType(in));
+		}
+		return list;
+	}
+
+	@Nullable
+	private ArgType[] readArgTypesArray(ByteBuffer in) {
+		int count = in.get();
+		if (count == -1) {
+			return null;
+		}
+		if (count == 0) {
+			return ClsSet.EMPTY_ARGTYPE_ARRAY;
+		}
+		ArgType[] arr = new ArgType[count];
+		for (int i = 0; i < count; i++) {
+			arr[i] = readArgType(in);
+		}
+		return arr;
+	}
+
+	private ArgType readArgType(ByteBuffer in) {
+		int ordinal = in.get();
+		if (ordinal == -1) {
+			return null;
+		}
+		if (ordinal < 0 || ordinal >= TYPE_ENUM_VALUES.length) {
+			throw new JadxRuntimeException("Incorrect ordinal for type enum: " + ordinal);
+		}
+		switch (TYPE_ENUM_VALUES[ordinal]) {
+			case WILDCARD:
+				ArgType.WildcardBound bound = ArgType.WildcardBound.getByNum(in.get());
+				if (bound == ArgType.WildcardBound.UNBOUND) {
+					return ArgType.WILDCARD;
+				}
+				return ArgType.wildcard(readArgType(in), bound);
+
+			case OUTER_GENERIC:
+				ArgType outerType = readArgType(in);
+				ArgType innerType = readArgType(in);
+				return ArgType.outerGeneric(outerType, innerType);
+
+			case GENERIC:
+				ArgType clsType = ArgType.object(getString(in.getInt()));
+				return ArgType.generic(clsType, readArgTypesList(in));
+
+			case GENERIC_TYPE_VARIABLE:
+				String typeVar = getString(in.getInt());
+				return ArgType.genericType(typeVar, readArgTypesList(in));
+
+			case OBJECT:
+				return ArgType.object(getString(in.getInt()));
+
+			case ARRAY:
+				return ArgType.array(readArgType(in));
+
+			case PRIMITIVE:
+				return ArgType.parse((char) in.get());
+
+			default:
+				throw new JadxRuntimeException("Unsupported Arg Type: " + ordinal);
+		}
+	}
+
+	private String getString(int idx) {
+		String str = strings[idx];
+		if (str == null) {
+			int pos = data.getInt(4 + idx * 4);
+			int len = data.get(pos) & 0xFF;
+			byte[] bytes = new byte[len];
+			for (int i = 0; i < len; i++) {
+				bytes[i] = data.get(pos + 1 + i);
+			}
+			str = new String(bytes, StandardCharsets.US_ASCII);
+			strings[idx] = str;
+		}
+		return str;
+	}
+
+	/**
+	 * Write snapshot data for provided classes
+	 */
+	public static void write(DataOutputStream out, ClspClass[] classes) throws IOException {
+		new Writer().write(out, classes);
+	}
+
+	private static final class Writer {
+		private final Map<String, Integer> stringsMap = new HashMap<>();
+		private final List<String> stringsList = new ArrayList<>();
+
+		void write(DataOutputStream out, ClspClass[] classes) throws IOException {
+			ClspClass[] sorted = classes.clone();
+			Arrays.sort(sorted, Comparator.comparing(ClspClass::getName));
+			int clsCount = sorted.length;
+			int[] nameIdx = new int[clsCount];
+			for (int i = 0; i < clsCount; i++) {
+				nameIdx[i] = addString(sorted[i].getName());
+			}
+			ByteArrayOutputStream clsBytes = new ByteArrayOutputStream();
+			DataOutputStream clsOut = new DataOutputStream(clsBytes);
+			int[] clsOffsets = new int[clsCount];
+			for (int i = 0; i < clsCount; i++) {
+				clsOffsets[i] = clsOut.size();
+				writeClass(clsOut, sorted[i]);
+			}
+			clsOut.flush();
+			int stringsCount = stringsList.size();
+			int clsDataStart = 4 + stringsCount * 4 + 4 + clsCount * 8;
+			int stringsDataStart = clsDataStart + clsOut.size();
+
+			out.writeInt(stringsCount);
+			int strOffset = stringsDataStart;
+			List<byte[]> stringsBytes = new ArrayList<>(stringsCount);
+			for (String str : stringsList) {
+				byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+				if (bytes.length >= 0xFF) {
+					throw new JadxRuntimeException("String is too long: " + str);
+				}
+				stringsBytes.add(bytes);
+				out.writeInt(strOffset);
+				strOffset += 1 + bytes.length;
+			}
+			out.writeInt(clsCount);
+			for (int i = 0; i < clsCount; i++) {
+				out.writeInt(nameIdx[i]);
+				out.writeInt(clsDataStart + clsOffsets[i]);
+			}
+			clsBytes.writeTo(out);
+			for (byte[] bytes : stringsBytes) {
+				out.writeByte(bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		private void writeClass(DataOutputStream out, ClspClass cls) throws IOException {
+			ArgType[] parents = cls.getParents();
+			List<String> parentNames = new ArrayList<>();
+			if (parents != null) {
+				for (ArgType parent : parents) {
+					if (parent != null) {
+						parentNames.add(parent.getObject());
+					}
+				}
+			}
+			writeUnsignedByte(out, parentNames.size());
+			for (String parentName : parentNames) {
+				out.writeInt(addString(parentName));
+			}
+			writeArgTypesArray(out, parents);
+			writeArgTypesList(out, cls.getTypeParameters());
+			List<ClspMethod> methods = cls.getSortedMethodsList();
+			if (methods.size() > 0xFFFF) {
+				throw new JadxRuntimeException("Too many methods in class: " + cls.getName());
+			}
+			out.writeShort(methods.size());
+			for (ClspMethod method : methods) {
+				writeMethod(out, method);
+			}
+		}
+
+		private void writeMethod(DataOutputStream out, ClspMethod method) throws IOException {
+			MethodInfo methodInfo = method.getMethodInfo();
+			out.writeInt(addString(methodInfo.getName()));
+			writeArgTypesList(out, methodInfo.getArgumentsTypes());
+			writeArgType(out, methodInfo.getReturnType());
+
+			writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList());
+			writeArgType(out, method.getReturnType());
+			writeArgTypesList(out, method.getTypeParameters());
+			out.writeInt(method.getRawAccessFlags());
+			writeArgTypesList(out, method.getThrows());
+		}
+
+		private void writeArgTypesList(DataOutputStream out, List<ArgType> list) throws IOException {
+			writeUnsignedByte(out, list.size());
+			for (ArgType type : list) {
+				writeArgType(out, type);
+			}
+		}
+
+		private void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr) throws IOException {
+			if (arr == null) {
+				out.writeByte(-1);
+				return;
+			}
+			if (arr.length >= 0x7F) {
+				throw new JadxRuntimeException("Too many parents: " + arr.length);
+			}
+			out.writeByte(arr.length);
+			for (ArgType type : arr) {
+				writeArgType(out, type);
+			}
+		}
+
+		private void writeArgType(DataOutputStream out, @Nullable ArgType argType) throws IOException {
+			if (argType == null) {
+				out.writeByte(-1);
+				return;
+			}
+			if (argType.isPrimitive()) {
+				out.writeByte(TypeEnum.PRIMITIVE.ordinal());
+				out.writeByte(argType.getPrimitiveType().getShortName().charAt(0));
+			} else if (argType.getOuterType() != null) {
+				out.writeByte(TypeEnum.OUTER_GENERIC.ordinal());
+				writeArgType(out, argType.getOuterType());
+				writeArgType(out, argType.getInnerType());
+			} else if (argType.getWildcardType() != null) {
+				out.writeByte(TypeEnum.WILDCARD.ordinal());
+				ArgType.WildcardBound bound = argType.getWildcardBound();
+				out.writeByte(bound.getNum());
+				if (bound != ArgType.WildcardBound.UNBOUND) {
+					writeArgType(out, argType.getWildcardType());
+				}
+			} else if (argType.isGeneric()) {
+				out.writeByte(TypeEnum.GENERIC.ordinal());
+				out.writeInt(addString(argType.getObject()));
+				writeArgTypesList(out, argType.getGenericTypes());
+			} else if (argType.isGenericType()) {
+				out.writeByte(TypeEnum.GENERIC_TYPE_VARIABLE.ordinal());
+				out.writeInt(addString(argType.getObject()));
+				writeArgTypesList(out, argType.getExtendTypes());
+			} else if (argType.isObject()) {
+				out.writeByte(TypeEnum.OBJECT.ordinal());
+				out.writeInt(addString(argType.getObject()));
+			} else if (argType.isArray()) {
+				out.writeByte(TypeEnum.ARRAY.ordinal());
+				writeArgType(out, argType.getArrayElement());
+			} else {
+				throw new JadxRuntimeException("Cannot save type: " + argType);
+			}
+		}
+
+		private int addString(String str) {
+			Integer idx = stringsMap.get(str);
+			if (idx != null) {
+				return idx;
+			}
+			int newIdx = stringsList.size();
+			stringsList.add(str);
+			stringsMap.put(str, newIdx);
+			return newIdx;
+		}
+
+		private static void writeUnsignedByte(DataOutputStream out, int value) throws IOException {
+			if (value < 0 || value >= 0xFF) {
+				throw new JadxRuntimeException("Unsigned byte value is too big: " + value);
+			}
+			out.writeByte(value);
+		}
+	}
+}
@@ -3,11 +3,11 @@ package jadx.core.clsp;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -28,9 +28,15 @@ public class ClspGraph {
 	private static final Logger LOG = LoggerFactory.getLogger(ClspGraph.class);
 
 	private final RootNode root;
+	/**
+	 * App classes and already loaded classpath classes
+	 */
 	private Map<String, ClspClass> nameMap;
-	private Map<String, Set<String>> superTypesCache;
-	private Map<String, List<String>> implementsCache;
+	/**
+	 * Classpath classes not yet added into {@link #nameMap} (null if all classes loaded eagerly)
+	 */
+	private @Nullable ClsSnapshot snapshot;
+	private ClassHierarchyIndex hierarchy;
 
 	private final Set<String> missingClasses = new HashSet<>();
 
@@ -46,7 +52,8 @@ public class ClspGraph {
 
 	public void addClasspath(ClsSet set) {
 		if (nameMap == null) {
-			nameMap = new HashMap<>(set.getClassesCount());
+			snapshot = set.getSnapshot();
+			nameMap = new ConcurrentHashMap<>(snapshot == null ? set.getClassesCount() : 16);
 			set.addToMap(nameMap);
 		} else {
 			throw new JadxRuntimeException("Classpath already loaded");
@@ -63,21 +70,39 @@ public class ClspGraph {
 	}
 
 	public void initCache() {
-		fillSuperTypesCache();
-		fillImplementsCache();
+		hierarchy = new ClassHierarchyIndex(nameMap, snapshot, missingClasses);
 	}
 
 	public boolean isClsKnown(String fullName) {
-		return nameMap.containsKey(fullName);
+		return nameMap.containsKey(fullName)
+				|| snapshot != null && snapshot.findClass(fullName) != -1;
 	}
 
 	public ClspClass getClsDetails(ArgType type) {
-		return nameMap.get(type.getObject());
+		return getCls(type.getObject());
+	}
+
+	/**
+	 * Get class details, classpath class decoded from snapshot on first request
+	 */
+	@Nullable
+	private ClspClass getCls(String fullName) {
+		ClspClass cls = nameMap.get(fullName);
+		if (cls != null || snapshot == null) {
+			return cls;
+		}
+		int clsIdx = snapshot.findClass(fullName);
+		if (clsIdx == -1) {
+			return null;
+		}
+		ClspClass loadedCls = snapshot.loadClass(clsIdx);
+		ClspClass prevCls = nameMap.putIfAbsent(fullName, loadedCls);
+		return prevCls != null ? prevCls : loadedCls;
 	}
 
 	@Nullable
 	public IMethodDetails getMethodDetails(MethodInfo methodInfo) {
-		ClspClass cls = nameMap.get(methodInfo.getDeclClass().getRawName());
+		ClspClass cls = getCls(methodInfo.getDeclClass().getRawName());
 		if (cls == null) {
 			return null;
 		}
@@ -115,52 +140,81 @@ public class ClspGraph {
 	 * @return {@code clsName} instanceof {@code implClsName}
 	 */
 	public boolean isImplements(String clsName, String implClsName) {
-		Set<String> anc = getSuperTypes(clsName);
-		return anc.contains(implClsName);
+		return hierarchy.isSubtype(hierarchy.getId(clsName), hierarchy.getId(implClsName));
 	}
 
-	public List<String> getImplementations(String clsName) {
-		List<String> list = implementsCache.get(clsName);
-		return list == null ? Collections.emptyList() : list;
+	/**
+	 * Class id in hierarchy index, used in int based methods below.
+	 * Ids also assigned to unknown classes used as parents.
+	 *
+	 * @return class id or -1 if class not found
+	 */
+	public int getClsId(String clsName) {
+		return hierarchy.getId(clsName);
 	}
 
-	private void fillImplementsCache() {
-		Map<String, List<String>> map = new HashMap<>(nameMap.size());
-		List<String> classes = new ArrayList<>(nameMap.keySet());
-		Collections.sort(classes);
-		for (String cls : classes) {
-			for (String st : getSuperTypes(cls)) {
-				map.computeIfAbsent(st, v -> new ArrayList<>()).add(cls);
-			}
+	public String getClsName(int clsId) {
+		return hierarchy.getName(clsId);
+	}
+
+	/**
+	 * @return class with {@code clsId} instanceof class with {@code implClsId}
+	 */
+	public boolean isImplements(int clsId, int implClsId) {
+		return hierarchy.isSubtype(clsId, implClsId);
+	}
+
+	/**
+	 * @return ids of all super types
+	 */
+	public int[] getSuperTypeIds(int clsId) {
+		return hierarchy.getSuperTypes(clsId);
+	}
+
+	/**
+	 * @return ids of all known subtypes sorted by name
+	 */
+	public int[] getImplementationIds(int clsId) {
+		return hierarchy.getImplementations(clsId);
+	}
+
+	public List<String> getImplementations(String clsName) {
+		int[] ids = hierarchy.getImplementations(hierarchy.getId(clsName));
+		if (ids.length == 0) {
+			return Collections.emptyList();
+		}
+		List<String> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			list.add(hierarchy.getName(id));
 		}
-		implementsCache = map;
+		return list;
 	}
 
 	public String getCommonAncestor(String clsName, String implClsName) {
 		if (clsName.equals(implClsName)) {
 			return clsName;
 		}
-		ClspClass cls = nameMap.get(implClsName);
+		ClspClass cls = getCls(implClsName);
 		if (cls == null) {
 			missingClasses.add(clsName);
 			return null;
 		}
-		if (isImplements(clsName, implClsName)) {
+		int clsId = hierarchy.getId(clsName);
+		if (isImplements(clsId, hierarchy.getId(implClsName))) {
 			return implClsName;
 		}
-		Set<String> anc = getSuperTypes(clsName);
-		return searchCommonParent(anc, cls);
+		return searchCommonParent(clsId, cls);
 	}
 
-	private String searchCommonParent(Set<String> anc, ClspClass cls) {
+	private String searchCommonParent(int clsId, ClspClass cls) {
 		for (ArgType p : cls.getParents()) {
 			String name = p.getObject();
-			if (anc.contains(name)) {
+			if (isImplements(clsId, hierarchy.getId(name))) {
 				return name;
 			}
 			ClspClass nCls = getClspClass(p);
 			if (nCls != null) {
-				String r = searchCommonParent(anc, nCls);
+				String r = searchCommonParent(clsId, nCls);
 				if (r != null) {
 					return r;
 				}
@@ -169,50 +223,24 @@ public class ClspGraph {
 		return null;
 	}
 
+	/**
+	 * Collect all super types names, prefer {@link #getSuperTypeIds(int)} if names not needed.
+	 */
 	public Set<String> getSuperTypes(String clsName) {
-		Set<String> result = superTypesCache.get(clsName);
-		return result == null ? Collections.emptySet() : result;
-	}
-
-	private void fillSuperTypesCache() {
-		Map<String, Set<String>> map = new HashMap<>(nameMap.size());
-		Set<String> tmpSet = new HashSet<>();
-		for (Map.Entry<String, ClspClass> entry : nameMap.entrySet()) {
-			ClspClass cls = entry.getValue();
-			tmpSet.clear();
-			addSuperTypes(cls, tmpSet);
-			Set<String> result;
-			if (tmpSet.isEmpty()) {
-				result = Collections.emptySet();
-			} else {
-				result = new HashSet<>(tmpSet);
-			}
-			map.put(cls.getName(), result);
+		int[] ids = hierarchy.getSuperTypes(hierarchy.getId(clsName));
+		if (ids.length == 0) {
+			return Collections.emptySet();
 		}
-		superTypesCache = map;
-	}
-
-	private void addSuperTypes(ClspClass cls, Set<String> result) {
-		for (ArgType parentType : cls.getParents()) {
-			if (parentType == null) {
-				continue;
-			}
-			ClspClass parentCls = getClspClass(parentType);
-			if (parentCls != null) {
-				boolean isNew = result.add(parentCls.getName());
-				if (isNew) {
-					addSuperTypes(parentCls, result);
-				}
-			} else {
-				// parent type is unknown
-				result.add(parentType.getObject());
-			}
+		List<String> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			list.add(hierarchy.getName(id));
 		}
+		return new HashSet<>(list);
 	}
 
 	@Nullable
 	private ClspClass getClspClass(ArgType clsType) {
-		ClspClass clspClass = nameMap.get(clsType.getObject());
+		ClspClass clspClass = getCls(clsType.getObject());
 		if (clspClass == null) {
 			missingClasses.add(clsType.getObject());
 		}
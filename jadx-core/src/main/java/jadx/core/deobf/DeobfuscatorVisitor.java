@@ -1,5 +1,7 @@
 package jadx.core.deobf;
 
+import java.util.List;
+
 import jadx.api.JadxArgs;
 import jadx.api.deobf.IAliasProvider;
 import jadx.api.deobf.IRenameCondition;
@@ -9,9 +11,15 @@ import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.PackageNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IAppWidePass;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.exceptions.JadxException;
 
-public class DeobfuscatorVisitor extends AbstractVisitor {
+@JadxVisitor(
+		name = "DeobfuscatorVisitor",
+		desc = "Rename obfuscated nodes (all work done in init)"
+)
+public class DeobfuscatorVisitor extends AbstractVisitor implements IAppWidePass {
 
 	@Override
 	public void init(RootNode root) throws JadxException {
@@ -72,6 +80,11 @@ public class DeobfuscatorVisitor extends AbstractVisitor {
 		}
 	}
 
+	@Override
+	public void processNewClasses(RootNode root, List<ClassNode> classes) {
+		// all classes already processed in init
+	}
+
 	@Override
 	public String getName() {
 		return "DeobfuscatorVisitor";
@@ -1,6 +1,7 @@
 package jadx.core.deobf;
 
 import java.io.File;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,11 +9,18 @@ import org.slf4j.LoggerFactory;
 import jadx.api.JadxArgs;
 import jadx.api.args.GeneratedRenamesMappingFileMode;
 import jadx.core.codegen.json.JsonMappingGen;
+import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IAppWidePass;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.exceptions.JadxException;
 
-public class SaveDeobfMapping extends AbstractVisitor {
+@JadxVisitor(
+		name = "SaveDeobfMapping",
+		desc = "Save generated names mapping (all work done in init)"
+)
+public class SaveDeobfMapping extends AbstractVisitor implements IAppWidePass {
 	private static final Logger LOG = LoggerFactory.getLogger(SaveDeobfMapping.class);
 
 	@Override
@@ -45,6 +53,11 @@ public class SaveDeobfMapping extends AbstractVisitor {
 		}
 	}
 
+	@Override
+	public void processNewClasses(RootNode root, List<ClassNode> classes) {
+		// mapping saved once for whole app
+	}
+
 	@Override
 	public String getName() {
 		return "SaveDeobfMapping";
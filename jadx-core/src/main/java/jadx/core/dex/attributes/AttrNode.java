@@ -14,11 +14,16 @@ public abstract class AttrNode implements IAttributeNode {
 
 	private static final AttributeStorage EMPTY_ATTR_STORAGE = new EmptyAttrStorage();
 
+	/**
+	 * Flags stored directly in node as bit set (see {@link AttributeStorage#flagBit(AFlag)}),
+	 * storage allocated only for attributes
+	 */
+	private long flags;
 	private AttributeStorage storage = EMPTY_ATTR_STORAGE;
 
 	@Override
 	public void add(AFlag flag) {
-		initStorage().add(flag);
+		flags |= AttributeStorage.flagBit(flag);
 		if (Consts.DEBUG_ATTRIBUTES) {
 			addDebugComment("Add flag " + flag + " at " + Utils.currentStackTrace(2));
 		}
@@ -53,6 +58,7 @@ public abstract class AttrNode implements IAttributeNode {
 
 	@Override
 	public void copyAttributesFrom(AttrNode attrNode) {
+		flags |= attrNode.flags;
 		AttributeStorage copyFrom = attrNode.storage;
 		if (!copyFrom.isEmpty()) {
 			initStorage().addAll(copyFrom);
@@ -93,7 +99,7 @@ public abstract class AttrNode implements IAttributeNode {
 
 	@Override
 	public boolean contains(AFlag flag) {
-		return storage.contains(flag);
+		return (flags & AttributeStorage.flagBit(flag)) != 0;
 	}
 
 	@Override
@@ -118,8 +124,7 @@ public abstract class AttrNode implements IAttributeNode {
 
 	@Override
 	public void remove(AFlag flag) {
-		storage.remove(flag);
-		unloadIfEmpty();
+		flags &= ~AttributeStorage.flagBit(flag);
 	}
 
 	@Override
@@ -136,6 +141,7 @@ public abstract class AttrNode implements IAttributeNode {
 
 	@Override
 	public void clearAttributes() {
+		flags = 0;
 		storage.clear();
 		unloadIfEmpty();
 	}
@@ -153,17 +159,17 @@ public abstract class AttrNode implements IAttributeNode {
 
 	@Override
 	public List<String> getAttributesStringsList() {
-		return storage.getAttributeStrings();
+		return AttributeStorage.buildAttributeStrings(flags, storage);
 	}
 
 	@Override
 	public String getAttributesString() {
-		return storage.toString();
+		return AttributeStorage.attributesToString(getAttributesStringsList());
 	}
 
 	@Override
 	public boolean isAttrStorageEmpty() {
-		return storage.isEmpty();
+		return flags == 0 && storage.isEmpty();
 	}
 
 	private void addDebugComment(String msg) {
@@ -1,12 +1,13 @@
 package jadx.core.dex.attributes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
 
 import jadx.api.plugins.input.data.annotations.IAnnotation;
 import jadx.api.plugins.input.data.attributes.IJadxAttrType;
@@ -18,43 +19,70 @@ import jadx.core.utils.exceptions.JadxRuntimeException;
 
 /**
  * Storage for different attribute types:
- * 1. flags - boolean attribute (set or not)
+ * 1. flags - boolean attribute (set or not), stored as bits in one long
  * 2. attribute - class instance associated with attribute type.
+ * <br>
+ * Usually node contains only few attributes, so they stored in small array with linear search,
+ * array replaced by map only if attributes count exceed {@link #MAX_INLINE_ATTRIBUTES}.
  */
 public class AttributeStorage {
 
 	static {
 		int flagsCount = AFlag.values().length;
 		if (flagsCount >= 64) {
-			throw new JadxRuntimeException("Try to reduce flags count to 64 for use one long in EnumSet, now " + flagsCount);
+			throw new JadxRuntimeException("Try to reduce flags count to 64 for use one long as bit set, now " + flagsCount);
 		}
 	}
 
-	private final Set<AFlag> flags;
-	private Map<IJadxAttrType<?>, IJadxAttribute> attributes;
+	private static final int MAX_INLINE_ATTRIBUTES = 8;
+	private static final IJadxAttribute[] EMPTY_ATTRIBUTES = new IJadxAttribute[0];
+	private static final AFlag[] FLAGS = AFlag.values();
+
+	private long flags;
+	private IJadxAttribute[] attrArr = EMPTY_ATTRIBUTES;
+	private int attrCount;
+	private @Nullable Map<IJadxAttrType<?>, IJadxAttribute> attrMap;
 
 	public AttributeStorage() {
-		flags = EnumSet.noneOf(AFlag.class);
-		attributes = Collections.emptyMap();
 	}
 
 	public AttributeStorage(List<IJadxAttribute> attributesList) {
-		this();
 		add(attributesList);
 	}
 
+	public static long flagBit(AFlag flag) {
+		return 1L << flag.ordinal();
+	}
+
 	public void add(AFlag flag) {
-		flags.add(flag);
+		flags |= flagBit(flag);
 	}
 
 	public void add(IJadxAttribute attr) {
-		writeAttributes().put(attr.getAttrType(), attr);
+		IJadxAttrType<?> type = attr.getAttrType();
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		if (map != null) {
+			map.put(type, attr);
+			return;
+		}
+		int idx = indexOf(type);
+		if (idx != -1) {
+			attrArr[idx] = attr;
+			return;
+		}
+		if (attrCount == MAX_INLINE_ATTRIBUTES) {
+			promoteToMap().put(type, attr);
+			return;
+		}
+		if (attrCount == attrArr.length) {
+			attrArr = Arrays.copyOf(attrArr, attrCount == 0 ? 2 : Math.min(attrCount * 2, MAX_INLINE_ATTRIBUTES));
+		}
+		attrArr[attrCount++] = attr;
 	}
 
 	public void add(List<IJadxAttribute> list) {
-		Map<IJadxAttrType<?>, IJadxAttribute> map = writeAttributes();
 		for (IJadxAttribute attr : list) {
-			map.put(attr.getAttrType(), attr);
+			add(attr);
 		}
 	}
 
@@ -68,21 +96,39 @@ public class AttributeStorage {
 	}
 
 	public void addAll(AttributeStorage otherList) {
-		flags.addAll(otherList.flags);
-		writeAttributes().putAll(otherList.attributes);
+		flags |= otherList.flags;
+		Map<IJadxAttrType<?>, IJadxAttribute> otherMap = otherList.attrMap;
+		if (otherMap != null) {
+			otherMap.values().forEach(this::add);
+		} else {
+			for (int i = 0; i < otherList.attrCount; i++) {
+				add(otherList.attrArr[i]);
+			}
+		}
 	}
 
 	public boolean contains(AFlag flag) {
-		return flags.contains(flag);
+		return (flags & flagBit(flag)) != 0;
 	}
 
 	public <T extends IJadxAttribute> boolean contains(IJadxAttrType<T> type) {
-		return attributes.containsKey(type);
+		return get(type) != null;
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IJadxAttribute> T get(IJadxAttrType<T> type) {
-		return (T) attributes.get(type);
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		if (map != null) {
+			return (T) map.get(type);
+		}
+		IJadxAttribute[] arr = attrArr;
+		for (int i = 0, count = attrCount; i < count; i++) {
+			IJadxAttribute attr = arr[i];
+			if (attr.getAttrType() == type) {
+				return (T) attr;
+			}
+		}
+		return null;
 	}
 
 	public IAnnotation getAnnotation(String cls) {
@@ -99,72 +145,157 @@ public class AttributeStorage {
 	}
 
 	public void remove(AFlag flag) {
-		flags.remove(flag);
+		flags &= ~flagBit(flag);
 	}
 
 	public <T extends IJadxAttribute> void remove(IJadxAttrType<T> type) {
-		if (!attributes.isEmpty()) {
-			attributes.remove(type);
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		if (map != null) {
+			map.remove(type);
+			return;
+		}
+		int idx = indexOf(type);
+		if (idx != -1) {
+			removeAt(idx);
 		}
 	}
 
 	public void remove(IJadxAttribute attr) {
-		if (!attributes.isEmpty()) {
-			IJadxAttrType<? extends IJadxAttribute> type = attr.getAttrType();
-			IJadxAttribute a = attributes.get(type);
-			if (a == attr) {
-				attributes.remove(type);
+		IJadxAttrType<? extends IJadxAttribute> type = attr.getAttrType();
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		if (map != null) {
+			if (map.get(type) == attr) {
+				map.remove(type);
+			}
+			return;
+		}
+		int idx = indexOf(type);
+		if (idx != -1 && attrArr[idx] == attr) {
+			removeAt(idx);
+		}
+	}
+
+	private int indexOf(IJadxAttrType<?> type) {
+		IJadxAttribute[] arr = attrArr;
+		for (int i = 0, count = attrCount; i < count; i++) {
+			if (arr[i].getAttrType() == type) {
+				return i;
 			}
 		}
+		return -1;
 	}
 
-	private Map<IJadxAttrType<?>, IJadxAttribute> writeAttributes() {
-		if (attributes.isEmpty()) {
-			attributes = new IdentityHashMap<>(5);
+	private void removeAt(int idx) {
+		int last = attrCount - 1;
+		if (idx != last) {
+			System.arraycopy(attrArr, idx + 1, attrArr, idx, last - idx);
 		}
-		return attributes;
+		attrArr[last] = null;
+		attrCount = last;
 	}
 
-	public void clear() {
-		flags.clear();
-		if (!attributes.isEmpty()) {
-			attributes.clear();
+	private Map<IJadxAttrType<?>, IJadxAttribute> promoteToMap() {
+		Map<IJadxAttrType<?>, IJadxAttribute> map = new IdentityHashMap<>(MAX_INLINE_ATTRIBUTES * 2);
+		for (int i = 0; i < attrCount; i++) {
+			IJadxAttribute attr = attrArr[i];
+			map.put(attr.getAttrType(), attr);
 		}
+		attrMap = map;
+		attrArr = EMPTY_ATTRIBUTES;
+		attrCount = 0;
+		return map;
+	}
+
+	public void clear() {
+		flags = 0;
+		clearAttributes();
+	}
+
+	private void clearAttributes() {
+		attrMap = null;
+		attrArr = EMPTY_ATTRIBUTES;
+		attrCount = 0;
 	}
 
 	public synchronized void unloadAttributes() {
-		if (attributes.isEmpty()) {
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		if (map != null) {
+			map.values().removeIf(attr -> !attr.keepLoaded());
+			if (map.isEmpty()) {
+				clearAttributes();
+			}
+			return;
+		}
+		int count = 0;
+		for (int i = 0; i < attrCount; i++) {
+			IJadxAttribute attr = attrArr[i];
+			if (attr.keepLoaded()) {
+				attrArr[count++] = attr;
+			}
+		}
+		if (count == 0) {
+			clearAttributes();
 			return;
 		}
-		attributes.entrySet().removeIf(entry -> !entry.getValue().keepLoaded());
+		Arrays.fill(attrArr, count, attrCount, null);
+		attrCount = count;
+	}
+
+	public long getFlags() {
+		return flags;
+	}
+
+	public int getAttributesCount() {
+		Map<IJadxAttrType<?>, IJadxAttribute> map = attrMap;
+		return map != null ? map.size() : attrCount;
 	}
 
 	public List<String> getAttributeStrings() {
-		int size = flags.size() + attributes.size() + attributes.size();
+		return buildAttributeStrings(flags, this);
+	}
+
+	/**
+	 * Build strings for flags bit set and attributes from storage
+	 */
+	public static List<String> buildAttributeStrings(long flags, AttributeStorage storage) {
+		int size = Long.bitCount(flags) + storage.getAttributesCount();
 		if (size == 0) {
 			return Collections.emptyList();
 		}
 		List<String> list = new ArrayList<>(size);
-		for (AFlag a : flags) {
-			list.add(a.toString());
+		long rest = flags;
+		while (rest != 0) {
+			int ordinal = Long.numberOfTrailingZeros(rest);
+			list.add(FLAGS[ordinal].toString());
+			rest &= rest - 1;
 		}
-		for (IJadxAttribute a : attributes.values()) {
-			list.add(a.toAttrString());
+		Map<IJadxAttrType<?>, IJadxAttribute> map = storage.attrMap;
+		if (map != null) {
+			for (IJadxAttribute a : map.values()) {
+				list.add(a.toAttrString());
+			}
+		} else {
+			for (int i = 0; i < storage.attrCount; i++) {
+				list.add(storage.attrArr[i].toAttrString());
+			}
 		}
 		return list;
 	}
 
-	public boolean isEmpty() {
-		return flags.isEmpty() && attributes.isEmpty();
-	}
-
-	@Override
-	public String toString() {
-		List<String> list = getAttributeStrings();
+	public static String attributesToString(List<String> list) {
 		if (list.isEmpty()) {
 			return "";
 		}
 		list.sort(String::compareTo);
 		return "A[" + Utils.listToString(list) + ']';
 	}
+
+	public boolean isEmpty() {
+		return flags == 0 && getAttributesCount() == 0;
+	}
+
+	@Override
+	public String toString() {
+		return attributesToString(getAttributeStrings());
+	}
 }
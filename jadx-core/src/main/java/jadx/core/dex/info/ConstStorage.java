@@ -1,7 +1,8 @@
 package jadx.core.dex.info;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.Nullable;
 
 import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.api.plugins.input.data.IClassData;
 import jadx.api.plugins.input.data.annotations.EncodedValue;
 import jadx.api.plugins.input.data.attributes.JadxAttrType;
 import jadx.core.dex.instructions.args.LiteralArg;
@@ -22,27 +25,35 @@ import jadx.core.dex.nodes.RootNode;
 
 public class ConstStorage {
 
+	/**
+	 * Fields stored as {@link FieldInfo} and resolved on search,
+	 * so in lazy loading mode members loaded only for class with found field.
+	 */
 	private static final class ValueStorage {
-		private final Map<Object, FieldNode> values = new ConcurrentHashMap<>();
-		private final Set<Object> duplicates = new HashSet<>();
+		private final Map<Object, FieldInfo> values = new ConcurrentHashMap<>();
+		private final Set<Object> duplicates = ConcurrentHashMap.newKeySet();
 
-		public Map<Object, FieldNode> getValues() {
+		public Map<Object, FieldInfo> getValues() {
 			return values;
 		}
 
-		public FieldNode get(Object key) {
+		public Set<Object> getDuplicates() {
+			return duplicates;
+		}
+
+		public FieldInfo get(Object key) {
 			return values.get(key);
 		}
 
 		/**
 		 * @return true if this value is duplicated
 		 */
-		public boolean put(Object value, FieldNode fld) {
+		public synchronized boolean put(Object value, FieldInfo fld) {
 			if (duplicates.contains(value)) {
 				values.remove(value);
 				return true;
 			}
-			FieldNode prev = values.put(value, fld);
+			FieldInfo prev = values.put(value, fld);
 			if (prev != null) {
 				values.remove(value);
 				duplicates.add(value);
@@ -56,11 +67,11 @@ public class ConstStorage {
 		}
 
 		void removeForCls(ClassNode cls) {
-			Iterator<Entry<Object, FieldNode>> it = values.entrySet().iterator();
+			Iterator<Entry<Object, FieldInfo>> it = values.entrySet().iterator();
 			while (it.hasNext()) {
-				Entry<Object, FieldNode> entry = it.next();
-				FieldNode field = entry.getValue();
-				if (field.getParentClass().equals(cls)) {
+				Entry<Object, FieldInfo> entry = it.next();
+				FieldInfo field = entry.getValue();
+				if (field.getDeclClass().equals(cls.getClassInfo())) {
 					it.remove();
 				}
 			}
@@ -69,7 +80,7 @@ public class ConstStorage {
 
 	private final boolean replaceEnabled;
 	private final ValueStorage globalValues = new ValueStorage();
-	private final Map<ClassNode, ValueStorage> classes = new HashMap<>();
+	private final Map<ClassNode, ValueStorage> classes = new ConcurrentHashMap<>();
 
 	private Map<Integer, String> resourcesNames = new HashMap<>();
 
@@ -84,11 +95,35 @@ public class ConstStorage {
 		for (FieldNode f : staticFields) {
 			Object value = getFieldConstValue(f);
 			if (value != null) {
-				addConstField(cls, f, value, f.getAccessFlags().isPublic());
+				addConstField(cls, f.getFieldInfo(), value, f.getAccessFlags().isPublic());
 			}
 		}
 	}
 
+	/**
+	 * Add const fields directly from class data without members loading,
+	 * used for classes created in lazy loading mode (see {@link JadxArgs#isLazyClassesLoad()}).
+	 */
+	public void indexConstFields(ClassNode cls, IClassData clsData) {
+		if (!replaceEnabled) {
+			return;
+		}
+		RootNode root = cls.root();
+		clsData.visitFieldsAndMethods(fld -> {
+			int accFlags = fld.getAccessFlags();
+			if ((accFlags & AccessFlags.STATIC) == 0 || (accFlags & AccessFlags.FINAL) == 0) {
+				return;
+			}
+			EncodedValue constVal = fld.getConstValue();
+			if (constVal != null && constVal.getValue() != null) {
+				FieldInfo fieldInfo = FieldInfo.fromRef(root, fld);
+				addConstField(cls, fieldInfo, constVal.getValue(), (accFlags & AccessFlags.PUBLIC) != 0);
+			}
+		}, mth -> {
+			// skip methods
+		});
+	}
+
 	public static @Nullable Object getFieldConstValue(FieldNode fld) {
 		AccessInfo accFlags = fld.getAccessFlags();
 		if (accFlags.isStatic() && accFlags.isFinal()) {
@@ -105,7 +140,7 @@ public class ConstStorage {
 		globalValues.removeForCls(cls);
 	}
 
-	private void addConstField(ClassNode cls, FieldNode fld, Object value, boolean isPublic) {
+	private void addConstField(ClassNode cls, FieldInfo fld, Object value, boolean isPublic) {
 		if (isPublic) {
 			globalValues.put(value, fld);
 		} else {
@@ -137,12 +172,12 @@ public class ConstStorage {
 		while (current != null) {
 			ValueStorage classValues = classes.get(current);
 			if (classValues != null) {
-				FieldNode field = classValues.get(value);
+				FieldInfo field = classValues.get(value);
 				if (field != null) {
 					if (foundInGlobal) {
 						return null;
 					}
-					return field;
+					return root.resolveField(field);
 				}
 			}
 			ClassInfo parentClass = current.getClassInfo().getParentClass();
@@ -152,11 +187,20 @@ public class ConstStorage {
 			current = root.resolveClass(parentClass);
 		}
 		if (searchGlobal) {
-			return globalValues.get(value);
+			return getGlobalConstField(root, value);
 		}
 		return null;
 	}
 
+	@Nullable
+	public FieldNode getGlobalConstField(RootNode root, Object value) {
+		FieldInfo field = globalValues.get(value);
+		if (field == null) {
+			return null;
+		}
+		return root.resolveField(field);
+	}
+
 	@Nullable
 	private FieldNode getResourceField(Integer value, RootNode root) {
 		String str = resourcesNames.get(value);
@@ -225,8 +269,40 @@ public class ConstStorage {
 		return resourcesNames;
 	}
 
-	public Map<Object, FieldNode> getGlobalConstFields() {
-		return globalValues.getValues();
+	/**
+	 * Resolve all public const fields, in lazy loading mode this will load members of classes with such fields
+	 */
+	public Map<Object, FieldNode> getGlobalConstFields(RootNode root) {
+		Map<Object, FieldNode> map = new HashMap<>(globalValues.getValues().size());
+		for (Entry<Object, FieldInfo> entry : globalValues.getValues().entrySet()) {
+			FieldNode field = root.resolveField(entry.getValue());
+			if (field != null) {
+				map.put(entry.getKey(), field);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Public constants and resources names as sorted strings, used to detect changes of app-wide state
+	 */
+	public List<String> getGlobalState() {
+		List<String> list = new ArrayList<>();
+		for (Entry<Object, FieldInfo> entry : globalValues.getValues().entrySet()) {
+			list.add(valueToString(entry.getKey()) + '=' + entry.getValue().getRawFullId());
+		}
+		for (Object duplicate : globalValues.getDuplicates()) {
+			list.add(valueToString(duplicate) + "=<duplicate>");
+		}
+		for (Entry<Integer, String> entry : resourcesNames.entrySet()) {
+			list.add("res:" + entry.getKey() + '=' + entry.getValue());
+		}
+		Collections.sort(list);
+		return list;
+	}
+
+	private static String valueToString(Object value) {
+		return value.getClass().getSimpleName() + ':' + value;
 	}
 
 	public boolean isReplaceEnabled() {
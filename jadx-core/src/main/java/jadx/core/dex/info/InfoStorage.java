@@ -1,73 +1,71 @@
 package jadx.core.dex.info;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.core.dex.instructions.args.ArgType;
 
+/**
+ * Intern storage for class, field, method and package info objects.
+ * <br>
+ * All maps are concurrent: lookups don't take locks and 'put' methods
+ * always return the instance stored first, so concurrent callers share the same object.
+ */
 public class InfoStorage {
 
-	private final Map<ArgType, ClassInfo> classes = new HashMap<>();
-	private final Map<FieldInfo, FieldInfo> fields = new HashMap<>();
+	private final Map<ArgType, ClassInfo> classes = new ConcurrentHashMap<>();
+	private final Map<FieldInfo, FieldInfo> fields = new ConcurrentHashMap<>();
 	// use only one MethodInfo instance
-	private final Map<MethodInfo, MethodInfo> uniqueMethods = new HashMap<>();
+	private final Map<MethodInfo, MethodInfo> uniqueMethods = new ConcurrentHashMap<>();
 	// can contain same method with different ids (from different files)
-	private final Map<Integer, MethodInfo> methods = new HashMap<>();
+	private final Map<Integer, MethodInfo> methods = new ConcurrentHashMap<>();
 
-	private final Map<String, PackageInfo> packages = new HashMap<>();
+	private final Map<String, PackageInfo> packages = new ConcurrentHashMap<>();
 
 	public ClassInfo getCls(ArgType type) {
 		return classes.get(type);
 	}
 
 	public ClassInfo putCls(ClassInfo cls) {
-		synchronized (classes) {
-			ClassInfo prev = classes.put(cls.getType(), cls);
-			return prev == null ? cls : prev;
-		}
+		return intern(classes, cls.getType(), cls);
 	}
 
 	public MethodInfo getByUniqId(int id) {
-		synchronized (methods) {
-			return methods.get(id);
-		}
+		return methods.get(id);
 	}
 
 	public void putByUniqId(int id, MethodInfo mth) {
-		synchronized (methods) {
-			methods.put(id, mth);
-		}
+		methods.put(id, mth);
 	}
 
 	public MethodInfo putMethod(MethodInfo newMth) {
-		synchronized (uniqueMethods) {
-			MethodInfo prev = uniqueMethods.get(newMth);
-			if (prev != null) {
-				return prev;
-			}
-			uniqueMethods.put(newMth, newMth);
-			return newMth;
-		}
+		return intern(uniqueMethods, newMth, newMth);
 	}
 
 	public FieldInfo getField(FieldInfo field) {
-		synchronized (fields) {
-			FieldInfo f = fields.get(field);
-			if (f != null) {
-				return f;
-			}
-			fields.put(field, field);
-			return field;
-		}
+		return intern(fields, field, field);
 	}
 
 	public @Nullable PackageInfo getPkg(String fullName) {
 		return packages.get(fullName);
 	}
 
-	public void putPkg(PackageInfo pkg) {
-		packages.put(pkg.getFullName(), pkg);
+	public PackageInfo putPkg(PackageInfo pkg) {
+		return intern(packages, pkg.getFullName(), pkg);
+	}
+
+	/**
+	 * Check with plain 'get' first: most calls are hits
+	 * and {@link ConcurrentHashMap#putIfAbsent(Object, Object)} can lock map bin even if value present.
+	 */
+	private static <K, V> V intern(Map<K, V> map, K key, V value) {
+		V prev = map.get(key);
+		if (prev != null) {
+			return prev;
+		}
+		prev = map.putIfAbsent(key, value);
+		return prev == null ? value : prev;
 	}
 }
@@ -11,7 +11,6 @@ import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.AttrNode;
 import jadx.core.dex.attributes.nodes.LoopInfo;
 import jadx.core.utils.BlockUtils;
-import jadx.core.utils.EmptyBitSet;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -42,9 +41,11 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	private List<BlockNode> cleanSuccessors;
 
 	/**
-	 * All dominators, excluding self
+	 * Pre and post order numbers of this block in dominator tree DFS,
+	 * used for constant time dominance checks (see {@link #isDominator(BlockNode)})
 	 */
-	private BitSet doms = EmptyBitSet.EMPTY;
+	private int domTreePre;
+	private int domTreePost;
 
 	/**
 	 * Dominance frontier
@@ -148,21 +149,28 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	}
 
 	/**
-	 * Check if 'block' dominated on this node
+	 * Check if 'block' dominated on this node (strict: block is not dominator of itself).
+	 * 'block' dominates this node only if this node is in 'block' subtree of dominator tree.
 	 */
 	public boolean isDominator(BlockNode block) {
-		return doms.get(block.getId());
+		return block.domTreePre < domTreePre && domTreePost < block.domTreePost;
 	}
 
 	/**
-	 * Dominators of this node (exclude itself)
+	 * Dominators of this node (exclude itself).
+	 * Collected from dominator tree on every call, use {@link #isDominator(BlockNode)} for checks.
 	 */
 	public BitSet getDoms() {
+		BitSet doms = new BitSet();
+		for (BlockNode dom = idom; dom != null; dom = dom.idom) {
+			doms.set(dom.getId());
+		}
 		return doms;
 	}
 
-	public void setDoms(BitSet doms) {
-		this.doms = doms;
+	public void setDomTreeOrder(int pre, int post) {
+		this.domTreePre = pre;
+		this.domTreePost = post;
 	}
 
 	public BitSet getDomFrontier() {
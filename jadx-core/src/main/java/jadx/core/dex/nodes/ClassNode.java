@@ -7,6 +7,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -66,8 +67,14 @@ public class ClassNode extends NotificationAttrNode
 	private List<ArgType> interfaces;
 	private List<ArgType> generics = Collections.emptyList();
 
-	private List<MethodNode> methods;
-	private List<FieldNode> fields;
+	private List<MethodNode> methods = Collections.emptyList();
+	private List<FieldNode> fields = Collections.emptyList();
+	/**
+	 * Fields and methods loading can be postponed, see {@link JadxArgs#isLazyClassesLoad()}
+	 */
+	private volatile boolean membersLoaded;
+	private boolean membersLoading;
+	private final Object membersLock = new Object();
 	private List<ClassNode> innerClasses = Collections.emptyList();
 
 	private List<ClassNode> inlinedClasses = Collections.emptyList();
@@ -100,34 +107,63 @@ public class ClassNode extends NotificationAttrNode
 	// cache maps
 	private Map<MethodInfo, MethodNode> mthInfoMap = Collections.emptyMap();
 
+	/**
+	 * Time spent in methods decompilation passes (nanoseconds), collected only for top level class
+	 */
+	private final AtomicLong processTime = new AtomicLong();
+	/**
+	 * Time limit reached in some method during last code generation,
+	 * such code is incomplete and shouldn't be saved to code cache
+	 */
+	private volatile boolean timeLimitReached;
+
 	private JavaClass javaNode;
 
 	public ClassNode(RootNode root, IClassData cls) {
+		this(root, cls, true);
+	}
+
+	private ClassNode(RootNode root, IClassData cls, boolean addToPackage) {
 		this.root = root;
 		this.clsInfo = ClassInfo.fromType(root, ArgType.object(cls.getType()));
-		this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
+		if (addToPackage) {
+			this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
+		}
 		this.clsData = cls.copy();
 		load(clsData, false);
 	}
 
+	/**
+	 * Load class without adding into package (packages tree is not thread safe),
+	 * used for concurrent classes loading. {@link #addToPackage()} should be called before class usage.
+	 */
+	static ClassNode loadWithoutPackage(RootNode root, IClassData cls) {
+		return new ClassNode(root, cls, false);
+	}
+
+	void addToPackage() {
+		this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
+	}
+
 	private void load(IClassData cls, boolean reloading) {
 		try {
 			addAttrs(cls.getAttributes());
 			this.accessFlags = new AccessInfo(getAccessFlags(cls), AFType.CLASS);
 			this.superClass = checkSuperType(cls);
 			this.interfaces = Utils.collectionMap(cls.getInterfacesTypes(), ArgType::object);
-
-			ListConsumer<IFieldData, FieldNode> fieldsConsumer = new ListConsumer<>(fld -> FieldNode.build(this, fld));
-			ListConsumer<IMethodData, MethodNode> methodsConsumer = new ListConsumer<>(mth -> MethodNode.build(this, mth));
-			cls.visitFieldsAndMethods(fieldsConsumer, methodsConsumer);
-			this.fields = fieldsConsumer.getResult();
-			this.methods = methodsConsumer.getResult();
-			if (reloading) {
-				restoreUsageData();
+			if (reloading || !root.getArgs().isLazyClassesLoad()) {
+				synchronized (membersLock) {
+					membersLoading = true;
+					try {
+						loadMembers(cls, reloading);
+					} finally {
+						membersLoading = false;
+					}
+					membersLoaded = true;
+				}
+			} else {
+				indexConstFields(cls);
 			}
-			initStaticValues(fields);
-			processAttributes(this);
-			buildCache();
 
 			// TODO: implement module attribute parsing
 			if (this.accessFlags.isModuleInfo()) {
@@ -138,6 +174,53 @@ public class ClassNode extends NotificationAttrNode
 		}
 	}
 
+	private void loadMembers(IClassData cls, boolean reloading) {
+		ListConsumer<IFieldData, FieldNode> fieldsConsumer = new ListConsumer<>(fld -> FieldNode.build(this, fld));
+		ListConsumer<IMethodData, MethodNode> methodsConsumer = new ListConsumer<>(mth -> MethodNode.build(this, mth));
+		cls.visitFieldsAndMethods(fieldsConsumer, methodsConsumer);
+		this.fields = fieldsConsumer.getResult();
+		this.methods = methodsConsumer.getResult();
+		if (reloading) {
+			restoreUsageData();
+		}
+		// in lazy mode const fields already added on class creation
+		boolean constsIndexed = !reloading && root.getArgs().isLazyClassesLoad();
+		initStaticValues(fields, !constsIndexed);
+		processAttributes(this);
+		buildCache();
+	}
+
+	/**
+	 * Load fields and methods if class created in lazy mode
+	 */
+	private void ensureMembersLoaded() {
+		if (membersLoaded) {
+			return;
+		}
+		synchronized (membersLock) {
+			if (membersLoaded || membersLoading) {
+				// already loaded or recursive call from members loading
+				return;
+			}
+			membersLoading = true;
+			try {
+				loadMembers(clsData, false);
+			} catch (Exception e) {
+				this.fields = new ArrayList<>();
+				this.methods = new ArrayList<>();
+				buildCache();
+				addError("Error decode class members", e);
+			} finally {
+				membersLoading = false;
+				membersLoaded = true;
+			}
+		}
+	}
+
+	public boolean isMembersLoaded() {
+		return membersLoaded;
+	}
+
 	private void restoreUsageData() {
 		IUsageInfoData usageInfoData = root.getArgs().getUsageInfoCache().get(root);
 		if (usageInfoData != null) {
@@ -224,12 +307,21 @@ public class ClassNode extends NotificationAttrNode
 		this.interfaces = new ArrayList<>();
 		this.methods = new ArrayList<>();
 		this.fields = new ArrayList<>();
+		this.membersLoaded = true;
 		this.accessFlags = new AccessInfo(accessFlags, AFType.CLASS);
 		this.parentClass = this;
 		this.packageNode = PackageNode.getForClass(root, clsInfo.getPackage(), this);
 	}
 
-	private void initStaticValues(List<FieldNode> fields) {
+	private void indexConstFields(IClassData cls) {
+		try {
+			root.getConstValues().indexConstFields(this, cls);
+		} catch (Exception e) {
+			this.addWarnComment("Failed to load initial values for static fields", e);
+		}
+	}
+
+	private void initStaticValues(List<FieldNode> fields, boolean processConsts) {
 		if (fields.isEmpty()) {
 			return;
 		}
@@ -240,6 +332,9 @@ public class ClassNode extends NotificationAttrNode
 				f.addAttr(EncodedValue.NULL);
 			}
 		}
+		if (!processConsts) {
+			return;
+		}
 		try {
 			// process const fields
 			root().getConstValues().processConstFields(this, staticFields);
@@ -371,13 +466,14 @@ public class ClassNode extends NotificationAttrNode
 			}
 		}
 		ICodeInfo codeInfo;
+		timeLimitReached = false;
 		try {
 			codeInfo = root.getProcessClasses().generateCode(this);
 		} catch (Throwable e) {
 			addError("Code generation failed", e);
 			codeInfo = new SimpleCodeInfo(Utils.getStackTrace(e));
 		}
-		if (codeInfo != ICodeInfo.EMPTY) {
+		if (codeInfo != ICodeInfo.EMPTY && !timeLimitReached) {
 			codeCache.add(clsRawName, codeInfo);
 		}
 		return codeInfo;
@@ -414,12 +510,15 @@ public class ClassNode extends NotificationAttrNode
 		if (state == NOT_LOADED) {
 			return;
 		}
-		methods.forEach(MethodNode::unload);
+		if (membersLoaded) {
+			methods.forEach(MethodNode::unload);
+			fields.forEach(FieldNode::unloadAttributes);
+		}
 		innerClasses.forEach(ClassNode::unload);
-		fields.forEach(FieldNode::unloadAttributes);
 		unloadAttributes();
 		setState(NOT_LOADED);
 		this.loadStage = LoadStage.NONE;
+		this.processTime.set(0);
 		this.smali = null;
 	}
 
@@ -452,14 +551,17 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public List<MethodNode> getMethods() {
+		ensureMembersLoaded();
 		return methods;
 	}
 
 	public List<FieldNode> getFields() {
+		ensureMembersLoaded();
 		return fields;
 	}
 
 	public void addField(FieldNode fld) {
+		ensureMembersLoaded();
 		if (fields == null || fields.isEmpty()) {
 			fields = new ArrayList<>(1);
 		}
@@ -481,7 +583,7 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public FieldNode searchField(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().equals(field)) {
 				return f;
 			}
@@ -490,7 +592,7 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public FieldNode searchFieldByNameAndType(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().equalsNameAndType(field)) {
 				return f;
 			}
@@ -499,7 +601,7 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public FieldNode searchFieldByName(String name) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getName().equals(name)) {
 				return f;
 			}
@@ -508,7 +610,7 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public FieldNode searchFieldByShortId(String shortId) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().getShortId().equals(shortId)) {
 				return f;
 			}
@@ -517,11 +619,12 @@ public class ClassNode extends NotificationAttrNode
 	}
 
 	public MethodNode searchMethod(MethodInfo mth) {
+		ensureMembersLoaded();
 		return mthInfoMap.get(mth);
 	}
 
 	public MethodNode searchMethodByShortId(String shortId) {
-		for (MethodNode m : methods) {
+		for (MethodNode m : getMethods()) {
 			if (m.getMethodInfo().getShortId().equals(shortId)) {
 				return m;
 			}
@@ -536,7 +639,7 @@ public class ClassNode extends NotificationAttrNode
 	 */
 	@Nullable
 	public MethodNode searchMethodByShortName(String name) {
-		for (MethodNode m : methods) {
+		for (MethodNode m : getMethods()) {
 			if (m.getMethodInfo().getName().equals(name)) {
 				return m;
 			}
@@ -617,6 +720,18 @@ public class ClassNode extends NotificationAttrNode
 		return packageNode;
 	}
 
+	public AtomicLong getProcessTime() {
+		return processTime;
+	}
+
+	public boolean isTimeLimitReached() {
+		return timeLimitReached;
+	}
+
+	public void setTimeLimitReached() {
+		this.timeLimitReached = true;
+	}
+
 	public ClassNode getTopParentClass() {
 		ClassNode parent = getParentClass();
 		return parent == this ? this : parent.getTopParentClass();
@@ -728,7 +843,7 @@ public class ClassNode extends NotificationAttrNode
 
 	@Nullable
 	public MethodNode getDefaultConstructor() {
-		for (MethodNode mth : methods) {
+		for (MethodNode mth : getMethods()) {
 			if (mth.isDefaultConstructor()) {
 				return mth;
 			}
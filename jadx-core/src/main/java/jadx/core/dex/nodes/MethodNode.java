@@ -80,6 +80,13 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 
 	private List<MethodNode> useIn = Collections.emptyList();
 
+	/**
+	 * Time spent in decompilation passes and deadline of current pass in nanoseconds,
+	 * see {@link jadx.core.utils.DecompileTimeBudget}
+	 */
+	private long processTime;
+	private long passDeadline;
+
 	private JavaMethod javaNode;
 
 	public static MethodNode build(ClassNode classNode, IMethodData methodData) {
@@ -122,6 +129,8 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 		region = null;
 		exceptionHandlers = Collections.emptyList();
 		loops = Collections.emptyList();
+		processTime = 0;
+		passDeadline = 0;
 		unloadAttributes();
 	}
 
@@ -660,6 +669,22 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 		return insnsCount;
 	}
 
+	public long getProcessTime() {
+		return processTime;
+	}
+
+	public void addProcessTime(long time) {
+		this.processTime += time;
+	}
+
+	public long getPassDeadline() {
+		return passDeadline;
+	}
+
+	public void setPassDeadline(long passDeadline) {
+		this.passDeadline = passDeadline;
+	}
+
 	@Override
 	public boolean isVarArg() {
 		return accFlags.isVarArgs();
@@ -1,11 +1,20 @@
 package jadx.core.dex.nodes;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +32,7 @@ import jadx.api.ResourcesLoader;
 import jadx.api.data.ICodeData;
 import jadx.api.impl.passes.DecompilePassWrapper;
 import jadx.api.impl.passes.PreparePassWrapper;
+import jadx.api.metrics.JadxPassMetrics;
 import jadx.api.plugins.input.ICodeLoader;
 import jadx.api.plugins.input.data.IClassData;
 import jadx.api.plugins.pass.JadxPass;
@@ -43,11 +53,16 @@ import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.utils.MethodUtils;
 import jadx.core.dex.nodes.utils.TypeUtils;
 import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IAppWidePass;
+import jadx.core.dex.visitors.IDeferredChangesPass;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.dex.visitors.typeinference.TypeUpdate;
+import jadx.core.dex.visitors.usage.UsageInfoVisitor;
 import jadx.core.utils.CacheStorage;
 import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.ListUtils;
 import jadx.core.utils.PassMerge;
 import jadx.core.utils.StringUtils;
 import jadx.core.utils.Utils;
@@ -77,11 +92,30 @@ public class RootNode {
 	private final MethodUtils methodUtils;
 	private final TypeUtils typeUtils;
 	private final AttributeStorage attributes = new AttributeStorage();
+	private final @Nullable JadxPassMetrics passMetrics;
 
 	private final Map<ClassInfo, ClassNode> clsMap = new HashMap<>();
 	private final Map<String, ClassNode> rawClsMap = new HashMap<>();
 	private List<ClassNode> classes = new ArrayList<>();
 
+	/**
+	 * Classes processed by current run of prepare passes, all classes if null
+	 */
+	private @Nullable List<ClassNode> preDecompileClasses;
+	/**
+	 * Top classes already processed by prepare passes, used only in lazy loading mode
+	 */
+	private final Set<ClassNode> preparedClasses = ConcurrentHashMap.newKeySet();
+	/**
+	 * Set after first run of prepare passes in lazy loading mode,
+	 * next runs don't call init for app-wide passes (see {@link IAppWidePass})
+	 */
+	private boolean appWidePassesInitialized;
+	/**
+	 * Block code generation while prepare passes run for new classes closure (lazy loading mode)
+	 */
+	private final ReentrantReadWriteLock prepareLock = new ReentrantReadWriteLock();
+
 	private final Map<String, PackageNode> pkgMap = new HashMap<>();
 	private final List<PackageNode> packages = new ArrayList<>();
 
@@ -106,6 +140,7 @@ public class RootNode {
 		this.typeUpdate = new TypeUpdate(this);
 		this.methodUtils = new MethodUtils(this);
 		this.typeUtils = new TypeUtils(this);
+		this.passMetrics = args.isCollectPassMetrics() ? new JadxPassMetrics() : null;
 		this.isProto = args.getInputFiles().size() > 0 && args.getInputFiles().get(0).getName().toLowerCase().endsWith(".aab");
 	}
 
@@ -119,15 +154,19 @@ public class RootNode {
 	}
 
 	public void loadClasses(List<ICodeLoader> loadedInputs) {
-		for (ICodeLoader codeLoader : loadedInputs) {
-			codeLoader.visitClasses(cls -> {
-				try {
-					addClassNode(new ClassNode(RootNode.this, cls));
-				} catch (Exception e) {
-					addDummyClass(cls, e);
-				}
-				Utils.checkThreadInterrupt();
-			});
+		if (args.isParallelClassesLoad() && args.getThreadsCount() > 1) {
+			loadClassesInParallel(loadedInputs);
+		} else {
+			for (ICodeLoader codeLoader : loadedInputs) {
+				codeLoader.visitClasses(cls -> {
+					try {
+						addClassNode(new ClassNode(RootNode.this, cls));
+					} catch (Exception e) {
+						addDummyClass(cls, e);
+					}
+					Utils.checkThreadInterrupt();
+				});
+			}
 		}
 		if (classes.size() != clsMap.size()) {
 			// class name duplication detected
@@ -136,9 +175,14 @@ public class RootNode {
 		classes = new ArrayList<>(clsMap.values());
 
 		// print stats for loaded classes
-		int mthCount = classes.stream().mapToInt(c -> c.getMethods().size()).sum();
-		int insnsCount = classes.stream().flatMap(c -> c.getMethods().stream()).mapToInt(MethodNode::getInsnsCount).sum();
-		LOG.info("Loaded classes: {}, methods: {}, instructions: {}", classes.size(), mthCount, insnsCount);
+		if (args.isLazyClassesLoad()) {
+			// don't force members loading
+			LOG.info("Loaded classes: {}", classes.size());
+		} else {
+			int mthCount = classes.stream().mapToInt(c -> c.getMethods().size()).sum();
+			int insnsCount = classes.stream().flatMap(c -> c.getMethods().stream()).mapToInt(MethodNode::getInsnsCount).sum();
+			LOG.info("Loaded classes: {}, methods: {}, instructions: {}", classes.size(), mthCount, insnsCount);
+		}
 
 		// sort classes by name, expect top classes before inner
 		classes.sort(Comparator.comparing(ClassNode::getFullName));
@@ -149,6 +193,67 @@ public class RootNode {
 		Collections.sort(packages);
 	}
 
+	/**
+	 * Parse classes from input parts in parallel, results added in parts order,
+	 * so classes order and duplicates processing are same as in sequential loading.
+	 */
+	private void loadClassesInParallel(List<ICodeLoader> loadedInputs) {
+		ExecutorService executor = Executors.newFixedThreadPool(args.getThreadsCount());
+		try {
+			List<Future<List<LoadedClass>>> futures = new ArrayList<>();
+			for (ICodeLoader codeLoader : loadedInputs) {
+				for (int i = 0, count = codeLoader.getPartsCount(); i < count; i++) {
+					int part = i;
+					futures.add(executor.submit(() -> loadClassesPart(codeLoader, part)));
+				}
+			}
+			for (Future<List<LoadedClass>> future : futures) {
+				for (LoadedClass loadedClass : future.get()) {
+					ClassNode cls = loadedClass.cls;
+					if (cls != null) {
+						cls.addToPackage();
+						addClassNode(cls);
+					} else {
+						addDummyClass(loadedClass.clsData, loadedClass.error);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Classes loading interrupted", e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Classes loading failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<LoadedClass> loadClassesPart(ICodeLoader codeLoader, int part) {
+		List<LoadedClass> list = new ArrayList<>();
+		codeLoader.visitClasses(part, cls -> {
+			try {
+				list.add(new LoadedClass(ClassNode.loadWithoutPackage(this, cls), null, null));
+			} catch (Exception e) {
+				// class data object can be reused by loader, save copy
+				list.add(new LoadedClass(null, cls.copy(), e));
+			}
+			Utils.checkThreadInterrupt();
+		});
+		return list;
+	}
+
+	private static final class LoadedClass {
+		private final @Nullable ClassNode cls;
+		private final IClassData clsData;
+		private final Exception error;
+
+		private LoadedClass(@Nullable ClassNode cls, IClassData clsData, Exception error) {
+			this.cls = cls;
+			this.clsData = clsData;
+			this.error = error;
+		}
+	}
+
 	private void addDummyClass(IClassData classData, Exception exc) {
 		try {
 			String typeStr = classData.getType();
@@ -205,7 +310,10 @@ public class RootNode {
 			return;
 		}
 		try {
-			IResParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> ResDecoder.decode(this, arsc, is));
+			IResParser parser = ResDecoder.decodeMapped(this, arsc);
+			if (parser == null) {
+				parser = ResourcesLoader.decodeStream(arsc, (size, is) -> ResDecoder.decode(this, arsc, is));
+			}
 			if (parser != null) {
 				processResources(parser.getResStorage());
 				updateObfuscatedFiles(parser, resources);
@@ -318,29 +426,171 @@ public class RootNode {
 	}
 
 	public void runPreDecompileStage() {
-		boolean debugEnabled = LOG.isDebugEnabled();
-		for (IDexTreeVisitor pass : preDecompilePasses) {
-			Utils.checkThreadInterrupt();
-			long start = debugEnabled ? System.currentTimeMillis() : 0;
-			try {
-				pass.init(this);
-			} catch (Exception e) {
-				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
+		if (args.isLazyClassesLoad()) {
+			// prepare passes will run on first class usage, see ensurePreDecompiled()
+			return;
+		}
+		runPreDecompileStage(null);
+	}
+
+	/**
+	 * Run prepare passes for class and all classes used in it (including transitive usage),
+	 * if not done already. Used only in lazy loading mode.
+	 */
+	public void ensurePreDecompiled(ClassNode cls) {
+		if (isPreDecompiled(cls)) {
+			return;
+		}
+		runPreDecompileStageForClosure(Collections.singletonList(cls));
+	}
+
+	public void runPreDecompileStageForClosure(Collection<ClassNode> clsList) {
+		if (prepareLock.getReadHoldCount() != 0) {
+			// read lock can't be upgraded to write lock
+			throw new JadxRuntimeException("Prepare passes can't be started from code generation");
+		}
+		prepareLock.writeLock().lock();
+		try {
+			long start = System.currentTimeMillis();
+			List<ClassNode> closure = UsageInfoVisitor.collectUsageClosure(this, clsList, preparedClasses);
+			if (closure.isEmpty()) {
+				return;
 			}
-			for (ClassNode cls : classes) {
-				if (cls.isInner()) {
-					continue;
+			for (ClassNode cls : closure) {
+				if (!cls.isInner()) {
+					preparedClasses.add(cls);
+				}
+			}
+			runPreDecompileStage(closure);
+			appWidePassesInitialized = true;
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Prepare stage for {} classes done in {}ms", closure.size(), System.currentTimeMillis() - start);
+			}
+		} finally {
+			prepareLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Lock to hold while generating code, prepare passes for new classes closure
+	 * will wait until code generation is finished (used only in lazy loading mode)
+	 */
+	public Lock getCodegenLock() {
+		return prepareLock.readLock();
+	}
+
+	/**
+	 * Check if prepare passes already processed class (or started processing in current run).
+	 * Always true if lazy loading is disabled.
+	 */
+	public boolean isPreDecompiled(ClassNode cls) {
+		return !args.isLazyClassesLoad() || preparedClasses.contains(cls.getTopParentClass());
+	}
+
+	/**
+	 * Return classes for processing in current run of prepare passes
+	 */
+	public List<ClassNode> getPreDecompileClasses() {
+		List<ClassNode> list = preDecompileClasses;
+		return list != null ? list : classes;
+	}
+
+	private void runPreDecompileStage(@Nullable List<ClassNode> clsList) {
+		this.preDecompileClasses = clsList;
+		List<ClassNode> passClasses = getPreDecompileClasses();
+		boolean debugEnabled = LOG.isDebugEnabled();
+		ExecutorService executor = null;
+		try {
+			for (IDexTreeVisitor pass : preDecompilePasses) {
+				Utils.checkThreadInterrupt();
+				long start = debugEnabled ? System.currentTimeMillis() : 0;
+				try {
+					if (appWidePassesInitialized && pass instanceof IAppWidePass) {
+						((IAppWidePass) pass).processNewClasses(this, passClasses);
+					} else {
+						pass.init(this);
+					}
+				} catch (Exception e) {
+					LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
+				}
+				if (isParallelPass(pass)) {
+					if (executor == null) {
+						executor = Executors.newFixedThreadPool(args.getThreadsCount());
+					}
+					runPassInParallel(executor, pass, passClasses);
+				} else {
+					for (ClassNode cls : passClasses) {
+						if (cls.isInner()) {
+							continue;
+						}
+						visitPreparePass(pass, cls);
+					}
 				}
-				DepthTraversal.visit(pass, cls);
+				if (debugEnabled) {
+					LOG.debug("Prepare pass: '{}' - {}ms", pass, System.currentTimeMillis() - start);
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
 			}
-			if (debugEnabled) {
-				LOG.debug("Prepare pass: '{}' - {}ms", pass, System.currentTimeMillis() - start);
+			this.preDecompileClasses = null;
+		}
+	}
+
+	/**
+	 * Only passes marked as class local can be run in parallel,
+	 * all other passes work as a barrier and processed sequentially.
+	 */
+	private boolean isParallelPass(IDexTreeVisitor pass) {
+		if (!args.isParallelPreDecompile() || args.getThreadsCount() <= 1) {
+			return false;
+		}
+		JadxVisitor visitorInfo = pass.getClass().getAnnotation(JadxVisitor.class);
+		return visitorInfo != null && visitorInfo.classLocal();
+	}
+
+	private void runPassInParallel(ExecutorService executor, IDexTreeVisitor pass, List<ClassNode> passClasses) {
+		List<ClassNode> topClasses = ListUtils.filter(passClasses, cls -> !cls.isInner());
+		// use more parts than threads for better load balance
+		List<List<ClassNode>> parts = ListUtils.splitToParts(topClasses, args.getThreadsCount() * 4);
+		IDeferredChangesPass deferredPass = pass instanceof IDeferredChangesPass ? (IDeferredChangesPass) pass : null;
+		if (deferredPass != null) {
+			deferredPass.startDeferredChanges();
+		}
+		List<Future<?>> futures = new ArrayList<>(parts.size());
+		for (List<ClassNode> part : parts) {
+			futures.add(executor.submit(() -> {
+				for (ClassNode cls : part) {
+					visitPreparePass(pass, cls);
+				}
+			}));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Prepare pass interrupted: " + pass, e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Prepare pass failed: " + pass, e.getCause());
+		}
+		if (deferredPass != null) {
+			deferredPass.applyDeferredChanges();
 		}
 	}
 
 	public void runPreDecompileStageForClass(ClassNode cls) {
 		for (IDexTreeVisitor pass : preDecompilePasses) {
+			visitPreparePass(pass, cls);
+		}
+	}
+
+	private void visitPreparePass(IDexTreeVisitor pass, ClassNode cls) {
+		if (passMetrics != null) {
+			passMetrics.visit(JadxPassMetrics.Stage.PREPARE, pass, cls);
+		} else {
 			DepthTraversal.visit(pass, cls);
 		}
 	}
@@ -349,6 +599,7 @@ public class RootNode {
 	public void resetPasses() {
 		preDecompilePasses.clear();
 		preDecompilePasses.addAll(Jadx.getPreDecompilePassesList());
+		appWidePassesInitialized = false;
 
 		processClasses.getPasses().clear();
 		processClasses.getPasses().addAll(Jadx.getPassesList(args));
@@ -360,6 +611,8 @@ public class RootNode {
 			cls.clearAttributes();
 			cls.unloadFromCache();
 		}
+		preparedClasses.clear();
+		appWidePassesInitialized = false;
 		runPreDecompileStage();
 	}
 
@@ -707,6 +960,13 @@ public class RootNode {
 		return attributes;
 	}
 
+	/**
+	 * Passes metrics, collected only if enabled by {@link JadxArgs#isCollectPassMetrics()}
+	 */
+	public @Nullable JadxPassMetrics getPassMetrics() {
+		return passMetrics;
+	}
+
 	public boolean isProto() {
 		return isProto;
 	}
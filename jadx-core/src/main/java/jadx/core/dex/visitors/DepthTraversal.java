@@ -1,35 +1,153 @@
 package jadx.core.dex.visitors;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.DebugChecks;
+import jadx.core.utils.DecompileTimeBudget;
+import jadx.core.utils.exceptions.DecompileTimeoutException;
+import jadx.core.utils.exceptions.JadxException;
 
 public class DepthTraversal {
 
-	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
+	/**
+	 * @return false if visitor failed for class or any of inner classes and methods
+	 */
+	public static boolean visit(IDexTreeVisitor visitor, ClassNode cls) {
 		try {
+			boolean success = true;
 			if (visitor.visit(cls)) {
-				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls));
-				cls.getMethods().forEach(mth -> visit(visitor, mth));
+				for (ClassNode inCls : cls.getInnerClasses()) {
+					success &= visit(visitor, inCls);
+				}
+				for (MethodNode mth : cls.getMethods()) {
+					success &= visit(visitor, mth);
+				}
 			}
+			return success;
 		} catch (StackOverflowError | Exception e) {
 			cls.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Same as {@link #visit(IDexTreeVisitor, ClassNode)}, but methods of class and inner classes
+	 * visited in parallel using provided pool. Class visits still made in current thread before methods.
+	 * Allowed only for method local visitors (see {@link JadxVisitor#methodLocal()}).
+	 *
+	 * @return false if visitor failed for class or any of inner classes and methods
+	 */
+	public static boolean visitParallel(IDexTreeVisitor visitor, ClassNode cls, ForkJoinPool pool) {
+		List<MethodNode> methods = new ArrayList<>();
+		boolean success = visitClasses(visitor, cls, methods);
+		if (!methods.isEmpty()) {
+			success &= pool.invoke(new MethodsVisitTask(visitor, methods, 0, methods.size()));
 		}
+		return success;
 	}
 
-	public static void visit(IDexTreeVisitor visitor, MethodNode mth) {
+	/**
+	 * Visit class and inner classes, collect methods to visit
+	 */
+	private static boolean visitClasses(IDexTreeVisitor visitor, ClassNode cls, List<MethodNode> methods) {
+		try {
+			boolean success = true;
+			if (visitor.visit(cls)) {
+				for (ClassNode inCls : cls.getInnerClasses()) {
+					success &= visitClasses(visitor, inCls, methods);
+				}
+				methods.addAll(cls.getMethods());
+			}
+			return success;
+		} catch (StackOverflowError | Exception e) {
+			cls.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
+			return false;
+		}
+	}
+
+	private static final class MethodsVisitTask extends RecursiveTask<Boolean> {
+		private static final long serialVersionUID = 3712608253468911427L;
+
+		/**
+		 * Methods have very different sizes, so use small leaf tasks for better balance
+		 */
+		private static final int LEAF_SIZE = 4;
+
+		private final transient IDexTreeVisitor visitor;
+		private final transient List<MethodNode> methods;
+		private final int start;
+		private final int end;
+
+		MethodsVisitTask(IDexTreeVisitor visitor, List<MethodNode> methods, int start, int end) {
+			this.visitor = visitor;
+			this.methods = methods;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Boolean compute() {
+			if (end - start <= LEAF_SIZE) {
+				boolean success = true;
+				for (int i = start; i < end; i++) {
+					success &= visit(visitor, methods.get(i));
+				}
+				return success;
+			}
+			int mid = (start + end) >>> 1;
+			MethodsVisitTask left = new MethodsVisitTask(visitor, methods, start, mid);
+			left.fork();
+			boolean rightSuccess = new MethodsVisitTask(visitor, methods, mid, end).compute();
+			return left.join() & rightSuccess;
+		}
+	}
+
+	/**
+	 * @return false if visitor failed for method
+	 */
+	public static boolean visit(IDexTreeVisitor visitor, MethodNode mth) {
 		try {
 			if (mth.contains(AType.JADX_ERROR)) {
-				return;
+				return true;
+			}
+			if (DecompileTimeBudget.isEnabled(mth.root().getArgs())) {
+				if (!visitWithTimeBudget(visitor, mth)) {
+					return false;
+				}
+			} else {
+				visitor.visit(mth);
 			}
-			visitor.visit(mth);
 			if (DebugChecks.checksEnabled) {
 				DebugChecks.runChecksAfterVisitor(mth, visitor);
 			}
+			return true;
+		} catch (DecompileTimeoutException e) {
+			DecompileTimeBudget.markTimeout(mth, visitor.getClass().getSimpleName());
+			return false;
 		} catch (StackOverflowError | Exception e) {
 			mth.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
+			return false;
+		}
+	}
+
+	private static boolean visitWithTimeBudget(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		if (!DecompileTimeBudget.startVisit(mth)) {
+			DecompileTimeBudget.markTimeout(mth, visitor.getClass().getSimpleName());
+			return false;
+		}
+		long startTime = System.nanoTime();
+		try {
+			visitor.visit(mth);
+		} finally {
+			DecompileTimeBudget.endVisit(mth, startTime);
 		}
+		return true;
 	}
 
 	private DepthTraversal() {
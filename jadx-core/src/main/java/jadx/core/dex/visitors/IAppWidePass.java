@@ -0,0 +1,22 @@
+package jadx.core.dex.visitors;
+
+import java.util.List;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Prepare pass doing app-wide work in init (renames, mappings).
+ * In lazy loading mode prepare passes run several times (for each new classes closure),
+ * such pass initialized only once and then notified about new classes,
+ * so names already used in generated code are not changed.
+ */
+public interface IAppWidePass {
+
+	/**
+	 * Called instead of init for next runs of prepare passes
+	 *
+	 * @param classes classes processed in current run (including inner classes)
+	 */
+	void processNewClasses(RootNode root, List<ClassNode> classes);
+}
@@ -0,0 +1,18 @@
+package jadx.core.dex.visitors;
+
+/**
+ * Class local pass which can change other classes.
+ * In parallel run such changes collected and applied after all classes visited.
+ */
+public interface IDeferredChangesPass {
+
+	/**
+	 * Called before parallel visit, changes of other classes should be collected from now
+	 */
+	void startDeferredChanges();
+
+	/**
+	 * Called after all classes visited, apply collected changes
+	 */
+	void applyDeferredChanges();
+}
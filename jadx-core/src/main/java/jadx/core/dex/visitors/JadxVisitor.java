@@ -30,4 +30,23 @@ public @interface JadxVisitor {
 	 * This visitor must be run <b>before</b> listed visitors
 	 */
 	Class<? extends IDexTreeVisitor>[] runBefore() default {};
+
+	/**
+	 * Class traversal of this visitor changes only visited class (including inner classes)
+	 * and doesn't depend on results of this visitor for other classes.
+	 * Such visitors can be applied to different top level classes in parallel.
+	 * <br>
+	 * Method {@link IDexTreeVisitor#init(jadx.core.dex.nodes.RootNode)} is always
+	 * executed in one thread before traversal, so global processing should be placed there.
+	 * Changes of other classes should be postponed using {@link IDeferredChangesPass}.
+	 */
+	boolean classLocal() default false;
+
+	/**
+	 * Method visit of this visitor changes only visited method
+	 * and doesn't read data changed by this visitor in other methods of same class.
+	 * Such visitors can be applied to methods of one class in parallel,
+	 * class visit still called before methods visits.
+	 */
+	boolean methodLocal() default false;
 }
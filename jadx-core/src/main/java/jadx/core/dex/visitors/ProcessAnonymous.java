@@ -43,7 +43,7 @@ public class ProcessAnonymous extends AbstractVisitor {
 		if (!inlineAnonymousClasses) {
 			return;
 		}
-		for (ClassNode cls : root.getClasses()) {
+		for (ClassNode cls : root.getPreDecompileClasses()) {
 			markAnonymousClass(cls);
 		}
 		mergeAnonymousDeps(root);
@@ -126,7 +126,7 @@ public class ProcessAnonymous extends AbstractVisitor {
 		// use edges: outer -> *anonymous (one-to-many)
 		Map<ClassNode, ClassNode> inlineMap = new HashMap<>();
 		Map<ClassNode, List<ClassNode>> useMap = new HashMap<>();
-		for (ClassNode anonymousCls : root.getClasses()) {
+		for (ClassNode anonymousCls : root.getPreDecompileClasses()) {
 			AnonymousClassAttr attr = anonymousCls.get(AType.ANONYMOUS_CLASS);
 			if (attr != null) {
 				ClassNode outerCls = attr.getOuterCls();
@@ -151,7 +151,7 @@ public class ProcessAnonymous extends AbstractVisitor {
 				updateDeps(key, inlineMap, added);
 			}
 		});
-		for (ClassNode cls : root.getClasses()) {
+		for (ClassNode cls : root.getPreDecompileClasses()) {
 			List<ClassNode> deps = cls.getCodegenDeps();
 			if (deps.size() > 1) {
 				// distinct sorted dep, reusing collections to reduce memory allocations :)
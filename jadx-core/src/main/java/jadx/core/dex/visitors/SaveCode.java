@@ -3,17 +3,20 @@ package jadx.core.dex.visitors;
 import java.io.File;
 import java.io.PrintWriter;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
+import jadx.api.impl.ChunkedCodeInfo;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.StreamingCodeSaver;
 
 public class SaveCode {
 	private static final Logger LOG = LoggerFactory.getLogger(SaveCode.class);
@@ -22,24 +25,52 @@ public class SaveCode {
 	}
 
 	public static void save(File dir, ClassNode cls, ICodeInfo code) {
+		File outFile = getOutFile(dir, cls, code);
+		if (outFile != null) {
+			save(code, outFile);
+		}
+	}
+
+	/**
+	 * Pass code to streaming saver, file will be written in saver thread
+	 */
+	public static void save(File dir, ClassNode cls, ICodeInfo code, StreamingCodeSaver saver) {
+		File outFile = getOutFile(dir, cls, code);
+		if (outFile != null) {
+			if (code instanceof ChunkedCodeInfo) {
+				ChunkedCodeInfo chunkedCode = (ChunkedCodeInfo) code;
+				saver.submit(outFile, chunkedCode.getChunks(), chunkedCode.getLength());
+			} else {
+				saver.submit(outFile, code.getCodeStr());
+			}
+		}
+	}
+
+	/**
+	 * Return output file for class code or null if nothing should be saved
+	 */
+	@Nullable
+	private static File getOutFile(File dir, ClassNode cls, ICodeInfo code) {
 		if (cls.contains(AFlag.DONT_GENERATE)) {
-			return;
+			return null;
 		}
 		if (code == null) {
 			throw new JadxRuntimeException("Code not generated for class " + cls.getFullName());
 		}
 		if (code == ICodeInfo.EMPTY) {
-			return;
+			return null;
 		}
-		String codeStr = code.getCodeStr();
-		if (codeStr.isEmpty()) {
-			return;
+		if (isEmptyCode(code)) {
+			return null;
 		}
 		if (cls.root().getArgs().isSkipFilesSave()) {
-			return;
+			return null;
 		}
 		String fileName = cls.getClassInfo().getAliasFullPath() + getFileExtension(cls.root());
-		save(codeStr, dir, fileName);
+		if (!ZipSecurity.isValidZipEntryName(fileName)) {
+			return null;
+		}
+		return new File(dir, fileName);
 	}
 
 	public static void save(String code, File dir, String fileName) {
@@ -49,8 +80,26 @@ public class SaveCode {
 		save(code, new File(dir, fileName));
 	}
 
+	private static boolean isEmptyCode(ICodeInfo code) {
+		if (code instanceof ChunkedCodeInfo) {
+			// don't build code string
+			return ((ChunkedCodeInfo) code).getLength() == 0;
+		}
+		return code.getCodeStr().isEmpty();
+	}
+
 	public static void save(ICodeInfo codeInfo, File file) {
-		save(codeInfo.getCodeStr(), file);
+		if (!(codeInfo instanceof ChunkedCodeInfo)) {
+			save(codeInfo.getCodeStr(), file);
+			return;
+		}
+		File outFile = FileUtils.prepareFile(file);
+		try (PrintWriter out = new PrintWriter(outFile, "UTF-8")) {
+			((ChunkedCodeInfo) codeInfo).writeTo(out);
+			out.println();
+		} catch (Exception e) {
+			LOG.error("Save file error", e);
+		}
 	}
 
 	public static void save(String code, File file) {
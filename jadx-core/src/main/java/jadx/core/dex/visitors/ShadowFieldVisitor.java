@@ -5,6 +5,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -31,10 +33,16 @@ import jadx.core.utils.exceptions.JadxException;
 		runBefore = CodeShrinkVisitor.class
 )
 public class ShadowFieldVisitor extends AbstractVisitor {
-	private Map<String, FieldFixInfo> fixInfoMap;
+	private Function<String, FieldFixInfo> fixInfoProvider;
 
 	@Override
 	public void init(RootNode root) {
+		if (root.getArgs().isLazyClassesLoad()) {
+			// search on demand to avoid loading fields of all classes
+			Map<String, FieldFixInfo> cache = new ConcurrentHashMap<>();
+			this.fixInfoProvider = clsName -> cache.computeIfAbsent(clsName, n -> buildFixInfo(root, n));
+			return;
+		}
 		Map<String, FieldFixInfo> map = new HashMap<>();
 		for (ClassNode cls : root.getClasses(true)) {
 			Map<FieldInfo, FieldFixType> fieldFixMap = searchShadowedFields(cls);
@@ -44,7 +52,14 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 				map.put(cls.getRawName(), fixInfo);
 			}
 		}
-		this.fixInfoMap = map;
+		this.fixInfoProvider = map::get;
+	}
+
+	private static FieldFixInfo buildFixInfo(RootNode root, String clsName) {
+		FieldFixInfo fixInfo = new FieldFixInfo();
+		ClassNode cls = root.resolveRawClass(clsName);
+		fixInfo.fieldFixMap = cls == null ? Collections.emptyMap() : searchShadowedFields(cls);
+		return fixInfo;
 	}
 
 	@Override
@@ -52,7 +67,7 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 		if (mth.isNoCode()) {
 			return;
 		}
-		fixShadowFieldAccess(mth, fixInfoMap);
+		fixShadowFieldAccess(mth, fixInfoProvider);
 	}
 
 	private static class FieldFixInfo {
@@ -123,15 +138,15 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 		return fieldsList;
 	}
 
-	private static void fixShadowFieldAccess(MethodNode mth, Map<String, FieldFixInfo> fixInfoMap) {
+	private static void fixShadowFieldAccess(MethodNode mth, Function<String, FieldFixInfo> fixInfoProvider) {
 		for (BlockNode block : mth.getBasicBlocks()) {
 			for (InsnNode insn : block.getInstructions()) {
-				processInsn(mth, insn, fixInfoMap);
+				processInsn(mth, insn, fixInfoProvider);
 			}
 		}
 	}
 
-	private static void processInsn(MethodNode mth, InsnNode insn, Map<String, FieldFixInfo> fixInfoMap) {
+	private static void processInsn(MethodNode mth, InsnNode insn, Function<String, FieldFixInfo> fixInfoProvider) {
 		FieldInfo fieldInfo = getFieldInfo(insn);
 		if (fieldInfo == null) {
 			return;
@@ -141,7 +156,7 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 		if (!type.isTypeKnown() || !type.isObject()) {
 			return;
 		}
-		FieldFixInfo fieldFixInfo = fixInfoMap.get(type.getObject());
+		FieldFixInfo fieldFixInfo = fixInfoProvider.apply(type.getObject());
 		if (fieldFixInfo == null) {
 			return;
 		}
@@ -4,8 +4,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -21,12 +24,38 @@ import jadx.core.dex.visitors.typeinference.TypeCompareEnum;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxException;
 
-public class SignatureProcessor extends AbstractVisitor {
+@JadxVisitor(
+		name = "SignatureProcessor",
+		desc = "Parse generic signatures of classes, fields and methods",
+		classLocal = true
+)
+public class SignatureProcessor extends AbstractVisitor implements IDeferredChangesPass {
 	private RootNode root;
 
+	/**
+	 * Inner classes fixes collected in parallel run (outer class -> inner classes)
+	 */
+	private @Nullable Map<ClassNode, Set<ClassNode>> deferredInners;
+
 	@Override
 	public void init(RootNode root) {
 		this.root = root;
+		this.deferredInners = null;
+	}
+
+	@Override
+	public void startDeferredChanges() {
+		this.deferredInners = new TreeMap<>();
+	}
+
+	@Override
+	public void applyDeferredChanges() {
+		Map<ClassNode, Set<ClassNode>> inners = this.deferredInners;
+		if (inners == null) {
+			return;
+		}
+		this.deferredInners = null;
+		inners.forEach((outerCls, innerClasses) -> innerClasses.forEach(innerCls -> moveToOuter(outerCls, innerCls)));
 	}
 
 	@Override
@@ -262,7 +291,7 @@ public class SignatureProcessor extends AbstractVisitor {
 					return true;
 				}
 			}
-			return false;
+			return isDeferredInner(outerCls, innerObj);
 		}
 		// full name
 		ClassNode innerCls = root.resolveClass(innerObj);
@@ -271,10 +300,42 @@ public class SignatureProcessor extends AbstractVisitor {
 		}
 		if (!innerCls.getParentClass().equals(outerCls)) {
 			// not inner => fixing
+			Map<ClassNode, Set<ClassNode>> inners = this.deferredInners;
+			if (inners != null) {
+				// don't change other classes in parallel run
+				synchronized (inners) {
+					inners.computeIfAbsent(outerCls, k -> new TreeSet<>()).add(innerCls);
+				}
+			} else {
+				moveToOuter(outerCls, innerCls);
+			}
+		}
+		return validateInnerType(innerType);
+	}
+
+	private boolean isDeferredInner(ClassNode outerCls, String shortName) {
+		Map<ClassNode, Set<ClassNode>> inners = this.deferredInners;
+		if (inners == null) {
+			return false;
+		}
+		synchronized (inners) {
+			Set<ClassNode> innerClasses = inners.get(outerCls);
+			if (innerClasses != null) {
+				for (ClassNode innerClass : innerClasses) {
+					if (innerClass.getShortName().equals(shortName)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private static void moveToOuter(ClassNode outerCls, ClassNode innerCls) {
+		if (!innerCls.getParentClass().equals(outerCls)) {
 			outerCls.addInnerClass(innerCls);
 			innerCls.getClassInfo().convertToInner(outerCls);
 		}
-		return validateInnerType(innerType);
 	}
 
 	@Override
@@ -22,12 +22,19 @@ import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.trycatch.TryCatchBlockAttr;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import static jadx.core.dex.visitors.blocks.BlockSplitter.connect;
 
+@JadxVisitor(
+		name = "BlockProcessor",
+		desc = "Process basic blocks: calculate dominators, loops and prepare blocks for regions",
+		runAfter = BlockSplitter.class,
+		methodLocal = true
+)
 public class BlockProcessor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(BlockProcessor.class);
 
@@ -208,7 +215,7 @@ public class BlockProcessor extends AbstractVisitor {
 			// Every successor that dominates its predecessor is a header of a loop,
 			// block -> successor is a back edge.
 			block.getSuccessors().forEach(successor -> {
-				if (block.getDoms().get(successor.getId()) || block == successor) {
+				if (block.isDominator(successor) || block == successor) {
 					successor.add(AFlag.LOOP_START);
 					block.add(AFlag.LOOP_END);
 
@@ -590,7 +597,7 @@ public class BlockProcessor extends AbstractVisitor {
 			block.remove(AType.LOOP);
 			block.remove(AFlag.LOOP_START);
 			block.remove(AFlag.LOOP_END);
-			block.setDoms(null);
+			block.setDomTreeOrder(0, 0);
 			block.setIDom(null);
 			block.setDomFrontier(null);
 			block.getDominatesOn().clear();
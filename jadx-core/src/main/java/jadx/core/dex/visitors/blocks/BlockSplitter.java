@@ -23,9 +23,15 @@ import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.trycatch.CatchAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
+@JadxVisitor(
+		name = "BlockSplitter",
+		desc = "Split method instructions into basic blocks",
+		methodLocal = true
+)
 public class BlockSplitter extends AbstractVisitor {
 
 	// leave these instructions alone in block node
@@ -1,11 +1,10 @@
 package jadx.core.dex.visitors.blocks;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
-import org.jetbrains.annotations.NotNull;
-
 import jadx.core.dex.nodes.BlockNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.BlockUtils;
@@ -17,14 +16,18 @@ import jadx.core.utils.exceptions.JadxRuntimeException;
  * Cooper, Keith D.; Harvey, Timothy J; Kennedy, Ken (2001).
  * "A Simple, Fast Dominance Algorithm"
  * http://www.hipersoft.rice.edu/grads/publications/dom14.pdf
+ * <br>
+ * Immediate dominators calculated in int array indexed by block id,
+ * dominance checks answered by pre/post order numbers in dominator tree
+ * (see {@link BlockNode#isDominator(BlockNode)}), so dominators sets are not stored.
  */
 @SuppressWarnings("JavadocLinkAsPlainText")
 public class DominatorTree {
 
 	public static void compute(MethodNode mth) {
 		List<BlockNode> sorted = sortBlocks(mth);
-		BlockNode[] doms = build(sorted);
-		apply(sorted, doms);
+		int[] idoms = build(sorted);
+		apply(sorted, idoms);
 	}
 
 	private static List<BlockNode> sortBlocks(MethodNode mth) {
@@ -38,38 +41,36 @@ public class DominatorTree {
 		return sorted;
 	}
 
-	@NotNull
-	private static BlockNode[] build(List<BlockNode> sorted) {
+	/**
+	 * Blocks sorted in DFS pre-order, so dominator id always lower than dominated block id
+	 */
+	private static int[] build(List<BlockNode> sorted) {
 		int blocksCount = sorted.size();
-		BlockNode[] doms = new BlockNode[blocksCount];
-		doms[0] = sorted.get(0);
+		int[][] predsIds = new int[blocksCount][];
+		for (int i = 0; i < blocksCount; i++) {
+			List<BlockNode> preds = sorted.get(i).getPredecessors();
+			int predsCount = preds.size();
+			int[] ids = new int[predsCount];
+			for (int p = 0; p < predsCount; p++) {
+				ids[p] = preds.get(p).getId();
+			}
+			predsIds[i] = ids;
+		}
+		int[] doms = new int[blocksCount];
+		Arrays.fill(doms, -1);
+		doms[0] = 0;
 		boolean changed = true;
 		while (changed) {
 			changed = false;
 			for (int blockId = 1; blockId < blocksCount; blockId++) {
-				BlockNode b = sorted.get(blockId);
-				List<BlockNode> preds = b.getPredecessors();
-				int pickedPred = -1;
-				BlockNode newIDom = null;
-				for (BlockNode pred : preds) {
-					int id = pred.getId();
-					if (doms[id] != null) {
-						newIDom = pred;
-						pickedPred = id;
-						break;
+				int newIDom = -1;
+				for (int predId : predsIds[blockId]) {
+					if (doms[predId] != -1) {
+						newIDom = newIDom == -1 ? predId : intersect(doms, predId, newIDom);
 					}
 				}
-				if (newIDom == null) {
-					throw new JadxRuntimeException("No predecessors for block: " + b);
-				}
-				for (BlockNode predBlock : preds) {
-					int predId = predBlock.getId();
-					if (predId == pickedPred) {
-						continue;
-					}
-					if (doms[predId] != null) {
-						newIDom = intersect(sorted, doms, predBlock, newIDom);
-					}
+				if (newIDom == -1) {
+					throw new JadxRuntimeException("No predecessors for block: " + sorted.get(blockId));
 				}
 				if (doms[blockId] != newIDom) {
 					doms[blockId] = newIDom;
@@ -80,54 +81,62 @@ public class DominatorTree {
 		return doms;
 	}
 
-	private static BlockNode intersect(List<BlockNode> sorted, BlockNode[] doms, BlockNode b1, BlockNode b2) {
-		int f1 = b1.getId();
-		int f2 = b2.getId();
+	private static int intersect(int[] doms, int b1, int b2) {
+		int f1 = b1;
+		int f2 = b2;
 		while (f1 != f2) {
 			while (f1 > f2) {
-				f1 = doms[f1].getId();
+				f1 = doms[f1];
 			}
 			while (f2 > f1) {
-				f2 = doms[f2].getId();
+				f2 = doms[f2];
 			}
 		}
-		return sorted.get(f1);
+		return f1;
 	}
 
-	private static void apply(List<BlockNode> sorted, BlockNode[] doms) {
+	private static void apply(List<BlockNode> sorted, int[] doms) {
 		BlockNode enterBlock = sorted.get(0);
-		enterBlock.setDoms(EmptyBitSet.EMPTY);
 		enterBlock.setIDom(null);
 		int blocksCount = sorted.size();
 		for (int i = 1; i < blocksCount; i++) {
 			BlockNode block = sorted.get(i);
-			BlockNode idom = doms[i];
+			BlockNode idom = sorted.get(doms[i]);
 			block.setIDom(idom);
 			idom.addDominatesOn(block);
-			BitSet domBS = collectDoms(doms, idom);
-			domBS.clear(i);
-			block.setDoms(domBS);
 		}
+		numberDomTree(enterBlock, blocksCount);
 	}
 
-	private static BitSet collectDoms(BlockNode[] doms, BlockNode idom) {
-		BitSet domBS = new BitSet(doms.length);
-		BlockNode nextIDom = idom;
-		while (true) {
-			int id = nextIDom.getId();
-			if (domBS.get(id)) {
-				break;
-			}
-			domBS.set(id);
-			BitSet curDoms = nextIDom.getDoms();
-			if (curDoms != null) {
-				// use already collected set
-				domBS.or(curDoms);
-				break;
+	/**
+	 * Assign pre/post order numbers in dominator tree.
+	 * Iterative DFS to avoid stack overflow on long chains.
+	 */
+	private static void numberDomTree(BlockNode enterBlock, int blocksCount) {
+		BlockNode[] stack = new BlockNode[blocksCount];
+		int[] childPos = new int[blocksCount];
+		int[] preNums = new int[blocksCount];
+		int pre = 1;
+		int post = 1;
+		int depth = 0;
+		stack[0] = enterBlock;
+		preNums[enterBlock.getId()] = pre++;
+		while (depth >= 0) {
+			BlockNode block = stack[depth];
+			List<BlockNode> children = block.getDominatesOn();
+			int pos = childPos[depth];
+			if (pos < children.size()) {
+				childPos[depth] = pos + 1;
+				BlockNode child = children.get(pos);
+				depth++;
+				stack[depth] = child;
+				childPos[depth] = 0;
+				preNums[child.getId()] = pre++;
+			} else {
+				block.setDomTreeOrder(preNums[block.getId()], post++);
+				depth--;
 			}
-			nextIDom = doms[id];
 		}
-		return domBS;
 	}
 
 	public static void computeDominanceFrontier(MethodNode mth) {
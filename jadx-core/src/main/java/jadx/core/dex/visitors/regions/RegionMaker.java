@@ -44,6 +44,7 @@ import jadx.core.dex.trycatch.ExcHandlerAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.trycatch.TryCatchBlockAttr;
 import jadx.core.utils.BlockUtils;
+import jadx.core.utils.DecompileTimeBudget;
 import jadx.core.utils.RegionUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxOverflowException;
@@ -93,6 +94,7 @@ public class RegionMaker {
 		while (next != null) {
 			next = traverse(r, next, stack);
 			regionsCount++;
+			DecompileTimeBudget.check(mth, regionsCount);
 			if (regionsCount > regionsLimit) {
 				throw new JadxOverflowException("Regions count limit reached");
 			}
@@ -25,6 +25,7 @@ import jadx.core.dex.regions.SwitchRegion;
 import jadx.core.dex.regions.SynchronizedRegion;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.shrink.CodeShrinkVisitor;
 import jadx.core.utils.InsnRemover;
 import jadx.core.utils.RegionUtils;
@@ -34,6 +35,11 @@ import jadx.core.utils.exceptions.JadxException;
 /**
  * Pack blocks into regions for code generation
  */
+@JadxVisitor(
+		name = "RegionMakerVisitor",
+		desc = "Pack blocks into regions for code generation",
+		methodLocal = true
+)
 public class RegionMakerVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(RegionMakerVisitor.class);
 
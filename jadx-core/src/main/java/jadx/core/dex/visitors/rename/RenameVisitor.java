@@ -25,8 +25,14 @@ import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.PackageNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IAppWidePass;
+import jadx.core.dex.visitors.JadxVisitor;
 
-public class RenameVisitor extends AbstractVisitor {
+@JadxVisitor(
+		name = "RenameVisitor",
+		desc = "Apply user renames and fix invalid names (all work done in init)"
+)
+public class RenameVisitor extends AbstractVisitor implements IAppWidePass {
 	private static final Pattern ANONYMOUS_CLASS_PATTERN = Pattern.compile("^\\d+$");
 
 	@Override
@@ -39,6 +45,33 @@ public class RenameVisitor extends AbstractVisitor {
 		root.registerCodeDataUpdateListener(codeData -> process(root));
 	}
 
+	/**
+	 * Check members of classes from new closure in lazy loading mode.
+	 * Class names already checked for all classes in init.
+	 * <br>
+	 * Only forward usage is followed by closure, so classes using new classes can be processed later.
+	 * Such classes can't change names of already processed classes,
+	 * override methods get alias from already processed methods.
+	 */
+	@Override
+	public void processNewClasses(RootNode root, List<ClassNode> classes) {
+		JadxArgs args = root.getArgs();
+		if (args.getInputFiles().isEmpty() || args.getRenameFlags().isEmpty()) {
+			return;
+		}
+		IAliasProvider aliasProvider = args.getAliasProvider();
+		Set<ClassNode> newTopClasses = new HashSet<>();
+		for (ClassNode cls : classes) {
+			newTopClasses.add(cls.getTopParentClass());
+		}
+		for (ClassNode cls : classes) {
+			useProcessedOverrideAliases(cls, newTopClasses);
+			checkFields(aliasProvider, cls, args);
+			checkMethods(aliasProvider, cls, args);
+		}
+		renameRootPkgsCollisions(aliasProvider, root, classes, root.getCacheStorage().getRootPkgs());
+	}
+
 	private void process(RootNode root) {
 		KotlinMetadataRename.process(root);
 		SourceFileRename.process(root);
@@ -55,11 +88,16 @@ public class RenameVisitor extends AbstractVisitor {
 
 		IAliasProvider aliasProvider = args.getAliasProvider();
 
+		// collisions checked for all classes, but in lazy mode members checked only for prepared classes
 		List<ClassNode> classes = root.getClasses(true);
+		List<ClassNode> membersClasses = new ArrayList<>(classes.size());
 		for (ClassNode cls : classes) {
 			checkClassName(aliasProvider, cls, args);
-			checkFields(aliasProvider, cls, args);
-			checkMethods(aliasProvider, cls, args);
+			if (root.isPreDecompiled(cls)) {
+				checkFields(aliasProvider, cls, args);
+				checkMethods(aliasProvider, cls, args);
+				membersClasses.add(cls);
+			}
 		}
 		if (!args.isFsCaseSensitive() && args.isRenameCaseSensitive()) {
 			Set<String> clsFullPaths = new HashSet<>(classes.size());
@@ -79,7 +117,7 @@ public class RenameVisitor extends AbstractVisitor {
 		if (pkgUpdated) {
 			root.runPackagesUpdate();
 		}
-		processRootPackages(aliasProvider, root, classes);
+		processRootPackages(aliasProvider, root, membersClasses);
 	}
 
 	private static void checkClassName(IAliasProvider aliasProvider, ClassNode cls, JadxArgs args) {
@@ -221,7 +259,11 @@ public class RenameVisitor extends AbstractVisitor {
 	private static void processRootPackages(IAliasProvider aliasProvider, RootNode root, List<ClassNode> classes) {
 		Set<String> rootPkgs = collectRootPkgs(root);
 		root.getCacheStorage().setRootPkgs(rootPkgs);
+		renameRootPkgsCollisions(aliasProvider, root, classes, rootPkgs);
+	}
 
+	private static void renameRootPkgsCollisions(IAliasProvider aliasProvider, RootNode root, List<ClassNode> classes,
+			Set<String> rootPkgs) {
 		if (root.getArgs().isRenameValid()) {
 			// rename field if collide with any root package
 			for (ClassNode cls : classes) {
@@ -235,6 +277,26 @@ public class RenameVisitor extends AbstractVisitor {
 		}
 	}
 
+	/**
+	 * Override relations with methods from already processed classes added only now,
+	 * copy alias from such method and forbid rename to not change names in already generated code.
+	 */
+	private static void useProcessedOverrideAliases(ClassNode cls, Set<ClassNode> newTopClasses) {
+		for (MethodNode mth : cls.getMethods()) {
+			MethodOverrideAttr overrideAttr = mth.get(AType.METHOD_OVERRIDE);
+			if (overrideAttr == null) {
+				continue;
+			}
+			for (MethodNode relatedMth : overrideAttr.getRelatedMthNodes()) {
+				if (!newTopClasses.contains(relatedMth.getParentClass().getTopParentClass())) {
+					mth.getMethodInfo().setAlias(relatedMth.getAlias());
+					mth.add(AFlag.DONT_RENAME);
+					break;
+				}
+			}
+		}
+	}
+
 	private static Set<String> collectRootPkgs(RootNode root) {
 		Set<String> rootPkgs = new HashSet<>();
 		for (PackageNode pkg : root.getPackages()) {
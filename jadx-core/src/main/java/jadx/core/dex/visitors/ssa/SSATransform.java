@@ -32,7 +32,8 @@ import jadx.core.utils.exceptions.JadxRuntimeException;
 @JadxVisitor(
 		name = "SSATransform",
 		desc = "Calculate Single Side Assign (SSA) variables",
-		runAfter = BlockProcessor.class
+		runAfter = BlockProcessor.class,
+		methodLocal = true
 )
 public class SSATransform extends AbstractVisitor {
 
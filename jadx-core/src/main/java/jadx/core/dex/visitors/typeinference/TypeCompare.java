@@ -9,6 +9,7 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.ArgType.WildcardBound;
@@ -32,6 +33,7 @@ public class TypeCompare {
 	private final RootNode root;
 	private final Comparator<ArgType> comparator;
 	private final Comparator<ArgType> reversedComparator;
+	private final TypeCompareCache cache = new TypeCompareCache();
 
 	public TypeCompare(RootNode root) {
 		this.root = root;
@@ -51,6 +53,9 @@ public class TypeCompare {
 		if (first == second || Objects.equals(first, second)) {
 			return TypeCompareEnum.EQUAL;
 		}
+		if (TypeCompareCache.isCacheable(first) && TypeCompareCache.isCacheable(second)) {
+			return compareWithCache(first, second);
+		}
 		return compareObjectsNoPreCheck(first, second);
 	}
 
@@ -61,6 +66,23 @@ public class TypeCompare {
 		if (first == second || Objects.equals(first, second)) {
 			return TypeCompareEnum.EQUAL;
 		}
+		if (TypeCompareCache.isCacheable(first) && TypeCompareCache.isCacheable(second)) {
+			return compareWithCache(first, second);
+		}
+		return compareTypesNoCache(first, second);
+	}
+
+	private TypeCompareEnum compareWithCache(ArgType first, ArgType second) {
+		TypeCompareEnum cached = cache.get(first, second);
+		if (cached != null) {
+			return cached;
+		}
+		TypeCompareEnum result = compareTypesNoCache(first, second);
+		cache.put(first, second, result);
+		return result;
+	}
+
+	private TypeCompareEnum compareTypesNoCache(ArgType first, ArgType second) {
 		boolean firstKnown = first.isTypeKnown();
 		boolean secondKnown = second.isTypeKnown();
 		if (firstKnown != secondKnown) {
@@ -233,11 +255,20 @@ public class TypeCompare {
 		if (firstIsObjCls || second.equals(ArgType.OBJECT)) {
 			return firstIsObjCls ? WIDER : NARROW;
 		}
-		if (ArgType.isInstanceOf(root, first, second)) {
+		if (first.equals(second)) {
 			return NARROW;
 		}
-		if (ArgType.isInstanceOf(root, second, first)) {
-			return WIDER;
+		if (first.isObject() && second.isObject()) {
+			// resolve class ids once for both directions checks
+			ClspGraph clsp = root.getClsp();
+			int firstId = clsp.getClsId(first.getObject());
+			int secondId = clsp.getClsId(second.getObject());
+			if (clsp.isImplements(firstId, secondId)) {
+				return NARROW;
+			}
+			if (clsp.isImplements(secondId, firstId)) {
+				return WIDER;
+			}
 		}
 		if (!ArgType.isClsKnown(root, first) || !ArgType.isClsKnown(root, second)) {
 			return UNKNOWN;
@@ -316,6 +347,10 @@ public class TypeCompare {
 		return extendTypes;
 	}
 
+	public TypeCompareCache getCache() {
+		return cache;
+	}
+
 	public Comparator<ArgType> getComparator() {
 		return comparator;
 	}
@@ -0,0 +1,99 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Memo cache for types compare results, shared by all threads for root node lifetime.
+ * <br>
+ * Only known object and array types without type variables are cached,
+ * because result for type variables depends on method or class generics declaration.
+ * Cache fully cleared if size exceed limit (cheap and good enough for repeated queries).
+ */
+public final class TypeCompareCache {
+	private static final int MAX_SIZE = 200_000;
+
+	private final Map<TypePair, TypeCompareEnum> cache = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public static boolean isCacheable(ArgType type) {
+		return (type.isObject() || type.isArray())
+				&& type.isTypeKnown()
+				&& !type.containsTypeVariable();
+	}
+
+	public @Nullable TypeCompareEnum get(ArgType first, ArgType second) {
+		TypeCompareEnum result = cache.get(new TypePair(first, second));
+		if (result == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return result;
+	}
+
+	public void put(ArgType first, ArgType second, TypeCompareEnum result) {
+		if (cache.size() >= MAX_SIZE) {
+			cache.clear();
+		}
+		cache.put(new TypePair(first, second), result);
+	}
+
+	public void clear() {
+		cache.clear();
+	}
+
+	public int getSize() {
+		return cache.size();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "TypeCompareCache{size=" + cache.size() + ", hits=" + hits.get() + ", misses=" + misses.get() + '}';
+	}
+
+	private static final class TypePair {
+		private final ArgType first;
+		private final ArgType second;
+		private final int hash;
+
+		TypePair(ArgType first, ArgType second) {
+			this.first = first;
+			this.second = second;
+			this.hash = 31 * first.hashCode() + second.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof TypePair)) {
+				return false;
+			}
+			TypePair other = (TypePair) o;
+			return hash == other.hash
+					&& first.equals(other.first)
+					&& second.equals(other.second);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -59,6 +59,7 @@ import jadx.core.utils.InsnList;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.DecompileTimeoutException;
 import jadx.core.utils.exceptions.JadxOverflowException;
 
 @JadxVisitor(
@@ -68,7 +69,8 @@ import jadx.core.utils.exceptions.JadxOverflowException;
 				SSATransform.class,
 				ConstInlineVisitor.class,
 				AttachMethodDetails.class
-		}
+		},
+		methodLocal = true
 )
 public final class TypeInferenceVisitor extends AbstractVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeInferenceVisitor.class);
@@ -110,6 +112,9 @@ public final class TypeInferenceVisitor extends AbstractVisitor {
 					return;
 				}
 			}
+		} catch (DecompileTimeoutException e) {
+			// handled in DepthTraversal
+			throw e;
 		} catch (Exception e) {
 			mth.addError("Type inference failed with exception", e);
 		}
@@ -164,6 +169,8 @@ public final class TypeInferenceVisitor extends AbstractVisitor {
 				}
 			}
 			return true;
+		} catch (DecompileTimeoutException e) {
+			throw e;
 		} catch (Exception e) {
 			mth.addWarnComment("Multi-variable type inference failed. Error: " + Utils.getStackTrace(e));
 			return false;
@@ -856,8 +863,8 @@ public final class TypeInferenceVisitor extends AbstractVisitor {
 		}
 		ClspGraph clsp = mth.root().getClsp();
 		for (ArgType objType : objTypes) {
-			for (String ancestor : clsp.getSuperTypes(objType.getObject())) {
-				ArgType ancestorType = ArgType.object(ancestor);
+			for (int ancestorId : clsp.getSuperTypeIds(clsp.getClsId(objType.getObject()))) {
+				ArgType ancestorType = ArgType.object(clsp.getClsName(ancestorId));
 				TypeUpdateResult result = typeUpdate.applyWithWiderAllow(mth, var, ancestorType);
 				if (result == TypeUpdateResult.CHANGED) {
 					return true;
@@ -6,13 +6,13 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.core.Consts;
+import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.InsnType;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.InsnArg;
@@ -29,12 +29,12 @@ import jadx.core.dex.nodes.MethodNode;
  * Stages description:
  * - find all possible candidate types within bounds
  * - build dynamic constraint list for every variable
- * - run search by checking all candidates
+ * - run search by constraints solver (see {@link TypeSearchSolver})
  */
 public class TypeSearch {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeSearch.class);
 
-	private static final int VARS_PROCESS_LIMIT = 5_000;
+	private static final int VARS_PROCESS_LIMIT = 20_000;
 	private static final int CANDIDATES_COUNT_LIMIT = 10;
 	private static final int SEARCH_ITERATION_LIMIT = 1_000_000;
 
@@ -67,8 +67,7 @@ public class TypeSearch {
 		if (vars.isEmpty()) {
 			searchSuccess = true;
 		} else {
-			search(vars);
-			searchSuccess = fullCheck(vars);
+			searchSuccess = search(vars) && fullCheck(vars);
 			if (Consts.DEBUG_TYPE_INFERENCE && !searchSuccess) {
 				LOG.debug("Multi-variable search failed in {}", mth);
 			}
@@ -123,49 +122,8 @@ public class TypeSearch {
 			LOG.debug(" > max iterations count = {}", sb);
 		}
 
-		// prepare vars
-		for (TypeSearchVarInfo var : vars) {
-			var.reset();
-		}
-		// check all types combinations
-		int n = 0;
-		int i = 0;
-		while (!fullCheck(vars)) {
-			TypeSearchVarInfo first = vars.get(i);
-			if (first.nextType()) {
-				int k = i + 1;
-				if (k >= len) {
-					return false;
-				}
-				TypeSearchVarInfo next = vars.get(k);
-				while (true) {
-					if (next.nextType()) {
-						k++;
-						if (k >= len) {
-							return false;
-						}
-						next = vars.get(k);
-					} else {
-						break;
-					}
-				}
-			}
-			n++;
-			if (n > SEARCH_ITERATION_LIMIT) {
-				if (Consts.DEBUG_TYPE_INFERENCE) {
-					LOG.debug(" > iterations limit reached: {}", SEARCH_ITERATION_LIMIT);
-				}
-				return false;
-			}
-		}
-		if (Consts.DEBUG_TYPE_INFERENCE) {
-			LOG.debug(" > done after {} iterations", n);
-		}
-		// mark all vars as resolved
-		for (TypeSearchVarInfo var : vars) {
-			var.setTypeResolved(true);
-		}
-		return true;
+		TypeSearchSolver solver = new TypeSearchSolver(mth, state, SEARCH_ITERATION_LIMIT);
+		return solver.solve(vars);
 	}
 
 	private boolean resolveIndependentVariables(TypeSearchVarInfo varInfo) {
@@ -187,10 +145,17 @@ public class TypeSearch {
 		return false;
 	}
 
+	/**
+	 * Verify solver result: check all constraints with found types
+	 * ({@link #singleCheck(TypeSearchVarInfo)} can't be used, because all variables already marked as resolved)
+	 */
 	private boolean fullCheck(List<TypeSearchVarInfo> vars) {
 		for (TypeSearchVarInfo var : vars) {
-			if (!singleCheck(var)) {
-				return false;
+			for (ITypeConstraint constraint : var.getConstraints()) {
+				if (!constraint.check(state)) {
+					mth.addDebugComment("Multi-variable search result failed check for " + var);
+					return false;
+				}
 			}
 		}
 		return true;
@@ -299,8 +264,13 @@ public class TypeSearch {
 	private List<ArgType> getWiderTypes(ArgType type) {
 		if (type.isTypeKnown()) {
 			if (type.isObject()) {
-				Set<String> ancestors = mth.root().getClsp().getSuperTypes(type.getObject());
-				return ancestors.stream().map(ArgType::object).collect(Collectors.toList());
+				ClspGraph clsp = mth.root().getClsp();
+				int[] ancestors = clsp.getSuperTypeIds(clsp.getClsId(type.getObject()));
+				List<ArgType> list = new ArrayList<>(ancestors.length);
+				for (int ancestorId : ancestors) {
+					list.add(ArgType.object(clsp.getClsName(ancestorId)));
+				}
+				return list;
 			}
 		} else {
 			return expandUnknownType(type);
@@ -315,8 +285,13 @@ public class TypeSearch {
 					// a lot of objects to return
 					return Collections.singletonList(ArgType.OBJECT);
 				}
-				List<String> impList = mth.root().getClsp().getImplementations(type.getObject());
-				return impList.stream().map(ArgType::object).collect(Collectors.toList());
+				ClspGraph clsp = mth.root().getClsp();
+				int[] impIds = clsp.getImplementationIds(clsp.getClsId(type.getObject()));
+				List<ArgType> list = new ArrayList<>(impIds.length);
+				for (int impId : impIds) {
+					list.add(ArgType.object(clsp.getClsName(impId)));
+				}
+				return list;
 			}
 		} else {
 			return expandUnknownType(type);
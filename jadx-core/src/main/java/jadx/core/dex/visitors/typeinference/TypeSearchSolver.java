@@ -0,0 +1,384 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.Consts;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.SSAVar;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.DecompileTimeBudget;
+
+/**
+ * Constraints solver for multi-variable type search.
+ * <p>
+ * Stages:
+ * - split variables into independent groups connected by constraints
+ * - remove candidate types without support in related variables (generalized arc consistency)
+ * - backtracking search with conflict-directed backjumping,
+ * every constraint checked as soon as all its variables assigned
+ * <p>
+ * Variables assigned in reversed order of input list and candidates checked in sorted order,
+ * so found solution is the same as the first one in plain enumeration of all types combinations.
+ */
+final class TypeSearchSolver {
+	private static final Logger LOG = LoggerFactory.getLogger(TypeSearchSolver.class);
+
+	/**
+	 * Max combinations count of other variables types to search support for one candidate type.
+	 * If exceeded, candidate kept in domain and will be checked by search.
+	 */
+	private static final int SUPPORT_SEARCH_LIMIT = 1024;
+
+	private final MethodNode mth;
+	private final TypeSearchState state;
+	private final int iterationsLimit;
+	private int iterations;
+
+	TypeSearchSolver(MethodNode mth, TypeSearchState state, int iterationsLimit) {
+		this.mth = mth;
+		this.state = state;
+		this.iterationsLimit = iterationsLimit;
+	}
+
+	/**
+	 * Search types for all variables, on success all variables marked as resolved.
+	 */
+	boolean solve(List<TypeSearchVarInfo> varInfoList) {
+		List<VarNode> vars = buildVarNodes(varInfoList);
+		List<ConstraintNode> constraints = buildConstraints(vars);
+		for (List<VarNode> group : splitToGroups(vars)) {
+			boolean success;
+			try {
+				success = solveGroup(group);
+			} catch (SearchLimitException e) {
+				if (Consts.DEBUG_TYPE_INFERENCE) {
+					LOG.debug(" > iterations limit reached: {}", iterationsLimit);
+				}
+				return false;
+			}
+			if (!success) {
+				if (Consts.DEBUG_TYPE_INFERENCE) {
+					LOG.debug(" > search failed for group of {} vars after {} iterations", group.size(), iterations);
+				}
+				return false;
+			}
+		}
+		if (Consts.DEBUG_TYPE_INFERENCE) {
+			LOG.debug(" > done after {} iterations, vars: {}, constraints: {}", iterations, vars.size(), constraints.size());
+		}
+		for (VarNode var : vars) {
+			var.info.setTypeResolved(true);
+		}
+		return true;
+	}
+
+	private static List<VarNode> buildVarNodes(List<TypeSearchVarInfo> varInfoList) {
+		int count = varInfoList.size();
+		List<VarNode> vars = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			vars.add(new VarNode(varInfoList.get(i), i));
+		}
+		return vars;
+	}
+
+	private List<ConstraintNode> buildConstraints(List<VarNode> vars) {
+		Map<SSAVar, VarNode> varsMap = new IdentityHashMap<>(vars.size());
+		for (VarNode var : vars) {
+			varsMap.put(var.info.getVar(), var);
+		}
+		List<ConstraintNode> constraints = new ArrayList<>();
+		for (VarNode var : vars) {
+			for (ITypeConstraint constraint : var.info.getConstraints()) {
+				List<VarNode> scope = new ArrayList<>(constraint.getRelatedVars().size() + 1);
+				scope.add(var);
+				for (SSAVar relatedVar : constraint.getRelatedVars()) {
+					VarNode relatedNode = varsMap.get(relatedVar);
+					if (relatedNode != null && !scope.contains(relatedNode)) {
+						scope.add(relatedNode);
+					}
+				}
+				ConstraintNode constraintNode = new ConstraintNode(constraint, scope.toArray(new VarNode[0]));
+				for (VarNode scopeVar : scope) {
+					scopeVar.constraints.add(constraintNode);
+				}
+				constraints.add(constraintNode);
+			}
+		}
+		return constraints;
+	}
+
+	private static List<List<VarNode>> splitToGroups(List<VarNode> vars) {
+		List<List<VarNode>> groups = new ArrayList<>();
+		BitSet visited = new BitSet(vars.size());
+		Deque<VarNode> queue = new ArrayDeque<>();
+		for (VarNode start : vars) {
+			if (visited.get(start.index)) {
+				continue;
+			}
+			List<VarNode> group = new ArrayList<>();
+			visited.set(start.index);
+			queue.add(start);
+			while (!queue.isEmpty()) {
+				VarNode var = queue.poll();
+				group.add(var);
+				for (ConstraintNode constraint : var.constraints) {
+					for (VarNode scopeVar : constraint.scope) {
+						if (!visited.get(scopeVar.index)) {
+							visited.set(scopeVar.index);
+							queue.add(scopeVar);
+						}
+					}
+				}
+			}
+			groups.add(group);
+		}
+		return groups;
+	}
+
+	private boolean solveGroup(List<VarNode> group) {
+		if (!applyArcConsistency(group)) {
+			return false;
+		}
+		// last var in input list changed least often in plain enumeration, so assign it first
+		group.sort((a, b) -> Integer.compare(b.index, a.index));
+		int count = group.size();
+		for (int pos = 0; pos < count; pos++) {
+			group.get(pos).pos = pos;
+		}
+		List<List<ConstraintNode>> checkAt = new ArrayList<>(count);
+		for (int pos = 0; pos < count; pos++) {
+			checkAt.add(new ArrayList<>());
+		}
+		for (VarNode var : group) {
+			for (ConstraintNode constraint : var.constraints) {
+				// add once: only one var in scope has last position
+				if (constraint.getLastPos() == var.pos) {
+					checkAt.get(var.pos).add(constraint);
+				}
+			}
+		}
+		return search(group, checkAt);
+	}
+
+	/**
+	 * Backtracking with conflict-directed backjumping (Prosser, 1993)
+	 */
+	private boolean search(List<VarNode> group, List<List<ConstraintNode>> checkAt) {
+		int count = group.size();
+		int[] valueIdx = new int[count];
+		BitSet[] conflicts = new BitSet[count];
+		for (int i = 0; i < count; i++) {
+			conflicts[i] = new BitSet(count);
+		}
+		valueIdx[0] = -1;
+		int pos = 0;
+		while (pos < count) {
+			VarNode var = group.get(pos);
+			List<ArgType> domain = var.domain;
+			boolean found = false;
+			int idx = valueIdx[pos] + 1;
+			for (int len = domain.size(); idx < len; idx++) {
+				var.info.setCurrentType(domain.get(idx));
+				countIteration();
+				ConstraintNode failed = checkConstraints(checkAt.get(pos));
+				if (failed == null) {
+					found = true;
+					break;
+				}
+				for (VarNode scopeVar : failed.scope) {
+					if (scopeVar.pos < pos) {
+						conflicts[pos].set(scopeVar.pos);
+					}
+				}
+			}
+			if (found) {
+				valueIdx[pos] = idx;
+				pos++;
+				if (pos < count) {
+					valueIdx[pos] = -1;
+					conflicts[pos].clear();
+				}
+			} else {
+				int jumpPos = conflicts[pos].length() - 1;
+				if (jumpPos < 0) {
+					return false;
+				}
+				conflicts[jumpPos].or(conflicts[pos]);
+				conflicts[jumpPos].clear(jumpPos);
+				for (int i = jumpPos + 1; i <= pos; i++) {
+					conflicts[i].clear();
+				}
+				pos = jumpPos;
+			}
+		}
+		// restore types (can be changed by failed checks)
+		for (int i = 0; i < count; i++) {
+			VarNode var = group.get(i);
+			var.info.setCurrentType(var.domain.get(valueIdx[i]));
+		}
+		return true;
+	}
+
+	private ConstraintNode checkConstraints(List<ConstraintNode> constraints) {
+		for (ConstraintNode constraint : constraints) {
+			if (!constraint.constraint.check(state)) {
+				return constraint;
+			}
+		}
+		return null;
+	}
+
+	private boolean applyArcConsistency(List<VarNode> group) {
+		Deque<ConstraintNode> queue = new ArrayDeque<>();
+		for (VarNode var : group) {
+			for (ConstraintNode constraint : var.constraints) {
+				if (constraint.scope[0] == var) {
+					constraint.queued = true;
+					queue.add(constraint);
+				}
+			}
+		}
+		while (!queue.isEmpty()) {
+			ConstraintNode constraint = queue.poll();
+			constraint.queued = false;
+			for (VarNode var : constraint.scope) {
+				if (revise(var, constraint)) {
+					if (var.domain.isEmpty()) {
+						return false;
+					}
+					for (ConstraintNode varConstraint : var.constraints) {
+						if (varConstraint != constraint && !varConstraint.queued) {
+							varConstraint.queued = true;
+							queue.add(varConstraint);
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Remove types from variable domain without support in other constraint variables.
+	 *
+	 * @return true if domain changed
+	 */
+	private boolean revise(VarNode var, ConstraintNode constraint) {
+		VarNode[] scope = constraint.scope;
+		long combinations = 1;
+		for (VarNode scopeVar : scope) {
+			if (scopeVar != var) {
+				combinations *= scopeVar.domain.size();
+				if (combinations > SUPPORT_SEARCH_LIMIT) {
+					return false;
+				}
+			}
+		}
+		List<ArgType> domain = var.domain;
+		boolean changed = false;
+		for (int i = domain.size() - 1; i >= 0; i--) {
+			var.info.setCurrentType(domain.get(i));
+			if (!hasSupport(constraint, var, 0)) {
+				if (!changed) {
+					domain = new ArrayList<>(domain);
+					changed = true;
+				}
+				domain.remove(i);
+			}
+		}
+		if (changed) {
+			var.domain = domain;
+		}
+		return changed;
+	}
+
+	private boolean hasSupport(ConstraintNode constraint, VarNode fixedVar, int scopeIdx) {
+		VarNode[] scope = constraint.scope;
+		if (scopeIdx == scope.length) {
+			countIteration();
+			return constraint.constraint.check(state);
+		}
+		VarNode var = scope[scopeIdx];
+		if (var == fixedVar) {
+			return hasSupport(constraint, fixedVar, scopeIdx + 1);
+		}
+		for (ArgType type : var.domain) {
+			var.info.setCurrentType(type);
+			if (hasSupport(constraint, fixedVar, scopeIdx + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void countIteration() {
+		int n = ++iterations;
+		DecompileTimeBudget.check(mth, n);
+		if (n > iterationsLimit) {
+			throw new SearchLimitException();
+		}
+	}
+
+	private static final class SearchLimitException extends RuntimeException {
+		private static final long serialVersionUID = -1295447127488734146L;
+
+		SearchLimitException() {
+			super("Type search iterations limit reached", null, false, false);
+		}
+	}
+
+	private static final class VarNode {
+		private final TypeSearchVarInfo info;
+		private final int index;
+		private final List<ConstraintNode> constraints = new ArrayList<>();
+		private List<ArgType> domain;
+		private int pos = -1;
+
+		VarNode(TypeSearchVarInfo info, int index) {
+			this.info = info;
+			this.index = index;
+			this.domain = info.getCandidateTypes();
+		}
+
+		@Override
+		public String toString() {
+			return info.getVar().toShortString() + ": " + domain;
+		}
+	}
+
+	private static final class ConstraintNode {
+		private final ITypeConstraint constraint;
+		/**
+		 * Unresolved variables used in constraint, first is constraint owner
+		 */
+		private final VarNode[] scope;
+		private boolean queued;
+
+		ConstraintNode(ITypeConstraint constraint, VarNode[] scope) {
+			this.constraint = constraint;
+			this.scope = scope;
+		}
+
+		int getLastPos() {
+			int max = -1;
+			for (VarNode var : scope) {
+				max = Math.max(max, var.pos);
+			}
+			return max;
+		}
+
+		@Override
+		public String toString() {
+			return constraint.toString();
+		}
+	}
+}
@@ -20,7 +20,10 @@ public class TypeSearchState {
 	private final Map<SSAVar, TypeSearchVarInfo> varInfoMap;
 
 	public TypeSearchState(MethodNode mth) {
-		List<SSAVar> vars = mth.getSVars();
+		this(mth.getSVars());
+	}
+
+	TypeSearchState(List<SSAVar> vars) {
 		this.varInfoMap = new LinkedHashMap<>(vars.size());
 		for (SSAVar var : vars) {
 			varInfoMap.put(var, new TypeSearchVarInfo(var));
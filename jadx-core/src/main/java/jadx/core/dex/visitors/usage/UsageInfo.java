@@ -2,6 +2,7 @@ package jadx.core.dex.visitors.usage;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -38,6 +39,18 @@ public class UsageInfo implements IUsageInfoData {
 		mthUsage.visit((mth, methods) -> mth.setUseIn(sortedList(methods)));
 	}
 
+	/**
+	 * Add collected usage to already applied data instead of replacing it.
+	 * Used in lazy loading mode, there usage collected separately for each new classes closure.
+	 */
+	public void applyMerged() {
+		clsDeps.visit((cls, deps) -> cls.setDependencies(mergedList(cls.getDependencies(), deps)));
+		clsUsage.visit((cls, deps) -> cls.setUseIn(mergedList(cls.getUseIn(), deps)));
+		clsUseInMth.visit((cls, methods) -> cls.setUseInMth(mergedList(cls.getUseInMth(), methods)));
+		fieldUsage.visit((field, methods) -> field.setUseIn(mergedList(field.getUseIn(), methods)));
+		mthUsage.visit((mth, methods) -> mth.setUseIn(mergedList(mth.getUseIn(), methods)));
+	}
+
 	@Override
 	public void applyForClass(ClassNode cls) {
 		cls.setDependencies(sortedList(clsDeps.get(cls)));
@@ -61,6 +74,14 @@ public class UsageInfo implements IUsageInfoData {
 		visitor.visitComplete();
 	}
 
+	/**
+	 * Top classes used in provided top class
+	 */
+	public Set<ClassNode> getClassDeps(ClassNode cls) {
+		Set<ClassNode> deps = clsDeps.get(cls);
+		return deps != null ? deps : Collections.emptySet();
+	}
+
 	public void clsUse(ClassNode cls, ArgType useType) {
 		processType(useType, depCls -> clsUse(cls, depCls));
 	}
@@ -126,6 +147,15 @@ public class UsageInfo implements IUsageInfoData {
 		}
 	}
 
+	private static <T extends Comparable<T>> List<T> mergedList(List<T> list, Set<T> add) {
+		if (list.isEmpty()) {
+			return sortedList(add);
+		}
+		Set<T> set = new HashSet<>(list);
+		set.addAll(add);
+		return sortedList(set);
+	}
+
 	private static <T extends Comparable<T>> List<T> sortedList(Set<T> deps) {
 		if (deps == null || deps.isEmpty()) {
 			return Collections.emptyList();
@@ -1,7 +1,14 @@
 package jadx.core.dex.visitors.usage;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +49,13 @@ public class UsageInfoVisitor extends AbstractVisitor {
 
 	@Override
 	public void init(RootNode root) {
+		if (root.getArgs().isLazyClassesLoad()) {
+			// usage collected only for current classes closure: can't be cached,
+			// merge with usage from previous runs to not lose already known usage
+			UsageInfo usageInfo = buildUsageData(root);
+			usageInfo.applyMerged();
+			return;
+		}
 		IUsageInfoCache usageCache = root.getArgs().getUsageInfoCache();
 		IUsageInfoData usageInfoData = usageCache.get(root);
 		if (usageInfoData != null) {
@@ -65,14 +79,52 @@ public class UsageInfoVisitor extends AbstractVisitor {
 		}
 	}
 
-	private static IUsageInfoData buildUsageData(RootNode root) {
+	private static UsageInfo buildUsageData(RootNode root) {
 		UsageInfo usageInfo = new UsageInfo(root);
-		for (ClassNode cls : root.getClasses()) {
+		for (ClassNode cls : root.getPreDecompileClasses()) {
 			processClass(cls, usageInfo);
 		}
 		return usageInfo;
 	}
 
+	/**
+	 * Collect requested top classes and all classes used in them (including transitive usage).
+	 * Result also contains inner classes and sorted by full name (same as root classes list).
+	 *
+	 * @param skipClasses top classes to exclude from result and scanning
+	 */
+	public static List<ClassNode> collectUsageClosure(RootNode root, Collection<ClassNode> clsList, Set<ClassNode> skipClasses) {
+		UsageInfo usageInfo = new UsageInfo(root);
+		Set<ClassNode> added = new HashSet<>();
+		Deque<ClassNode> queue = new ArrayDeque<>();
+		for (ClassNode cls : clsList) {
+			ClassNode topCls = cls.getTopParentClass();
+			if (!skipClasses.contains(topCls) && added.add(topCls)) {
+				queue.add(topCls);
+			}
+		}
+		List<ClassNode> result = new ArrayList<>();
+		while (!queue.isEmpty()) {
+			ClassNode topCls = queue.poll();
+			addWithInners(topCls, result, usageInfo);
+			for (ClassNode depCls : usageInfo.getClassDeps(topCls)) {
+				if (!skipClasses.contains(depCls) && added.add(depCls)) {
+					queue.add(depCls);
+				}
+			}
+		}
+		result.sort(Comparator.comparing(ClassNode::getFullName));
+		return result;
+	}
+
+	private static void addWithInners(ClassNode cls, List<ClassNode> result, UsageInfo usageInfo) {
+		result.add(cls);
+		processClass(cls, usageInfo);
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addWithInners(innerCls, result, usageInfo);
+		}
+	}
+
 	private static void processClass(ClassNode cls, UsageInfo usageInfo) {
 		usageInfo.clsUse(cls, cls.getSuperClass());
 		for (ArgType interfaceType : cls.getInterfaces()) {
@@ -708,21 +708,27 @@ public class BlockUtils {
 	 */
 	@Nullable
 	public static BlockNode getCommonDominator(MethodNode mth, List<BlockNode> blocks) {
-		BitSet doms = newBlocksBitSet(mth);
-		// collect all dominators from input set
-		doms.set(0, mth.getBasicBlocks().size());
-		blocks.forEach(b -> doms.and(b.getDoms()));
-		// exclude all dominators of immediate dominator (including self)
-		BitSet combine = newBlocksBitSet(mth);
-		combine.or(doms);
-		forEachBlockFromBitSet(mth, doms, block -> {
-			BlockNode idom = block.getIDom();
-			if (idom != null) {
-				combine.andNot(idom.getDoms());
-				combine.clear(idom.getId());
+		if (blocks.isEmpty()) {
+			return null;
+		}
+		// walk up in dominator tree from dominator of first block until all blocks dominated
+		BlockNode dom = blocks.get(0).getIDom();
+		while (dom != null) {
+			if (isDominatorForAll(dom, blocks)) {
+				return dom;
 			}
-		});
-		return bitSetToOneBlock(mth, combine);
+			dom = dom.getIDom();
+		}
+		return null;
+	}
+
+	private static boolean isDominatorForAll(BlockNode dom, List<BlockNode> blocks) {
+		for (BlockNode block : blocks) {
+			if (!block.isDominator(dom)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -0,0 +1,69 @@
+package jadx.core.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fork join pool with tasks counters (like {@link java.util.concurrent.ThreadPoolExecutor})
+ * to allow progress reporting.
+ * Tasks forked inside pool should be registered with {@link #addTasks(long)} and {@link #taskCompleted()}.
+ */
+public class CountingForkJoinPool extends ForkJoinPool {
+	private final AtomicLong taskCount = new AtomicLong();
+	private final AtomicLong completedTaskCount = new AtomicLong();
+	private final AtomicBoolean terminateHookCalled = new AtomicBoolean();
+	private @Nullable Runnable terminateHook;
+
+	public CountingForkJoinPool(int parallelism) {
+		super(parallelism);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		taskCount.incrementAndGet();
+		super.execute(() -> {
+			try {
+				task.run();
+			} finally {
+				completedTaskCount.incrementAndGet();
+			}
+		});
+	}
+
+	/**
+	 * Hook called once after pool termination, before {@link #awaitTermination(long, TimeUnit)} return
+	 * (fork join pool don't have 'terminated' callback like ThreadPoolExecutor)
+	 */
+	public void setTerminateHook(@Nullable Runnable terminateHook) {
+		this.terminateHook = terminateHook;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		boolean terminated = super.awaitTermination(timeout, unit);
+		if (terminated && terminateHook != null && terminateHookCalled.compareAndSet(false, true)) {
+			terminateHook.run();
+		}
+		return terminated;
+	}
+
+	public void addTasks(long count) {
+		taskCount.addAndGet(count);
+	}
+
+	public void taskCompleted() {
+		completedTaskCount.incrementAndGet();
+	}
+
+	public long getTaskCount() {
+		return taskCount.get();
+	}
+
+	public long getCompletedTaskCount() {
+		return completedTaskCount.get();
+	}
+}
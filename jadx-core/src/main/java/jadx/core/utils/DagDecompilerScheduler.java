@@ -0,0 +1,268 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JavaClass;
+import jadx.core.dex.nodes.ClassNode;
+
+/**
+ * Decompile scheduler based on classes dependency graph.
+ * <br>
+ * Classes with cyclic dependencies merged into one node (strongly connected component),
+ * node processed only after all its dependencies, so threads don't block on class locks.
+ * Nodes executed in {@link CountingForkJoinPool}: ready dependents forked into worker queue,
+ * idle workers steal them. Nodes with longest dependents chain started first to shorten the tail.
+ */
+public class DagDecompilerScheduler {
+	private static final Logger LOG = LoggerFactory.getLogger(DagDecompilerScheduler.class);
+
+	/**
+	 * Submit all classes into pool, action called for every class after its dependencies.
+	 * Pool can be shutdown right after this call, pending tasks forked from workers still accepted.
+	 */
+	public void execute(CountingForkJoinPool pool, List<JavaClass> classes, Consumer<JavaClass> action) {
+		long start = System.currentTimeMillis();
+		List<DepNode> nodes = buildGraph(classes);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Build decompilation graph in {}ms, nodes: {}, classes: {}",
+					System.currentTimeMillis() - start, nodes.size(), classes.size());
+		}
+		List<DepNode> roots = new ArrayList<>();
+		for (DepNode node : nodes) {
+			if (node.getPending() == 0) {
+				roots.add(node);
+			}
+		}
+		roots.sort(Comparator.comparingLong(DepNode::getChainCost).reversed());
+		pool.addTasks(nodes.size());
+		for (DepNode root : roots) {
+			pool.submit(new NodeTask(pool, root, action));
+		}
+	}
+
+	/**
+	 * Build graph nodes in topological order
+	 */
+	static List<DepNode> buildGraph(List<JavaClass> classes) {
+		int count = classes.size();
+		Map<ClassNode, Integer> indexMap = new HashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			indexMap.put(classes.get(i).getClassNode(), i);
+		}
+		int[][] deps = new int[count][];
+		for (int i = 0; i < count; i++) {
+			deps[i] = collectDeps(classes.get(i).getClassNode(), i, indexMap);
+		}
+		int[] components = new int[count];
+		int componentsCount = new TarjanScc(deps).run(components);
+
+		// tarjan emits components in reverse topological order, i.e. dependencies first
+		List<DepNode> nodes = new ArrayList<>(componentsCount);
+		for (int c = 0; c < componentsCount; c++) {
+			nodes.add(new DepNode());
+		}
+		for (int i = 0; i < count; i++) {
+			DepNode node = nodes.get(components[i]);
+			JavaClass cls = classes.get(i);
+			node.classes.add(cls);
+			node.cost += 1 + cls.getClassNode().getMethods().size();
+		}
+		for (int i = 0; i < count; i++) {
+			DepNode node = nodes.get(components[i]);
+			for (int dep : deps[i]) {
+				DepNode depNode = nodes.get(components[dep]);
+				if (depNode != node && depNode.dependents.add(node)) {
+					node.pending.incrementAndGet();
+				}
+			}
+		}
+		// dependents always placed after node, so walk back to accumulate chain cost
+		for (int c = componentsCount - 1; c >= 0; c--) {
+			DepNode node = nodes.get(c);
+			long maxChain = 0;
+			for (DepNode dependent : node.dependents) {
+				maxChain = Math.max(maxChain, dependent.chainCost);
+			}
+			node.chainCost = node.cost + maxChain;
+		}
+		return nodes;
+	}
+
+	private static int[] collectDeps(ClassNode cls, int clsIndex, Map<ClassNode, Integer> indexMap) {
+		Set<Integer> result = new LinkedHashSet<>();
+		addDeps(result, cls.getDependencies(), clsIndex, indexMap);
+		addDeps(result, cls.getCodegenDeps(), clsIndex, indexMap);
+		int[] arr = new int[result.size()];
+		int i = 0;
+		for (Integer dep : result) {
+			arr[i++] = dep;
+		}
+		return arr;
+	}
+
+	private static void addDeps(Set<Integer> result, List<ClassNode> deps, int clsIndex, Map<ClassNode, Integer> indexMap) {
+		for (ClassNode dep : deps) {
+			// classes not in queue (filtered or already processed) don't affect order
+			Integer depIndex = indexMap.get(dep.getTopParentClass());
+			if (depIndex != null && depIndex != clsIndex) {
+				result.add(depIndex);
+			}
+		}
+	}
+
+	static final class DepNode {
+		private final List<JavaClass> classes = new ArrayList<>(1);
+		private final Set<DepNode> dependents = new LinkedHashSet<>();
+		private final AtomicInteger pending = new AtomicInteger();
+		private long cost;
+		private long chainCost;
+
+		int getPending() {
+			return pending.get();
+		}
+
+		long getChainCost() {
+			return chainCost;
+		}
+	}
+
+	private static final class NodeTask extends RecursiveAction {
+		private static final long serialVersionUID = -5483217905871436017L;
+
+		private final transient CountingForkJoinPool pool;
+		private final transient DepNode startNode;
+		private final transient Consumer<JavaClass> action;
+
+		NodeTask(CountingForkJoinPool pool, DepNode startNode, Consumer<JavaClass> action) {
+			this.pool = pool;
+			this.startNode = startNode;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			DepNode node = startNode;
+			while (node != null) {
+				process(node);
+				// continue with most expensive ready dependent in this thread, fork others
+				DepNode next = null;
+				for (DepNode dependent : node.dependents) {
+					if (dependent.pending.decrementAndGet() == 0) {
+						if (next == null) {
+							next = dependent;
+						} else if (dependent.chainCost > next.chainCost) {
+							new NodeTask(pool, next, action).fork();
+							next = dependent;
+						} else {
+							new NodeTask(pool, dependent, action).fork();
+						}
+					}
+				}
+				node = next;
+			}
+		}
+
+		private void process(DepNode node) {
+			try {
+				for (JavaClass cls : node.classes) {
+					try {
+						action.accept(cls);
+					} catch (Throwable e) {
+						// keep going to not lose dependents of failed class
+						LOG.error("Class processing failed: {}", cls, e);
+					}
+				}
+			} finally {
+				pool.taskCompleted();
+			}
+		}
+	}
+
+	/**
+	 * Iterative Tarjan algorithm (recursion can overflow stack on long dependency chains)
+	 */
+	private static final class TarjanScc {
+		private final int[][] graph;
+		private final int[] index;
+		private final int[] lowLink;
+		private final boolean[] onStack;
+		private final int[] stack;
+		private int stackSize;
+		private int nextIndex;
+		private int componentsCount;
+
+		TarjanScc(int[][] graph) {
+			int count = graph.length;
+			this.graph = graph;
+			this.index = new int[count];
+			this.lowLink = new int[count];
+			this.onStack = new boolean[count];
+			this.stack = new int[count];
+			Arrays.fill(index, -1);
+		}
+
+		int run(int[] components) {
+			int count = graph.length;
+			int[] callStack = new int[count];
+			int[] edgePos = new int[count];
+			for (int start = 0; start < count; start++) {
+				if (index[start] != -1) {
+					continue;
+				}
+				int depth = 0;
+				callStack[depth] = start;
+				visit(start);
+				while (depth >= 0) {
+					int v = callStack[depth];
+					int[] edges = graph[v];
+					if (edgePos[v] < edges.length) {
+						int w = edges[edgePos[v]++];
+						if (index[w] == -1) {
+							visit(w);
+							callStack[++depth] = w;
+						} else if (onStack[w]) {
+							lowLink[v] = Math.min(lowLink[v], index[w]);
+						}
+						continue;
+					}
+					if (lowLink[v] == index[v]) {
+						int w;
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							components[w] = componentsCount;
+						} while (w != v);
+						componentsCount++;
+					}
+					depth--;
+					if (depth >= 0) {
+						int parent = callStack[depth];
+						lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+					}
+				}
+			}
+			return componentsCount;
+		}
+
+		private void visit(int v) {
+			index[v] = nextIndex;
+			lowLink[v] = nextIndex;
+			nextIndex++;
+			stack[stackSize++] = v;
+			onStack[v] = true;
+		}
+	}
+}
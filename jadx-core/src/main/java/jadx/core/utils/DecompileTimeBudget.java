@@ -0,0 +1,98 @@
+package jadx.core.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.exceptions.DecompileTimeoutException;
+
+/**
+ * Limit time spent in decompilation passes for method and class
+ * (see {@link JadxArgs#getMethodTimeLimit()} and {@link JadxArgs#getClassTimeLimit()}).
+ * <br>
+ * Time measured around method visits in {@link jadx.core.dex.visitors.DepthTraversal},
+ * long running loops inside passes should call {@link #check(MethodNode, int)} to stop early.
+ * Method with exhausted budget marked with error and generated in fallback mode,
+ * code of such class not saved into code cache.
+ */
+public final class DecompileTimeBudget {
+
+	/**
+	 * Check deadline only on every 1024 iteration to not call {@link System#nanoTime()} too often
+	 */
+	private static final int CHECK_INTERVAL_MASK = 0x3FF;
+
+	public static boolean isEnabled(JadxArgs args) {
+		return args.getMethodTimeLimit() > 0 || args.getClassTimeLimit() > 0;
+	}
+
+	/**
+	 * Set deadline for next pass visit
+	 *
+	 * @return false if time budget already exhausted
+	 */
+	public static boolean startVisit(MethodNode mth) {
+		JadxArgs args = mth.root().getArgs();
+		long remaining = Long.MAX_VALUE;
+		if (args.getMethodTimeLimit() > 0) {
+			remaining = toNanos(args.getMethodTimeLimit()) - mth.getProcessTime();
+		}
+		if (args.getClassTimeLimit() > 0) {
+			long clsTime = getTopClass(mth).getProcessTime().get();
+			remaining = Math.min(remaining, toNanos(args.getClassTimeLimit()) - clsTime);
+		}
+		if (remaining <= 0) {
+			return false;
+		}
+		mth.setPassDeadline(System.nanoTime() + remaining);
+		return true;
+	}
+
+	public static void endVisit(MethodNode mth, long startTime) {
+		long time = System.nanoTime() - startTime;
+		mth.setPassDeadline(0);
+		mth.addProcessTime(time);
+		getTopClass(mth).getProcessTime().addAndGet(time);
+	}
+
+	/**
+	 * Cooperative deadline check for long loops
+	 *
+	 * @param iteration loop counter, deadline checked only on some iterations
+	 * @throws DecompileTimeoutException if time budget exhausted
+	 */
+	public static void check(MethodNode mth, int iteration) {
+		if ((iteration & CHECK_INTERVAL_MASK) == 0) {
+			check(mth);
+		}
+	}
+
+	public static void check(MethodNode mth) {
+		long deadline = mth.getPassDeadline();
+		if (deadline != 0 && System.nanoTime() - deadline > 0) {
+			throw new DecompileTimeoutException("Decompilation time limit reached");
+		}
+	}
+
+	public static void markTimeout(MethodNode mth, String passName) {
+		JadxArgs args = mth.root().getArgs();
+		mth.addError("Decompilation time limit reached in pass: " + passName
+				+ " (method time: " + TimeUnit.NANOSECONDS.toMillis(mth.getProcessTime())
+				+ "ms, limits: method " + args.getMethodTimeLimit()
+				+ "ms, class " + args.getClassTimeLimit() + "ms)", null);
+		// don't save incomplete code into code cache
+		getTopClass(mth).setTimeLimitReached();
+	}
+
+	private static ClassNode getTopClass(MethodNode mth) {
+		return mth.getParentClass().getTopParentClass();
+	}
+
+	private static long toNanos(int millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	private DecompileTimeBudget() {
+	}
+}
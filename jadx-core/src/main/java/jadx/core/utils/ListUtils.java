@@ -48,6 +48,23 @@ public class ListUtils {
 		return list.get(list.size() - 1);
 	}
 
+	/**
+	 * Split list into parts with almost same size, elements order preserved.
+	 * Returned parts are views of the original list.
+	 */
+	public static <T> List<List<T>> splitToParts(List<T> list, int partsCount) {
+		int size = list.size();
+		int parts = Math.max(1, Math.min(partsCount, size));
+		List<List<T>> result = new ArrayList<>(parts);
+		int start = 0;
+		for (int i = 1; i <= parts; i++) {
+			int end = (int) ((long) size * i / parts);
+			result.add(list.subList(start, end));
+			start = end;
+		}
+		return result;
+	}
+
 	public static <T extends Comparable<T>> List<T> distinctMergeSortedLists(List<T> first, List<T> second) {
 		if (first.isEmpty()) {
 			return second;
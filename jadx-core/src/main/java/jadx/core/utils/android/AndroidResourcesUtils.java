@@ -174,7 +174,7 @@ public class AndroidResourcesUtils {
 	private static Map<Integer, FieldNode> fillResFieldsMap(ClassNode resCls) {
 		Map<Integer, FieldNode> resFieldsMap = new HashMap<>();
 		ConstStorage constStorage = resCls.root().getConstValues();
-		Map<Object, FieldNode> constFields = constStorage.getGlobalConstFields();
+		Map<Object, FieldNode> constFields = constStorage.getGlobalConstFields(resCls.root());
 		for (Map.Entry<Object, FieldNode> entry : constFields.entrySet()) {
 			Object key = entry.getKey();
 			FieldNode field = entry.getValue();
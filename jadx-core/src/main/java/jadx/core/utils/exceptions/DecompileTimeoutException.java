@@ -0,0 +1,13 @@
+package jadx.core.utils.exceptions;
+
+/**
+ * Method decompilation time limit reached, see {@link jadx.core.utils.DecompileTimeBudget}
+ */
+public class DecompileTimeoutException extends JadxOverflowException {
+
+	private static final long serialVersionUID = -1702873635817239014L;
+
+	public DecompileTimeoutException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,201 @@
+package jadx.core.utils.files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Write generated code in dedicated threads.
+ * <br>
+ * Code strings passed through queue bounded by memory size: if writers are slow,
+ * codegen threads will wait in {@link #submit(File, String)} instead of piling up code in heap.
+ * Code encoded into reused buffer and written directly into file channel.
+ */
+public class StreamingCodeSaver implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingCodeSaver.class);
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final SaveEntry STOP = new SaveEntry(null, Collections.emptyList(), 0);
+
+	private final BlockingQueue<SaveEntry> queue = new LinkedBlockingQueue<>();
+	private final Semaphore memoryPermits;
+	private final int permitsLimit;
+	private final List<Thread> writers;
+	private volatile boolean closed;
+	private volatile Throwable writerError;
+
+	/**
+	 * @param memoryLimit max size of queued code in bytes
+	 */
+	public StreamingCodeSaver(int writersCount, long memoryLimit) {
+		this.permitsLimit = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryLimit / 1024));
+		this.memoryPermits = new Semaphore(permitsLimit);
+		this.writers = new ArrayList<>(writersCount);
+		for (int i = 0; i < writersCount; i++) {
+			Thread writer = new Thread(this::writerLoop, "jadx-code-writer-" + i);
+			writer.setDaemon(true);
+			writers.add(writer);
+			writer.start();
+		}
+	}
+
+	/**
+	 * Add code to write queue, blocks if queue memory limit reached
+	 */
+	public void submit(File file, String code) {
+		submit(file, Collections.singletonList(code), code.length());
+	}
+
+	/**
+	 * Add code stored in chunks to write queue (chunks written sequentially without joining)
+	 */
+	public void submit(File file, List<String> codeChunks, int codeLength) {
+		if (closed) {
+			throw new JadxRuntimeException("Code saver already closed");
+		}
+		checkWriterError();
+		// string size estimated as 2 bytes per char, big entries take whole limit
+		int permits = (int) Math.min(permitsLimit, codeLength * 2L / 1024 + 1);
+		try {
+			memoryPermits.acquire(permits);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Code save interrupted", e);
+		}
+		queue.add(new SaveEntry(file, codeChunks, permits));
+	}
+
+	private void writerLoop() {
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+		while (true) {
+			SaveEntry entry;
+			try {
+				entry = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (entry == STOP) {
+				return;
+			}
+			try {
+				if (writerError == null) {
+					write(entry, encoder, buffer);
+				}
+			} catch (Exception e) {
+				LOG.error("Save file error: {}", entry.file, e);
+			} catch (Throwable e) {
+				// keep thread alive to release permits of queued entries, error reported to producers
+				LOG.error("Code writer failed on file: {}", entry.file, e);
+				writerError = e;
+			} finally {
+				memoryPermits.release(entry.permits);
+			}
+		}
+	}
+
+	private static void write(SaveEntry entry, CharsetEncoder encoder, ByteBuffer buffer) throws IOException {
+		File outFile = FileUtils.prepareFile(entry.file);
+		try (FileOutputStream out = new FileOutputStream(outFile);
+				FileChannel channel = out.getChannel()) {
+			encoder.reset();
+			buffer.clear();
+			for (String chunk : entry.codeChunks) {
+				encode(encoder, CharBuffer.wrap(chunk), buffer, channel, false);
+			}
+			encode(encoder, CharBuffer.wrap(LINE_SEPARATOR), buffer, channel, true);
+			while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+				flushBuffer(buffer, channel);
+			}
+			flushBuffer(buffer, channel);
+		}
+	}
+
+	private static void encode(CharsetEncoder encoder, CharBuffer in, ByteBuffer buffer,
+			FileChannel channel, boolean endOfInput) throws IOException {
+		while (true) {
+			CoderResult result = encoder.encode(in, buffer, endOfInput);
+			if (result.isOverflow()) {
+				flushBuffer(buffer, channel);
+			} else if (result.isUnderflow()) {
+				return;
+			} else {
+				result.throwException();
+			}
+		}
+	}
+
+	private static void flushBuffer(ByteBuffer buffer, FileChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Wait until all submitted code is written and stop writer threads.
+	 * Rethrow writer error (not an I/O exception) if it happens.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (int i = 0; i < writers.size(); i++) {
+			queue.add(STOP);
+		}
+		try {
+			for (Thread writer : writers) {
+				writer.join();
+			}
+		} catch (InterruptedException e) {
+			LOG.error("Code writers wait interrupted", e);
+			Thread.currentThread().interrupt();
+		}
+		checkWriterError();
+	}
+
+	private void checkWriterError() {
+		Throwable error = writerError;
+		if (error != null) {
+			throw new JadxRuntimeException("Code writer failed", error);
+		}
+	}
+
+	private static final class SaveEntry {
+		private final File file;
+		private final List<String> codeChunks;
+		private final int permits;
+
+		private SaveEntry(File file, List<String> codeChunks, int permits) {
+			this.file = file;
+			this.codeChunks = codeChunks;
+			this.permits = permits;
+		}
+	}
+}
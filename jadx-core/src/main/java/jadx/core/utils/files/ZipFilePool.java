@@ -0,0 +1,130 @@
+package jadx.core.utils.files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep opened zip files to not parse central directory on every entry access.
+ * <br>
+ * Handles are reference counted: {@link #close()} closes only unused zip files,
+ * busy ones will be closed on last handle release.
+ * Pool still can be used after close, zip files will be opened again.
+ */
+public class ZipFilePool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipFilePool.class);
+
+	private final Map<File, PoolEntry> openedFiles = new HashMap<>();
+
+	public ZipHandle acquire(File file) throws IOException {
+		File key = file.getAbsoluteFile();
+		synchronized (openedFiles) {
+			PoolEntry entry = openedFiles.get(key);
+			if (entry == null) {
+				entry = new PoolEntry(key, new ZipFile(key));
+				openedFiles.put(key, entry);
+			}
+			entry.refCount++;
+			return new ZipHandle(this, entry);
+		}
+	}
+
+	/**
+	 * Open zip file without caching, it will be closed with returned handle
+	 */
+	public static ZipHandle openUnpooled(File file) throws IOException {
+		ZipFilePool pool = new ZipFilePool();
+		ZipHandle handle = pool.acquire(file);
+		pool.close();
+		return handle;
+	}
+
+	private void release(PoolEntry entry) {
+		synchronized (openedFiles) {
+			entry.refCount--;
+			if (entry.refCount == 0 && entry.detached) {
+				closeZip(entry);
+			}
+		}
+	}
+
+	public int getOpenedCount() {
+		synchronized (openedFiles) {
+			return openedFiles.size();
+		}
+	}
+
+	@Override
+	public void close() {
+		List<PoolEntry> toClose = new ArrayList<>();
+		synchronized (openedFiles) {
+			Iterator<PoolEntry> it = openedFiles.values().iterator();
+			while (it.hasNext()) {
+				PoolEntry entry = it.next();
+				it.remove();
+				if (entry.refCount == 0) {
+					toClose.add(entry);
+				} else {
+					entry.detached = true;
+				}
+			}
+		}
+		toClose.forEach(ZipFilePool::closeZip);
+	}
+
+	private static void closeZip(PoolEntry entry) {
+		try {
+			entry.zipFile.close();
+		} catch (Exception e) {
+			LOG.warn("Failed to close zip file: {}", entry.file, e);
+		}
+	}
+
+	private static final class PoolEntry {
+		private final File file;
+		private final ZipFile zipFile;
+		private int refCount;
+		private boolean detached;
+
+		private PoolEntry(File file, ZipFile zipFile) {
+			this.file = file;
+			this.zipFile = zipFile;
+		}
+	}
+
+	/**
+	 * Shared zip file reference, don't close zip file directly, close handle instead.
+	 * Returned zip file is thread safe and can be used for concurrent reading.
+	 */
+	public static final class ZipHandle implements Closeable {
+		private final ZipFilePool pool;
+		private final PoolEntry entry;
+		private boolean released;
+
+		private ZipHandle(ZipFilePool pool, PoolEntry entry) {
+			this.pool = pool;
+			this.entry = entry;
+		}
+
+		public ZipFile getZipFile() {
+			return entry.zipFile;
+		}
+
+		@Override
+		public void close() {
+			if (!released) {
+				released = true;
+				pool.release(entry);
+			}
+		}
+	}
+}
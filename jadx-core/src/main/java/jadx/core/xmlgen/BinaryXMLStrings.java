@@ -0,0 +1,115 @@
+package jadx.core.xmlgen;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * String pool from binary resources, strings decoded on first access
+ */
+public class BinaryXMLStrings {
+	public static final String INVALID_STRING_PLACEHOLDER = "STRING_DECODE_ERROR";
+
+	private static final BinaryXMLStrings EMPTY = new BinaryXMLStrings(new int[0], null, false);
+
+	private final int[] offsets;
+	/**
+	 * Strings data in little-endian order, only absolute reads used
+	 */
+	private final @Nullable ByteBuffer data;
+	private final boolean utf8;
+	private final String[] cache;
+
+	public BinaryXMLStrings(int[] offsets, @Nullable ByteBuffer data, boolean utf8) {
+		this.offsets = offsets;
+		this.data = data;
+		this.utf8 = utf8;
+		this.cache = new String[offsets.length];
+	}
+
+	public static BinaryXMLStrings empty() {
+		return EMPTY;
+	}
+
+	public String get(int id) {
+		String str = cache[id];
+		if (str == null) {
+			str = decode(offsets[id]);
+			cache[id] = str;
+		}
+		return str;
+	}
+
+	/**
+	 * Replace string value (used for renaming)
+	 */
+	public void put(int id, String str) {
+		cache[id] = str;
+	}
+
+	public int size() {
+		return offsets.length;
+	}
+
+	private String decode(int offset) {
+		ByteBuffer buf = data;
+		if (buf == null) {
+			return INVALID_STRING_PLACEHOLDER;
+		}
+		return utf8 ? extractString8(buf, offset) : extractString16(buf, offset);
+	}
+
+	private static String extractString8(ByteBuffer buf, int offset) {
+		if (offset >= buf.limit()) {
+			return INVALID_STRING_PLACEHOLDER;
+		}
+		int start = offset + skipStrLen8(buf, offset);
+		int len = buf.get(start++);
+		if (len == 0) {
+			return "";
+		}
+		if ((len & 0x80) != 0) {
+			len = (len & 0x7F) << 8 | buf.get(start++) & 0xFF;
+		}
+		return makeString(buf, start, len, ParserStream.STRING_CHARSET_UTF8);
+	}
+
+	private static String extractString16(ByteBuffer buf, int offset) {
+		int len = buf.limit();
+		int start = offset + skipStrLen16(buf, offset);
+		// don't trust specified string length, read until \0
+		int end = start;
+		while (true) {
+			if (end + 1 >= len) {
+				break;
+			}
+			if (buf.get(end) == 0 && buf.get(end + 1) == 0) {
+				break;
+			}
+			end += 2;
+		}
+		return makeString(buf, start, end - start, ParserStream.STRING_CHARSET_UTF16);
+	}
+
+	private static String makeString(ByteBuffer buf, int start, int len, Charset charset) {
+		int strLen = Math.min(len, buf.limit() - start);
+		if (buf.hasArray()) {
+			// no copy for heap buffers
+			return new String(buf.array(), buf.arrayOffset() + start, strLen, charset);
+		}
+		byte[] arr = new byte[strLen];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(start);
+		dup.get(arr);
+		return new String(arr, charset);
+	}
+
+	private static int skipStrLen8(ByteBuffer buf, int offset) {
+		return (buf.get(offset) & 0x80) == 0 ? 1 : 2;
+	}
+
+	private static int skipStrLen16(ByteBuffer buf, int offset) {
+		return (buf.get(offset + 1) & 0x80) == 0 ? 2 : 4;
+	}
+}
@@ -0,0 +1,111 @@
+package jadx.core.xmlgen;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Parser stream over byte buffer (can be memory mapped),
+ * use bulk reads and slices without copy for string pools.
+ */
+public class ParserBufferStream extends ParserStream {
+	private final ByteBuffer buf;
+
+	public ParserBufferStream(@NotNull ByteBuffer buffer) {
+		this.buf = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Override
+	public long getPos() {
+		return buf.position();
+	}
+
+	@Override
+	public int readInt8() throws IOException {
+		checkAvailable(1);
+		return buf.get() & 0xFF;
+	}
+
+	@Override
+	public int readInt16() throws IOException {
+		checkAvailable(2);
+		return buf.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public int readInt32() throws IOException {
+		checkAvailable(4);
+		return buf.getInt();
+	}
+
+	@Override
+	public int[] readInt32Array(int count) throws IOException {
+		if (count == 0) {
+			return new int[0];
+		}
+		checkAvailable(count * 4L);
+		int[] arr = new int[count];
+		buf.asIntBuffer().get(arr);
+		buf.position(buf.position() + count * 4);
+		return arr;
+	}
+
+	@Override
+	public byte[] readInt8Array(int count) throws IOException {
+		byte[] arr = new byte[count];
+		readFully(arr, 0, count);
+		return arr;
+	}
+
+	@Override
+	public ByteBuffer readBuffer(int count) throws IOException {
+		checkAvailable(count);
+		ByteBuffer dup = buf.duplicate();
+		dup.limit(buf.position() + count);
+		ByteBuffer slice = dup.slice().order(ByteOrder.LITTLE_ENDIAN);
+		buf.position(buf.position() + count);
+		return slice;
+	}
+
+	@Override
+	public void skip(long count) throws IOException {
+		checkAvailable(count);
+		buf.position(buf.position() + (int) count);
+	}
+
+	@Override
+	public void mark(int len) {
+		buf.mark();
+	}
+
+	@Override
+	public void reset() {
+		buf.reset();
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		if (len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (buf.remaining() < len) {
+			throw new EOFException();
+		}
+		buf.get(b, off, len);
+	}
+
+	private void checkAvailable(long count) throws IOException {
+		if (buf.remaining() < count) {
+			throw new IOException("No data, can't read " + count + " bytes"
+					+ ", offset: 0x" + Long.toHexString(getPos()));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "pos: 0x" + Long.toHexString(getPos());
+	}
+}
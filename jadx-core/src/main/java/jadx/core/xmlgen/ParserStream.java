@@ -3,6 +3,8 @@ package jadx.core.xmlgen;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
 import org.jetbrains.annotations.NotNull;
@@ -22,6 +24,13 @@ public class ParserStream {
 		this.input = inputStream;
 	}
 
+	/**
+	 * Used by implementations not based on input stream
+	 */
+	protected ParserStream() {
+		this.input = null;
+	}
+
 	public long getPos() {
 		return readPos;
 	}
@@ -85,6 +94,13 @@ public class ParserStream {
 		return arr;
 	}
 
+	/**
+	 * Read bytes into little-endian buffer
+	 */
+	public ByteBuffer readBuffer(int count) throws IOException {
+		return ByteBuffer.wrap(readInt8Array(count)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
 	public void skip(long count) throws IOException {
 		readPos += count;
 		long pos = input.skip(count);
@@ -1,7 +1,13 @@
 package jadx.core.xmlgen;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.jetbrains.annotations.Nullable;
 
 import jadx.api.ResourceFile;
 import jadx.api.ResourceType;
@@ -28,4 +34,27 @@ public class ResDecoder {
 		parser.decode(is);
 		return parser;
 	}
+
+	/**
+	 * Decode '.arsc' file directly from file system using memory mapping.
+	 *
+	 * @return null if resource file is not a plain '.arsc' file (packed into zip or other type)
+	 */
+	@Nullable
+	public static IResParser decodeMapped(RootNode root, ResourceFile resFile) throws IOException {
+		if (resFile.getType() != ResourceType.ARSC
+				|| resFile.getZipRef() != null
+				|| !resFile.getOriginalName().endsWith(".arsc")) {
+			return null;
+		}
+		File file = new File(resFile.getOriginalName());
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			// mapping stay valid after channel close
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			ResTableParser parser = new ResTableParser(root);
+			parser.decode(buffer);
+			return parser;
+		}
+	}
 }
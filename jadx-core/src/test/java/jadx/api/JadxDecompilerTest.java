@@ -2,13 +2,23 @@ package jadx.api;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import jadx.api.metrics.JadxPassMetrics;
+import jadx.core.cache.code.disk.DiskCodeCache;
+import jadx.core.cache.code.disk.SharedCodeCache;
 import jadx.core.utils.files.FileUtils;
 import jadx.plugins.input.dex.DexInputPlugin;
 
@@ -56,6 +66,170 @@ public class JadxDecompilerTest {
 		}
 	}
 
+	@Test
+	public void testPassMetrics() {
+		File outDir = FileUtils.createTempDir("jadx-pass-metrics");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setOutDir(outDir);
+		args.setCollectPassMetrics(true);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			for (JavaClass cls : jadx.getClasses()) {
+				assertThat(cls.getCode(), notNullValue());
+			}
+			JadxPassMetrics passMetrics = jadx.getPassMetrics();
+			assertThat(passMetrics, notNullValue());
+			assertThat(passMetrics.getPassStats(), Matchers.not(Matchers.empty()));
+			assertThat(passMetrics.getClassStats(), Matchers.hasSize(1));
+			assertThat(passMetrics.getClassStats().get(0).getFailures(), Matchers.is(0L));
+
+			File statsFile = new File(outDir, "pass-stats.json");
+			passMetrics.save(statsFile);
+			assertThat(statsFile.exists(), Matchers.is(true));
+		}
+	}
+
+	@Test
+	public void testWorkStealingSave() {
+		File outDir = FileUtils.createTempDir("jadx-work-stealing");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.setOutDir(outDir);
+		args.setSkipResources(true);
+		args.setWorkStealingSave(true);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			long[] lastProgress = new long[2];
+			jadx.save(10, (done, total) -> {
+				lastProgress[0] = done;
+				lastProgress[1] = total;
+			});
+			for (JavaClass cls : jadx.getClasses()) {
+				assertThat(cls.getClassNode().getState().isProcessComplete(), Matchers.is(true));
+			}
+			assertThat(lastProgress[0], Matchers.lessThanOrEqualTo(lastProgress[1]));
+			assertThat(jadx.getErrorsCount(), Matchers.is(0));
+		}
+	}
+
+	@Test
+	public void testLazyClassesLoad() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.setOutDir(FileUtils.createTempDir("jadx-lazy-load"));
+		args.setSkipResources(true);
+		args.setLazyClassesLoad(true);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			long loadedCount = jadx.getClasses().stream().filter(c -> c.getClassNode().isMembersLoaded()).count();
+			assertThat(loadedCount, Matchers.lessThan((long) jadx.getClasses().size()));
+
+			JavaClass cls = jadx.getClasses().get(0);
+			assertThat(cls.getCode(), notNullValue());
+			assertThat(cls.getClassNode().isMembersLoaded(), Matchers.is(true));
+			assertThat(cls.getClassNode().getState().isProcessComplete(), Matchers.is(true));
+			assertThat(jadx.getErrorsCount(), Matchers.is(0));
+		}
+	}
+
+	@Test
+	public void testMappedDexInput() throws IOException {
+		File apkWithStoredDex = new File(FileUtils.createTempDir("jadx-mmap"), "stored.apk");
+		byte[] dexContent = Files.readAllBytes(getFileFromSampleDir("hello.dex").toPath());
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(apkWithStoredDex))) {
+			ZipEntry entry = new ZipEntry("classes.dex");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(dexContent.length);
+			CRC32 crc = new CRC32();
+			crc.update(dexContent);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(dexContent);
+			out.closeEntry();
+		}
+		File[] inputs = {
+				getFileFromSampleDir("hello.dex"),
+				getFileFromSampleDir("app-with-fake-dex.apk"),
+				apkWithStoredDex
+		};
+		for (File input : inputs) {
+			Map<String, String> heapCode = decompileAll(input, false);
+			assertThat(heapCode.keySet(), Matchers.not(Matchers.empty()));
+			assertThat(decompileAll(input, true), Matchers.is(heapCode));
+		}
+	}
+
+	private static Map<String, String> decompileAll(File input, boolean useMmap) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(input);
+		args.setSkipResources(true);
+		args.getPluginOptions().put("dex-input.use-mmap", useMmap ? "yes" : "no");
+		Map<String, String> result = new TreeMap<>();
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			for (JavaClass cls : jadx.getClasses()) {
+				result.put(cls.getRawName(), cls.getCode());
+				result.put(cls.getRawName() + ".smali", cls.getSmali());
+			}
+			assertThat(jadx.getErrorsCount(), Matchers.is(0));
+		}
+		return result;
+	}
+
+	@Test
+	public void testDiskCodeCache() {
+		File cacheDir = FileUtils.createTempDir("jadx-disk-cache");
+		String code;
+		try (JadxDecompiler jadx = new JadxDecompiler(makeCacheTestArgs())) {
+			jadx.load();
+			jadx.getArgs().setCodeCache(new DiskCodeCache(jadx.getRoot(), cacheDir));
+			JavaClass cls = jadx.getClasses().get(0);
+			code = cls.getCode();
+			assertThat(jadx.getArgs().getCodeCache().contains(cls.getRawName()), Matchers.is(true));
+		}
+		try (JadxDecompiler jadx = new JadxDecompiler(makeCacheTestArgs())) {
+			jadx.load();
+			DiskCodeCache codeCache = new DiskCodeCache(jadx.getRoot(), cacheDir);
+			jadx.getArgs().setCodeCache(codeCache);
+			JavaClass cls = jadx.getClasses().get(0);
+			assertThat(codeCache.getCode(cls.getRawName()), Matchers.is(code));
+		}
+	}
+
+	@Test
+	public void testSharedCodeCache() {
+		File cacheDir = FileUtils.createTempDir("jadx-shared-cache");
+		String code;
+		try (JadxDecompiler jadx = new JadxDecompiler(makeCacheTestArgs())) {
+			jadx.load();
+			jadx.getArgs().setCodeCache(new SharedCodeCache(jadx.getRoot(), cacheDir, 1024 * 1024));
+			JavaClass cls = jadx.getClasses().get(0);
+			code = cls.getCode();
+			assertThat(jadx.getArgs().getCodeCache().contains(cls.getRawName()), Matchers.is(true));
+		}
+		// another project with same class
+		try (JadxDecompiler jadx = new JadxDecompiler(makeCacheTestArgs())) {
+			jadx.load();
+			SharedCodeCache codeCache = new SharedCodeCache(jadx.getRoot(), cacheDir, 1024 * 1024);
+			jadx.getArgs().setCodeCache(codeCache);
+			JavaClass cls = jadx.getClasses().get(0);
+			assertThat(cls.getCode(), Matchers.is(code));
+			assertThat(codeCache.getHits(), Matchers.is(1L));
+			assertThat(codeCache.getMisses(), Matchers.is(0L));
+		}
+	}
+
+	private static JadxArgs makeCacheTestArgs() {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("hello.dex"));
+		args.setOutDir(FileUtils.createTempDir("jadx-disk-cache-out"));
+		return args;
+	}
+
 	private static final String TEST_SAMPLES_DIR = "test-samples/";
 
 	public static File getFileFromSampleDir(String fileName) {
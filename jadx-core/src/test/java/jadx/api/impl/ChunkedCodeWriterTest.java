@@ -0,0 +1,50 @@
+package jadx.api.impl;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkedCodeWriterTest {
+
+	@Test
+	public void testSameAsSimpleWriter() throws Exception {
+		ICodeWriter simple = new SimpleCodeWriter();
+		ICodeWriter chunked = new ChunkedCodeWriter();
+		fillCode(simple, new SimpleCodeWriter());
+		fillCode(chunked, new ChunkedCodeWriter());
+		assertThat(chunked.getLength()).isEqualTo(simple.getLength());
+
+		String expected = simple.finish().getCodeStr();
+		ICodeInfo codeInfo = chunked.finish();
+		assertThat(codeInfo).isInstanceOf(ChunkedCodeInfo.class);
+		ChunkedCodeInfo chunkedCode = (ChunkedCodeInfo) codeInfo;
+		assertThat(chunkedCode.getChunks().size()).isGreaterThan(1);
+		assertThat(chunkedCode.getLength()).isEqualTo(expected.length());
+
+		StringWriter writer = new StringWriter();
+		chunkedCode.writeTo(writer);
+		assertThat(writer.toString()).isEqualTo(expected);
+		assertThat(chunkedCode.getCodeStr()).isEqualTo(expected);
+	}
+
+	private static void fillCode(ICodeWriter code, ICodeWriter inner) {
+		code.startLine("class A {");
+		code.incIndent();
+		for (int i = 0; i < 5000; i++) {
+			code.startLine("int f").add(Integer.toString(i)).add(" = ").add(Integer.toString(i)).add(';');
+			code.startLine().addMultiLine("/* multi" + ICodeWriter.NL + " line */");
+		}
+		inner.incIndent();
+		for (int i = 0; i < 3000; i++) {
+			inner.startLine("void m").add(Integer.toString(i)).add("() {}");
+		}
+		code.add(inner);
+		code.decIndent();
+		code.startLine('}');
+	}
+}
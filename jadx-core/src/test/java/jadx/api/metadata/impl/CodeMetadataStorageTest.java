@@ -0,0 +1,82 @@
+package jadx.api.metadata.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.metadata.ICodeAnnotation;
+import jadx.api.metadata.ICodeAnnotation.AnnType;
+import jadx.api.metadata.ICodeMetadata;
+import jadx.api.metadata.annotations.InsnCodeOffset;
+import jadx.api.metadata.annotations.NodeEnd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeMetadataStorageTest {
+
+	@Test
+	public void testSearchSameAsNavigableMap() {
+		Random rnd = new Random(42);
+		Map<Integer, ICodeAnnotation> annotations = new HashMap<>();
+		for (int i = 0; i < 500; i++) {
+			int pos = rnd.nextInt(5000);
+			annotations.put(pos, rnd.nextInt(4) == 0 ? NodeEnd.VALUE : new InsnCodeOffset(pos));
+		}
+		Map<Integer, Integer> lines = new HashMap<>();
+		for (int i = 1; i < 100; i += 3) {
+			lines.put(i, i * 2);
+		}
+		ICodeMetadata metadata = CodeMetadataStorage.build(lines, annotations);
+		// reference: map with reversed order used in previous implementation
+		NavigableMap<Integer, ICodeAnnotation> navMap = new TreeMap<>(Comparator.comparingInt(Integer::intValue).reversed());
+		navMap.putAll(annotations);
+
+		for (int pos = -1; pos < 5100; pos += 7) {
+			assertThat(metadata.getAt(pos)).isSameAs(navMap.get(pos));
+			Map.Entry<Integer, ICodeAnnotation> higher = navMap.higherEntry(pos);
+			assertThat(metadata.getClosestUp(pos)).isSameAs(higher == null ? null : higher.getValue());
+			assertThat(metadata.searchUp(pos, AnnType.END)).isSameAs(navSearch(navMap.tailMap(pos, true), AnnType.END));
+			if (pos >= 100) {
+				assertThat(metadata.searchUp(pos, pos - 100, AnnType.OFFSET))
+						.isSameAs(navSearch(navMap.subMap(pos, true, pos - 100, true), AnnType.OFFSET));
+			}
+			List<Integer> up = new ArrayList<>();
+			metadata.searchUp(pos, (p, ann) -> up.add(p) && up.size() > 10 ? p : null);
+			assertThat(up).isEqualTo(firstKeys(navMap.tailMap(pos, true), up.size()));
+			List<Integer> down = new ArrayList<>();
+			metadata.searchDown(pos, (p, ann) -> down.add(p) && down.size() > 10 ? p : null);
+			assertThat(down).isEqualTo(firstKeys(navMap.headMap(pos, true).descendingMap(), down.size()));
+		}
+		assertThat(metadata.getAsMap()).isEqualTo(navMap);
+		assertThat(new ArrayList<>(metadata.getAsMap().keySet())).isEqualTo(new ArrayList<>(navMap.keySet()));
+		assertThat(metadata.getLineMapping()).isEqualTo(lines);
+		assertThat(metadata.getLineMapping().toString()).isEqualTo(new TreeMap<>(lines).toString());
+	}
+
+	private static ICodeAnnotation navSearch(NavigableMap<Integer, ICodeAnnotation> map, AnnType type) {
+		for (ICodeAnnotation ann : map.values()) {
+			if (ann.getAnnType() == type) {
+				return ann;
+			}
+		}
+		return null;
+	}
+
+	private static List<Integer> firstKeys(NavigableMap<Integer, ICodeAnnotation> map, int count) {
+		List<Integer> list = new ArrayList<>();
+		for (Integer key : map.keySet()) {
+			if (list.size() == count) {
+				break;
+			}
+			list.add(key);
+		}
+		return list;
+	}
+}
@@ -1,7 +1,8 @@
-package jadx.gui.utils.cache.code;
+package jadx.core.cache.code.disk;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -11,7 +12,6 @@ import org.slf4j.LoggerFactory;
 import jadx.api.ICodeInfo;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.core.dex.nodes.ClassNode;
-import jadx.gui.cache.code.disk.DiskCodeCache;
 import jadx.tests.api.IntegrationTest;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,7 +20,7 @@ class DiskCodeCacheTest extends IntegrationTest {
 	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCacheTest.class);
 
 	@TempDir
-	public Path tempDir;
+	public File tempDir;
 
 	@Test
 	public void test() throws IOException {
@@ -44,4 +44,31 @@ class DiskCodeCacheTest extends IntegrationTest {
 
 		cache.close();
 	}
+
+	@Test
+	public void testKeyDependsOnAliases() {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		ClassNode clsNode = getClassNode(DiskCodeCacheTest.class);
+		ClassInputHash inputHash = new ClassInputHash();
+		String key = inputHash.getClassKey(clsNode);
+		assertThat(key).isNotNull().isEqualTo(new ClassInputHash().getClassKey(clsNode));
+
+		// class renamed in other place (user rename or name collision): code will differ
+		clsNode.getClassInfo().changeShortName("RenamedCls");
+		assertThat(new ClassInputHash().getClassKey(clsNode)).isNotNull().isNotEqualTo(key);
+	}
+
+	@Test
+	public void testKeyDependsOnResources() {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		ClassNode clsNode = getClassNode(DiskCodeCacheTest.class);
+		String key = new ClassInputHash().getClassKey(clsNode);
+		assertThat(key).isNotNull();
+
+		// resource only change: literal in code can be replaced with resource field
+		clsNode.root().getConstValues().setResourcesNames(Collections.singletonMap(0x7f010001, "string/app_name"));
+		assertThat(new ClassInputHash().getClassKey(clsNode)).isNotNull().isNotEqualTo(key);
+	}
 }
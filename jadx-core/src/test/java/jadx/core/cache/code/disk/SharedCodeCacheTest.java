@@ -0,0 +1,73 @@
+package jadx.core.cache.code.disk;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.ICodeInfo;
+import jadx.api.impl.ChunkedCodeWriter;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedCodeCacheTest extends IntegrationTest {
+	private static final int RES_ID = 2131230730;
+	private static final long MAX_SIZE = 1024 * 1024;
+
+	@TempDir
+	public File tempDir;
+
+	public static class TestCls {
+		public int test() {
+			return 2131230730;
+		}
+	}
+
+	@Test
+	public void testOtherResources() {
+		ClassNode cls = loadWithResource("id.Button");
+		ICodeInfo codeInfo = cls.getCode();
+		assertThat(codeInfo.getCodeStr()).contains("return R.id.Button;");
+		SharedCodeCache cache = new SharedCodeCache(cls.root(), tempDir, MAX_SIZE);
+		cache.add(cls.getRawName(), codeInfo);
+		ICodeInfo cachedCode = cache.get(cls.getRawName());
+		assertThat(cachedCode.getCodeStr()).isEqualTo(codeInfo.getCodeStr());
+		assertThat(cachedCode.getCodeMetadata().getAsMap()).hasSameSizeAs(codeInfo.getCodeMetadata().getAsMap());
+		assertThat(cachedCode.getCodeMetadata().getLineMapping()).isEqualTo(codeInfo.getCodeMetadata().getLineMapping());
+
+		// same library class in app with other resources table
+		ClassNode otherCls = loadWithResource("id.Label");
+		SharedCodeCache otherCache = new SharedCodeCache(otherCls.root(), tempDir, MAX_SIZE);
+		assertThat(otherCache.contains(otherCls.getRawName())).isFalse();
+		assertThat(otherCls.getCode().getCodeStr()).contains("return R.id.Label;");
+
+		// same resources: entry reused
+		ClassNode sameCls = loadWithResource("id.Button");
+		SharedCodeCache sameCache = new SharedCodeCache(sameCls.root(), tempDir, MAX_SIZE);
+		assertThat(sameCache.getCode(sameCls.getRawName())).isEqualTo(codeInfo.getCodeStr());
+	}
+
+	@Test
+	public void testCodeWithoutMetadata() {
+		ClassNode cls = loadWithResource("id.Button");
+		SharedCodeCache cache = new SharedCodeCache(cls.root(), tempDir, MAX_SIZE);
+		cache.add(cls.getRawName(), cls.getCode());
+		assertThat(cache.contains(cls.getRawName())).isTrue();
+
+		// entries written without metadata (i.e. by jadx-cli) can't be used for code with metadata
+		getArgs().setCodeWriterProvider(ChunkedCodeWriter::new);
+		SharedCodeCache noMetadataCache = new SharedCodeCache(cls.root(), tempDir, MAX_SIZE);
+		assertThat(noMetadataCache.contains(cls.getRawName())).isFalse();
+	}
+
+	private ClassNode loadWithResource(String resName) {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		setResMap(Collections.singletonMap(RES_ID, resName));
+		return getClassNode(TestCls.class);
+	}
+}
@@ -1,4 +1,4 @@
-package jadx.gui.utils.cache.code.disk.adapters;
+package jadx.core.cache.code.disk.adapters;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -9,8 +9,6 @@ import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
 
-import jadx.gui.cache.code.disk.adapters.DataAdapterHelper;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DataAdapterHelperTest {
@@ -0,0 +1,99 @@
+package jadx.core.clsp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassHierarchyIndexTest {
+	private Map<String, ClspClass> nameMap;
+	private Set<String> missing;
+	private ClassHierarchyIndex index;
+
+	@BeforeEach
+	public void init() {
+		nameMap = new HashMap<>();
+		missing = new HashSet<>();
+		addCls("java.lang.Object");
+		addCls("java.lang.Iterable", "java.lang.Object");
+		addCls("java.util.Collection", "java.lang.Object", "java.lang.Iterable");
+		addCls("java.util.List", "java.lang.Object", "java.util.Collection");
+		addCls("java.util.RandomAccess", "java.lang.Object");
+		addCls("java.util.AbstractCollection", "java.lang.Object", "java.util.Collection");
+		addCls("java.util.AbstractList", "java.util.AbstractCollection", "java.util.List");
+		addCls("java.util.ArrayList", "java.util.AbstractList", "java.util.List", "java.util.RandomAccess", "a.Unknown");
+		index = new ClassHierarchyIndex(nameMap, missing);
+	}
+
+	@Test
+	public void testSubtype() {
+		assertThat(isSubtype("java.util.ArrayList", "java.lang.Object")).isTrue();
+		assertThat(isSubtype("java.util.ArrayList", "java.util.AbstractCollection")).isTrue();
+		assertThat(isSubtype("java.util.ArrayList", "java.lang.Iterable")).isTrue();
+		assertThat(isSubtype("java.util.ArrayList", "java.util.RandomAccess")).isTrue();
+		assertThat(isSubtype("java.util.ArrayList", "a.Unknown")).isTrue();
+		assertThat(isSubtype("java.util.AbstractList", "java.util.RandomAccess")).isFalse();
+		assertThat(isSubtype("java.lang.Object", "java.util.List")).isFalse();
+		assertThat(isSubtype("java.util.List", "java.util.List")).isFalse();
+		assertThat(isSubtype("java.util.List", "b.NotFound")).isFalse();
+		assertThat(missing).containsExactly("a.Unknown");
+	}
+
+	@Test
+	public void testSuperTypes() {
+		assertThat(names(index.getSuperTypes(index.getId("java.util.AbstractList"))))
+				.containsExactlyInAnyOrder("java.util.AbstractCollection", "java.lang.Object",
+						"java.util.List", "java.util.Collection", "java.lang.Iterable");
+		assertThat(index.getSuperTypes(index.getId("java.lang.Object"))).isEmpty();
+	}
+
+	@Test
+	public void testImplementations() {
+		assertThat(names(index.getImplementations(index.getId("java.util.Collection"))))
+				.containsExactly("java.util.AbstractCollection", "java.util.AbstractList", "java.util.ArrayList", "java.util.List");
+		assertThat(names(index.getImplementations(index.getId("a.Unknown"))))
+				.containsExactly("java.util.ArrayList");
+	}
+
+	@Test
+	public void testCycle() {
+		addCls("a.A", "a.B");
+		addCls("a.B", "a.A", "java.util.RandomAccess");
+		index = new ClassHierarchyIndex(nameMap, missing);
+		assertThat(isSubtype("a.A", "a.B")).isTrue();
+		assertThat(isSubtype("a.B", "a.A")).isTrue();
+		assertThat(isSubtype("a.A", "java.util.RandomAccess")).isTrue();
+		assertThat(isSubtype("a.A", "java.lang.Object")).isTrue();
+	}
+
+	private boolean isSubtype(String cls, String superCls) {
+		return index.isSubtype(index.getId(cls), index.getId(superCls));
+	}
+
+	private List<String> names(int[] ids) {
+		List<String> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			list.add(index.getName(id));
+		}
+		return list;
+	}
+
+	private void addCls(String name, String... parents) {
+		ClspClass cls = new ClspClass(ArgType.object(name), -1);
+		ArgType[] parentTypes = new ArgType[parents.length];
+		for (int i = 0; i < parents.length; i++) {
+			parentTypes[i] = ArgType.object(parents[i]);
+		}
+		cls.setParents(parentTypes);
+		nameMap.put(name, cls);
+	}
+}
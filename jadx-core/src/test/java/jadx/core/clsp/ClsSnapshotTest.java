@@ -0,0 +1,88 @@
+package jadx.core.clsp;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClsSnapshotTest {
+
+	@Test
+	public void testSaveAndLoad(@TempDir Path tempDir) throws Exception {
+		RootNode root = new RootNode(new JadxArgs());
+		root.loadClasses(Collections.emptyList());
+
+		ClsSet set = new ClsSet(root);
+		set.loadFromClstFile();
+		File file = tempDir.resolve("test.jcst").toFile();
+		set.save(file);
+
+		ClsSet loadedSet = new ClsSet(root);
+		loadedSet.load(file);
+		ClsSnapshot snapshot = loadedSet.getSnapshot();
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.getClassesCount()).isEqualTo(set.getClassesCount());
+
+		Map<String, ClspClass> expectedClasses = getAllClasses(set);
+		for (int i = 0; i < snapshot.getClassesCount(); i++) {
+			ClspClass cls = snapshot.loadClass(i);
+			ClspClass expected = expectedClasses.get(cls.getName());
+			assertThat(expected).isNotNull();
+			assertThat(cls.getParents()).isEqualTo(expected.getParents());
+			assertThat(cls.getTypeParameters()).isEqualTo(expected.getTypeParameters());
+			assertThat(cls.getMethodsMap()).containsOnlyKeys(expected.getMethodsMap().keySet());
+			for (ClspMethod mth : cls.getSortedMethodsList()) {
+				ClspMethod expectedMth = expected.getMethodsMap().get(mth.getMethodInfo().getShortId());
+				assertThat(mth.getArgTypes()).isEqualTo(expectedMth.getArgTypes());
+				assertThat(mth.getReturnType()).isEqualTo(expectedMth.getReturnType());
+				assertThat(mth.getThrows()).isEqualTo(expectedMth.getThrows());
+				assertThat(mth.getRawAccessFlags()).isEqualTo(expectedMth.getRawAccessFlags());
+			}
+			assertThat(snapshot.findClass(cls.getName())).isEqualTo(i);
+		}
+		assertThat(snapshot.findClass("a.b.NotExists")).isEqualTo(-1);
+	}
+
+	@Test
+	public void testBundledClst() throws Exception {
+		RootNode root = new RootNode(new JadxArgs());
+		root.loadClasses(Collections.emptyList());
+
+		ClsSet set = new ClsSet(root);
+		set.loadFromClstFile();
+		// bundled file should be in snapshot format to skip full decoding on startup
+		ClsSnapshot snapshot = set.getSnapshot();
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.getClassesCount()).isGreaterThan(1000);
+
+		int strId = snapshot.findClass("java.lang.String");
+		assertThat(strId).isNotEqualTo(-1);
+		ClspClass strCls = snapshot.loadClass(strId);
+		assertThat(strCls.getName()).isEqualTo("java.lang.String");
+		assertThat(strCls.getParents()).contains(ArgType.OBJECT, ArgType.object("java.lang.CharSequence"));
+		assertThat(strCls.getMethodsMap()).containsKey("length()I");
+	}
+
+	private static Map<String, ClspClass> getAllClasses(ClsSet set) {
+		Map<String, ClspClass> map = new HashMap<>();
+		set.addToMap(map);
+		ClsSnapshot snapshot = set.getSnapshot();
+		if (snapshot != null) {
+			for (int i = 0; i < snapshot.getClassesCount(); i++) {
+				ClspClass cls = snapshot.loadClass(i);
+				map.put(cls.getName(), cls);
+			}
+		}
+		return map;
+	}
+}
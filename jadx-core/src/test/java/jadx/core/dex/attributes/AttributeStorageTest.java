@@ -0,0 +1,130 @@
+package jadx.core.dex.attributes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.plugins.input.data.attributes.IJadxAttrType;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttributeStorageTest {
+
+	@Test
+	public void testFlags() {
+		AttributeStorage storage = new AttributeStorage();
+		assertThat(storage.isEmpty()).isTrue();
+
+		storage.add(AFlag.SYNTHETIC);
+		storage.add(AFlag.DONT_GENERATE);
+		assertThat(storage.contains(AFlag.SYNTHETIC)).isTrue();
+		assertThat(storage.contains(AFlag.DONT_GENERATE)).isTrue();
+		assertThat(storage.contains(AFlag.REMOVE)).isFalse();
+		assertThat(storage.getAttributeStrings()).containsExactlyInAnyOrder("SYNTHETIC", "DONT_GENERATE");
+
+		storage.remove(AFlag.SYNTHETIC);
+		assertThat(storage.contains(AFlag.SYNTHETIC)).isFalse();
+		storage.remove(AFlag.DONT_GENERATE);
+		assertThat(storage.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void testPromoteToMap() {
+		List<TestAttr> attrs = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			attrs.add(new TestAttr(i));
+		}
+		AttributeStorage storage = new AttributeStorage();
+		for (TestAttr attr : attrs) {
+			storage.add(attr);
+			assertThat(storage.get(attr.getAttrType())).isSameAs(attr);
+		}
+		assertThat(storage.getAttributesCount()).isEqualTo(20);
+		for (TestAttr attr : attrs) {
+			assertThat(storage.get(attr.getAttrType())).isSameAs(attr);
+		}
+		storage.remove(attrs.get(3).getAttrType());
+		assertThat(storage.contains(attrs.get(3).getAttrType())).isFalse();
+		assertThat(storage.getAttributesCount()).isEqualTo(19);
+	}
+
+	@Test
+	public void testInlineReplaceAndRemove() {
+		TestAttr first = new TestAttr(1);
+		TestAttr second = new TestAttr(2);
+		AttributeStorage storage = new AttributeStorage();
+		storage.add(first);
+		storage.add(second);
+
+		TestAttr replace = new TestAttr(first.getAttrType());
+		storage.add(replace);
+		assertThat(storage.getAttributesCount()).isEqualTo(2);
+		assertThat(storage.get(first.getAttrType())).isSameAs(replace);
+
+		// remove only same instance
+		storage.remove(first);
+		assertThat(storage.get(first.getAttrType())).isSameAs(replace);
+		storage.remove(replace);
+		assertThat(storage.contains(first.getAttrType())).isFalse();
+		assertThat(storage.get(second.getAttrType())).isSameAs(second);
+	}
+
+	@Test
+	public void testUnload() {
+		TestAttr keep = new TestAttr(1, true);
+		AttributeStorage storage = new AttributeStorage();
+		storage.add(new TestAttr(0));
+		storage.add(keep);
+		storage.add(new TestAttr(2));
+		storage.add(AFlag.SYNTHETIC);
+
+		storage.unloadAttributes();
+		assertThat(storage.getAttributesCount()).isEqualTo(1);
+		assertThat(storage.get(keep.getAttrType())).isSameAs(keep);
+		assertThat(storage.contains(AFlag.SYNTHETIC)).isTrue();
+	}
+
+	private static final class TestAttr implements IJadxAttribute {
+		private final IJadxAttrType<TestAttr> type;
+		private final boolean keepLoaded;
+
+		TestAttr(int id) {
+			this(id, false);
+		}
+
+		TestAttr(int id, boolean keepLoaded) {
+			this.type = new TestAttrType(id);
+			this.keepLoaded = keepLoaded;
+		}
+
+		TestAttr(IJadxAttrType<TestAttr> type) {
+			this.type = type;
+			this.keepLoaded = false;
+		}
+
+		@Override
+		public IJadxAttrType<TestAttr> getAttrType() {
+			return type;
+		}
+
+		@Override
+		public boolean keepLoaded() {
+			return keepLoaded;
+		}
+	}
+
+	private static final class TestAttrType implements IJadxAttrType<TestAttr> {
+		private final int id;
+
+		TestAttrType(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public String toString() {
+			return "TestAttrType" + id;
+		}
+	}
+}
@@ -191,6 +191,22 @@ public class TypeCompareTest {
 		check(firstInstance, secondInstance, TypeCompareEnum.NARROW);
 	}
 
+	@Test
+	public void compareWithCache() {
+		TypeCompareCache cache = compare.getCache();
+		check(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW);
+		long misses = cache.getMisses();
+		check(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW);
+		assertThat(cache.getMisses()).isEqualTo(misses);
+		assertThat(cache.getHits()).isEqualTo(2);
+
+		// type variables not cached
+		ArgType typeVar = genericType("T", EXCEPTION);
+		check(typeVar, THROWABLE, TypeCompareEnum.NARROW);
+		assertThat(cache.getMisses()).isEqualTo(misses);
+		assertThat(cache.getHits()).isEqualTo(2);
+	}
+
 	private void firstIsNarrow(ArgType first, ArgType second) {
 		check(first, second, TypeCompareEnum.NARROW);
 	}
@@ -0,0 +1,235 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.SSAVar;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compare solver results with plain enumeration of all types combinations
+ */
+public class TypeSearchSolverTest extends IntegrationTest {
+	private static final List<ArgType> TYPES = Arrays.asList(
+			ArgType.BOOLEAN, ArgType.INT, ArgType.LONG, ArgType.OBJECT, ArgType.STRING);
+
+	public static class TestCls {
+		public int test(int a) {
+			return a;
+		}
+	}
+
+	private MethodNode mth;
+
+	@BeforeEach
+	public void prepare() {
+		disableCompilation();
+		mth = getMethod(getClassNode(TestCls.class), "test");
+	}
+
+	@Test
+	public void testRandom() {
+		Random random = new Random(42);
+		int solved = 0;
+		for (int i = 0; i < 500; i++) {
+			if (checkRandomCase(random, i)) {
+				solved++;
+			}
+		}
+		// both results should be covered
+		assertThat(solved).isBetween(1, 499);
+	}
+
+	@Test
+	public void testUnsatisfiable() {
+		List<SSAVar> vars = makeVars(3);
+		TypeSearchState state = new TypeSearchState(vars);
+		List<TypeSearchVarInfo> varInfos = initVars(state, vars, Arrays.asList(
+				Arrays.asList(ArgType.INT, ArgType.BOOLEAN),
+				Arrays.asList(ArgType.INT, ArgType.LONG),
+				Arrays.asList(ArgType.OBJECT, ArgType.STRING)));
+		// all vars must have same type: domains of first two vars intersect, but not with third var
+		addConstraint(state, vars.get(0), vars.get(1), (a, b) -> a.equals(b));
+		addConstraint(state, vars.get(1), vars.get(2), (a, b) -> a.equals(b));
+
+		TypeSearchSolver solver = new TypeSearchSolver(mth, state, 1_000_000);
+		assertThat(solver.solve(varInfos)).isFalse();
+		assertThat(varInfos).noneMatch(TypeSearchVarInfo::isTypeResolved);
+		assertThat(bruteForce(state, varInfos)).isNull();
+	}
+
+	private boolean checkRandomCase(Random random, int caseNum) {
+		int varsCount = 1 + random.nextInt(7);
+		List<SSAVar> vars = makeVars(varsCount);
+		TypeSearchState state = new TypeSearchState(vars);
+		List<List<ArgType>> domains = new ArrayList<>(varsCount);
+		for (int i = 0; i < varsCount; i++) {
+			List<ArgType> types = new ArrayList<>(TYPES);
+			Collections.shuffle(types, random);
+			domains.add(new ArrayList<>(types.subList(0, 1 + random.nextInt(types.size()))));
+		}
+		List<TypeSearchVarInfo> varInfos = initVars(state, vars, domains);
+		int constraintsCount = random.nextInt(varsCount * 2);
+		for (int i = 0; i < constraintsCount; i++) {
+			int scopeSize = 1 + random.nextInt(Math.min(3, varsCount));
+			List<SSAVar> scope = new ArrayList<>(vars);
+			Collections.shuffle(scope, random);
+			addConstraint(state, new TableConstraint(state, scope.subList(0, scopeSize), random));
+		}
+
+		List<ArgType> expected = bruteForce(state, varInfos);
+		boolean result = new TypeSearchSolver(mth, state, 1_000_000).solve(varInfos);
+		assertThat(result).as("case %d", caseNum).isEqualTo(expected != null);
+		if (result) {
+			assertThat(currentTypes(varInfos)).as("case %d", caseNum).isEqualTo(expected);
+			for (TypeSearchVarInfo varInfo : varInfos) {
+				assertThat(varInfo.isTypeResolved()).isTrue();
+				for (ITypeConstraint constraint : varInfo.getConstraints()) {
+					assertThat(constraint.check(state)).as("case %d", caseNum).isTrue();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Plain enumeration of all combinations, first variable changed most often
+	 *
+	 * @return first found solution or null
+	 */
+	private static List<ArgType> bruteForce(TypeSearchState state, List<TypeSearchVarInfo> varInfos) {
+		varInfos.forEach(TypeSearchVarInfo::reset);
+		while (true) {
+			if (checkAll(state, varInfos)) {
+				return currentTypes(varInfos);
+			}
+			boolean overflow = true;
+			for (TypeSearchVarInfo varInfo : varInfos) {
+				if (!varInfo.nextType()) {
+					overflow = false;
+					break;
+				}
+			}
+			if (overflow) {
+				return null;
+			}
+		}
+	}
+
+	private static boolean checkAll(TypeSearchState state, List<TypeSearchVarInfo> varInfos) {
+		for (TypeSearchVarInfo varInfo : varInfos) {
+			for (ITypeConstraint constraint : varInfo.getConstraints()) {
+				if (!constraint.check(state)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static List<ArgType> currentTypes(List<TypeSearchVarInfo> varInfos) {
+		List<ArgType> list = new ArrayList<>(varInfos.size());
+		for (TypeSearchVarInfo varInfo : varInfos) {
+			list.add(varInfo.getCurrentType());
+		}
+		return list;
+	}
+
+	private static List<SSAVar> makeVars(int count) {
+		List<SSAVar> vars = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			vars.add(new SSAVar(i, 0, InsnArg.reg(i, ArgType.UNKNOWN)));
+		}
+		return vars;
+	}
+
+	private static List<TypeSearchVarInfo> initVars(TypeSearchState state, List<SSAVar> vars, List<List<ArgType>> domains) {
+		List<TypeSearchVarInfo> varInfos = new ArrayList<>(vars.size());
+		for (int i = 0; i < vars.size(); i++) {
+			TypeSearchVarInfo varInfo = state.getVarInfo(vars.get(i));
+			varInfo.setCandidateTypes(domains.get(i));
+			varInfo.setConstraints(new ArrayList<>());
+			varInfos.add(varInfo);
+		}
+		return varInfos;
+	}
+
+	private interface TypesPredicate {
+		boolean test(ArgType first, ArgType second);
+	}
+
+	private static void addConstraint(TypeSearchState state, SSAVar first, SSAVar second, TypesPredicate predicate) {
+		addConstraint(state, new ITypeConstraint() {
+			@Override
+			public List<SSAVar> getRelatedVars() {
+				return Arrays.asList(first, second);
+			}
+
+			@Override
+			public boolean check(TypeSearchState searchState) {
+				return predicate.test(searchState.getVarInfo(first).getCurrentType(),
+						searchState.getVarInfo(second).getCurrentType());
+			}
+		});
+	}
+
+	private static void addConstraint(TypeSearchState state, ITypeConstraint constraint) {
+		// constraint owner is first related var
+		SSAVar owner = constraint.getRelatedVars().get(0);
+		state.getVarInfo(owner).getConstraints().add(constraint);
+	}
+
+	/**
+	 * Constraint with random table of allowed types combinations
+	 */
+	private static final class TableConstraint implements ITypeConstraint {
+		private final List<SSAVar> scope;
+		private final Set<List<ArgType>> allowed = new HashSet<>();
+
+		TableConstraint(TypeSearchState state, List<SSAVar> scope, Random random) {
+			this.scope = new ArrayList<>(scope);
+			fillTable(state, random, 0, new ArrayList<>());
+		}
+
+		private void fillTable(TypeSearchState state, Random random, int idx, List<ArgType> current) {
+			if (idx == scope.size()) {
+				if (random.nextInt(10) < 6) {
+					allowed.add(new ArrayList<>(current));
+				}
+				return;
+			}
+			for (ArgType type : state.getVarInfo(scope.get(idx)).getCandidateTypes()) {
+				current.add(type);
+				fillTable(state, random, idx + 1, current);
+				current.remove(current.size() - 1);
+			}
+		}
+
+		@Override
+		public List<SSAVar> getRelatedVars() {
+			return scope;
+		}
+
+		@Override
+		public boolean check(TypeSearchState state) {
+			List<ArgType> types = new ArrayList<>(scope.size());
+			for (SSAVar var : scope) {
+				types.add(state.getVarInfo(var).getCurrentType());
+			}
+			return allowed.contains(types);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package jadx.core.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecompileTimeBudgetTest extends IntegrationTest {
+
+	public static class TestCls {
+		public int test(int a) {
+			return a + 1;
+		}
+	}
+
+	/**
+	 * Pass without exit, stopped only by time budget check
+	 */
+	private static final class EndlessVisitor extends AbstractVisitor {
+		@Override
+		public void visit(MethodNode mth) {
+			for (int i = 0;; i++) {
+				DecompileTimeBudget.check(mth, i);
+			}
+		}
+	}
+
+	@Test
+	public void test() {
+		disableCompilation();
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls.isTimeLimitReached()).isFalse();
+
+		MethodNode mth = getMethod(cls, "test");
+		mth.remove(AType.JADX_ERROR);
+		getArgs().setMethodTimeLimit(1);
+
+		long start = System.nanoTime();
+		boolean result = DepthTraversal.visit(new EndlessVisitor(), mth);
+		long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(result).isFalse();
+		assertThat(time).isLessThan(5_000);
+		assertThat(mth.getAll(AType.JADX_ERROR))
+				.anyMatch(err -> err.getError().contains("time limit reached in pass: EndlessVisitor"));
+		assertThat(cls.isTimeLimitReached()).isTrue();
+	}
+}
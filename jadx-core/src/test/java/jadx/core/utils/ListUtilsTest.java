@@ -0,0 +1,29 @@
+package jadx.core.utils;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListUtilsTest {
+
+	@Test
+	public void testSplitToParts() {
+		List<Integer> list = asList(1, 2, 3, 4, 5, 6, 7);
+		assertThat(ListUtils.splitToParts(list, 3))
+				.containsExactly(asList(1, 2), asList(3, 4), asList(5, 6, 7));
+		assertThat(ListUtils.splitToParts(list, 1))
+				.containsExactly(list);
+	}
+
+	@Test
+	public void testSplitToPartsMoreThanSize() {
+		assertThat(ListUtils.splitToParts(asList(1, 2), 5))
+				.containsExactly(asList(1), asList(2));
+		assertThat(ListUtils.splitToParts(emptyList(), 4))
+				.containsExactly(emptyList());
+	}
+}
@@ -0,0 +1,82 @@
+package jadx.core.utils.files;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StreamingCodeSaverTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testWriteWithSmallQueue() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 20_000; i++) {
+			sb.append("line ").append(i).append(" \u0444\u0430\u0439\u043b\n");
+		}
+		String bigCode = sb.toString();
+		File dir = tempDir.toFile();
+		// queue limit smaller than code size: submit should not block forever
+		StreamingCodeSaver saver = new StreamingCodeSaver(2, 16 * 1024);
+		for (int i = 0; i < 10; i++) {
+			saver.submit(new File(dir, "pkg/Cls" + i + ".java"), i == 0 ? bigCode : "class Cls" + i + " {}");
+		}
+		saver.close();
+
+		String lineSeparator = System.lineSeparator();
+		assertThat(read(new File(dir, "pkg/Cls0.java"))).isEqualTo(bigCode + lineSeparator);
+		for (int i = 1; i < 10; i++) {
+			assertThat(read(new File(dir, "pkg/Cls" + i + ".java"))).isEqualTo("class Cls" + i + " {}" + lineSeparator);
+		}
+	}
+
+	@Test
+	public void testWriterErrorNotDeadlock() {
+		File dir = tempDir.toFile();
+		List<String> failingChunks = new AbstractList<String>() {
+			@Override
+			public String get(int index) {
+				throw new StackOverflowError("test");
+			}
+
+			@Override
+			public int size() {
+				return 1;
+			}
+		};
+		assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+			// one writer and one permit: every submit waits until previous entry processed
+			StreamingCodeSaver saver = new StreamingCodeSaver(1, 1024);
+			saver.submit(new File(dir, "Fail.java"), failingChunks, 10);
+			assertThatThrownBy(() -> {
+				for (int i = 0; i < 10; i++) {
+					saver.submit(new File(dir, "Cls" + i + ".java"), "class Cls" + i + " {}");
+				}
+			}).isInstanceOf(JadxRuntimeException.class);
+			assertThatThrownBy(saver::close)
+					.isInstanceOf(JadxRuntimeException.class)
+					.hasCauseInstanceOf(StackOverflowError.class);
+		});
+	}
+
+	private static String read(File file) throws Exception {
+		try (InputStream in = new FileInputStream(file)) {
+			return new String(FileUtils.streamToByteArray(in), StandardCharsets.UTF_8);
+		}
+	}
+}
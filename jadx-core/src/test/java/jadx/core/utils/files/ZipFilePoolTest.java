@@ -0,0 +1,62 @@
+package jadx.core.utils.files;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.core.utils.files.ZipFilePool.ZipHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipFilePoolTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSharedHandles() throws Exception {
+		File zip = makeZip();
+		ZipFilePool pool = new ZipFilePool();
+		try (ZipHandle first = pool.acquire(zip);
+				ZipHandle second = pool.acquire(zip)) {
+			assertThat(second.getZipFile()).isSameAs(first.getZipFile());
+			assertThat(pool.getOpenedCount()).isEqualTo(1);
+		}
+		// released handles stay cached until pool close
+		try (ZipHandle handle = pool.acquire(zip)) {
+			assertThat(handle.getZipFile().getEntry("a.txt")).isNotNull();
+		}
+		pool.close();
+		assertThat(pool.getOpenedCount()).isZero();
+	}
+
+	@Test
+	public void testCloseWithBusyHandle() throws Exception {
+		File zip = makeZip();
+		ZipFilePool pool = new ZipFilePool();
+		ZipHandle handle = pool.acquire(zip);
+		pool.close();
+		// still usable until released
+		assertThat(handle.getZipFile().getEntry("a.txt")).isNotNull();
+		handle.close();
+
+		try (ZipHandle newHandle = pool.acquire(zip)) {
+			assertThat(newHandle.getZipFile()).isNotSameAs(handle.getZipFile());
+		}
+	}
+
+	private File makeZip() throws Exception {
+		File file = tempDir.resolve("test.zip").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			out.putNextEntry(new ZipEntry("a.txt"));
+			out.write(1);
+			out.closeEntry();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,111 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryXMLStringsTest {
+	private static final List<String> STRINGS = Arrays.asList("", "abc", "строка", "long_" + repeat('x', 200));
+
+	@Test
+	void testUtf8Pool() throws IOException {
+		checkPool(buildPool(true));
+	}
+
+	@Test
+	void testUtf16Pool() throws IOException {
+		checkPool(buildPool(false));
+	}
+
+	private static void checkPool(byte[] pool) throws IOException {
+		BinaryXMLStrings streamStrings = new TestParser(new ParserStream(new ByteArrayInputStream(pool))).parse();
+		BinaryXMLStrings bufferStrings = new TestParser(new ParserBufferStream(ByteBuffer.wrap(pool))).parse();
+		ByteBuffer direct = ByteBuffer.allocateDirect(pool.length);
+		direct.put(pool).flip();
+		BinaryXMLStrings directStrings = new TestParser(new ParserBufferStream(direct)).parse();
+
+		for (BinaryXMLStrings strings : Arrays.asList(streamStrings, bufferStrings, directStrings)) {
+			assertThat(strings.size()).isEqualTo(STRINGS.size());
+			for (int i = 0; i < STRINGS.size(); i++) {
+				assertThat(strings.get(i)).isEqualTo(STRINGS.get(i));
+			}
+			strings.put(1, "renamed");
+			assertThat(strings.get(1)).isEqualTo("renamed");
+		}
+	}
+
+	private static final class TestParser extends CommonBinaryParser {
+		TestParser(ParserStream stream) {
+			this.is = stream;
+		}
+
+		BinaryXMLStrings parse() throws IOException {
+			return parseStringPool();
+		}
+	}
+
+	private static byte[] buildPool(boolean utf8) {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		int[] offsets = new int[STRINGS.size()];
+		for (int i = 0; i < STRINGS.size(); i++) {
+			offsets[i] = data.size();
+			String str = STRINGS.get(i);
+			if (utf8) {
+				byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+				writeLen8(data, str.length());
+				writeLen8(data, bytes.length);
+				data.write(bytes, 0, bytes.length);
+				data.write(0);
+			} else {
+				byte[] bytes = str.getBytes(StandardCharsets.UTF_16LE);
+				data.write(str.length() & 0xFF);
+				data.write(str.length() >> 8);
+				data.write(bytes, 0, bytes.length);
+				data.write(0);
+				data.write(0);
+			}
+		}
+		while (data.size() % 4 != 0) {
+			data.write(0);
+		}
+		int headerSize = 0x1c;
+		int stringsStart = headerSize + offsets.length * 4;
+		int size = stringsStart + data.size();
+		ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		buf.putShort((short) ParserConstants.RES_STRING_POOL_TYPE);
+		buf.putShort((short) headerSize);
+		buf.putInt(size);
+		buf.putInt(offsets.length);
+		buf.putInt(0); // styles count
+		buf.putInt(utf8 ? ParserConstants.UTF8_FLAG : 0);
+		buf.putInt(stringsStart);
+		buf.putInt(0); // styles start
+		for (int offset : offsets) {
+			buf.putInt(offset);
+		}
+		buf.put(data.toByteArray());
+		return buf.array();
+	}
+
+	private static void writeLen8(ByteArrayOutputStream out, int len) {
+		if (len > 0x7F) {
+			out.write(len >> 8 | 0x80);
+		}
+		out.write(len & 0xFF);
+	}
+
+	private static String repeat(char c, int count) {
+		char[] arr = new char[count];
+		Arrays.fill(arr, c);
+		return new String(arr);
+	}
+}
@@ -0,0 +1,73 @@
+package jadx.core.xmlgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.api.ResourceFile;
+import jadx.api.ResourceType;
+import jadx.core.dex.nodes.RootNode;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResDecoderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testDecodeMapped() throws Exception {
+		File arscFile = extractArsc();
+		ResourceFile resFile = ResourceFile.createResourceFile(null, arscFile, ResourceType.ARSC);
+		IResParser mappedParser = ResDecoder.decodeMapped(new RootNode(new JadxArgs()), resFile);
+		assertThat(mappedParser).isNotNull();
+
+		IResParser streamParser;
+		try (InputStream in = Files.newInputStream(arscFile.toPath())) {
+			streamParser = ResDecoder.decode(new RootNode(new JadxArgs()), resFile, in);
+		}
+		ResourceStorage mappedStorage = mappedParser.getResStorage();
+		ResourceStorage streamStorage = streamParser.getResStorage();
+		assertThat(entries(mappedStorage)).isNotEmpty().isEqualTo(entries(streamStorage));
+		assertThat(mappedStorage.getResourcesNames()).isEqualTo(streamStorage.getResourcesNames());
+		assertThat(mappedStorage.getAppPackage()).isNotNull().isEqualTo(streamStorage.getAppPackage());
+	}
+
+	@Test
+	void testReadAfterEnd() throws IOException {
+		ParserBufferStream stream = new ParserBufferStream(ByteBuffer.wrap(new byte[] { 1 }));
+		assertThat(stream.readInt8()).isEqualTo(1);
+		assertThatThrownBy(stream::readInt8).isInstanceOf(IOException.class);
+	}
+
+	private File extractArsc() throws IOException {
+		File apk = getFileFromSampleDir("app-with-fake-dex.apk");
+		Path arscPath = tempDir.resolve("resources.arsc");
+		try (ZipFile zip = new ZipFile(apk)) {
+			ZipEntry entry = zip.getEntry("resources.arsc");
+			try (InputStream in = zip.getInputStream(entry)) {
+				Files.copy(in, arscPath);
+			}
+		}
+		return arscPath.toFile();
+	}
+
+	private static List<String> entries(ResourceStorage storage) {
+		List<String> list = new ArrayList<>();
+		storage.getResources().forEach(entry -> list.add(entry.toString()));
+		return list;
+	}
+}
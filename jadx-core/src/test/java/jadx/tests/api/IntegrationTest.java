@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
@@ -180,6 +181,25 @@ public abstract class IntegrationTest extends TestUtils {
 		}
 	}
 
+	/**
+	 * Compile and decompile class from source code generated in test
+	 */
+	public ClassNode getClassNodeFromSource(String clsFullName, String code) {
+		try {
+			File srcDir = FileUtils.createTempDir("jadx-tmp-src");
+			File srcFile = new File(srcDir, clsFullName.replace('.', '/') + ".java");
+			FileUtils.makeDirsForFile(srcFile);
+			Files.write(srcFile.toPath(), code.getBytes(StandardCharsets.UTF_8));
+			List<File> files = compileSourceFiles(Collections.singletonList(srcFile));
+			assertThat("File list is empty", files, not(empty()));
+			return getClassNodeFromFiles(files, clsFullName);
+		} catch (Exception e) {
+			LOG.error("Failed to get class node", e);
+			fail(e.getMessage());
+			return null;
+		}
+	}
+
 	public List<ClassNode> getClassNodes(Class<?>... classes) {
 		try {
 			assertThat("Class list is empty", classes, not(emptyArray()));
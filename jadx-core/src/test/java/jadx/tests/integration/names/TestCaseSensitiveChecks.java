@@ -45,6 +45,17 @@ public class TestCaseSensitiveChecks extends SmaliTest {
 		assertThat(names, Matchers.containsInAnyOrder("A", "a"));
 	}
 
+	@Test
+	public void testLazyLoad() {
+		args.setFsCaseSensitive(false);
+		// classes not used in each other, so prepared in separate runs
+		args.setLazyClassesLoad(true);
+
+		List<ClassNode> classes = loadFromSmaliFiles();
+		long namesCount = classes.stream().map(cls -> cls.getAlias().toLowerCase()).distinct().count();
+		assertThat(namesCount, is(2L));
+	}
+
 	@Test
 	public void testWithDeobfuscation() {
 		enableDeobfuscation();
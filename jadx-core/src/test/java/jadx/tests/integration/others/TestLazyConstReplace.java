@@ -0,0 +1,37 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.tests.api.SmaliTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+/**
+ * Class with constant not used in test class, so in lazy mode it is not loaded with test class
+ */
+public class TestLazyConstReplace extends SmaliTest {
+	// @formatter:off
+	/*
+		public int test() {
+			return Consts.CONST;
+		}
+	*/
+	// @formatter:on
+
+	@Test
+	public void test() {
+		disableCompilation();
+		assertThat(getClassNodeFromSmaliFiles("others", "TestLazyConstReplace", "TestLazyConstReplace"))
+				.code()
+				.containsOne("return Consts.CONST;");
+	}
+
+	@Test
+	public void testLazy() {
+		disableCompilation();
+		getArgs().setLazyClassesLoad(true);
+		assertThat(getClassNodeFromSmaliFiles("others", "TestLazyConstReplace", "TestLazyConstReplace"))
+				.code()
+				.containsOne("return Consts.CONST;");
+	}
+}
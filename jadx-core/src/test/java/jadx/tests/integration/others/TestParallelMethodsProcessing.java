@@ -0,0 +1,69 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+/**
+ * Class with many methods processed with methods level parallelism
+ */
+public class TestParallelMethodsProcessing extends IntegrationTest {
+
+	private static final int METHODS_COUNT = 64;
+
+	@Test
+	public void test() {
+		getArgs().setParallelMethodsProcessing(true);
+		getArgs().setThreadsCount(4);
+		ClassNode cls = getClassNodeFromSource(getClsName(), buildSource());
+		checkCode(cls);
+		assertThat(getParallelClassesCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSequential() {
+		ClassNode cls = getClassNodeFromSource(getClsName(), buildSource());
+		checkCode(cls);
+		assertThat(getParallelClassesCount()).isEqualTo(0);
+	}
+
+	private String getClsName() {
+		return getTestPkg() + '.' + getTestName();
+	}
+
+	private String buildSource() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(getTestPkg()).append(";\n\n");
+		sb.append("public class ").append(getTestName()).append(" {\n");
+		for (int i = 1; i <= METHODS_COUNT; i++) {
+			sb.append("\tpublic int m").append(i).append("(int a) {\n");
+			sb.append("\t\treturn a > ").append(i).append(" ? a - ").append(i).append(" : a * ").append(i).append(";\n");
+			sb.append("\t}\n\n");
+		}
+		sb.append("\tpublic void check() {\n");
+		sb.append("\t\tif (m1(5) != 4 || m").append(METHODS_COUNT).append("(2) != ").append(2 * METHODS_COUNT).append(") {\n");
+		sb.append("\t\t\tthrow new AssertionError();\n");
+		sb.append("\t\t}\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private int getParallelClassesCount() {
+		return JadxInternalAccess.getRoot(jadxDecompiler).getProcessClasses().getParallelClassesCount();
+	}
+
+	private static void checkCode(ClassNode cls) {
+		assertThat(cls.getMethods()).hasSizeGreaterThanOrEqualTo(METHODS_COUNT);
+		for (int i = 1; i <= METHODS_COUNT; i++) {
+			assertThat(cls)
+					.code()
+					.containsOne("public int m" + i + "(int a) {")
+					.containsOne("return a > " + i + " ? a - " + i + " : a * " + i + ';');
+		}
+	}
+}
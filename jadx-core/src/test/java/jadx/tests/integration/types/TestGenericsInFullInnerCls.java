@@ -31,6 +31,14 @@ public class TestGenericsInFullInnerCls extends SmaliTest {
 				.containsOne("private ba<S> a;");
 	}
 
+	@Test
+	public void testParallelPrepare() {
+		// inner classes fixes from signatures applied after parallel pass
+		getArgs().setParallelPreDecompile(true);
+		getArgs().setThreadsCount(4);
+		test();
+	}
+
 	@Test
 	public void testWithDeobf() {
 		enableDeobfuscation();
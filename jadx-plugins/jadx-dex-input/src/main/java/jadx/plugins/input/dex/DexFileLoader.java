@@ -6,10 +6,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
@@ -20,6 +23,7 @@ import jadx.api.plugins.utils.CommonFileUtils;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.plugins.input.dex.sections.DexConsts;
 import jadx.plugins.input.dex.utils.DexCheckSum;
+import jadx.plugins.input.dex.utils.MappedZipEntries;
 
 public class DexFileLoader {
 	private static final Logger LOG = LoggerFactory.getLogger(DexFileLoader.class);
@@ -44,6 +48,16 @@ public class DexFileLoader {
 	}
 
 	private List<DexReader> loadDexFromFile(File file) {
+		if (options.isUseMmap()) {
+			try {
+				List<DexReader> mappedDexList = loadMappedFile(file);
+				if (mappedDexList != null) {
+					return mappedDexList;
+				}
+			} catch (Exception e) {
+				LOG.warn("Failed to map file: {}, fallback to load into memory", file.getAbsolutePath(), e);
+			}
+		}
 		try (InputStream inputStream = new FileInputStream(file)) {
 			return load(file, inputStream, file.getAbsolutePath());
 		} catch (Exception e) {
@@ -68,7 +82,7 @@ public class DexFileLoader {
 			if (file != null) {
 				// allow only top level zip files
 				if (isStartWithBytes(magic, DexConsts.ZIP_FILE_MAGIC) || CommonFileUtils.isZipFileExt(fileName)) {
-					return collectDexFromZip(file);
+					return collectDexFromZip(file, Collections.emptyMap());
 				}
 			}
 			return Collections.emptyList();
@@ -82,11 +96,55 @@ public class DexFileLoader {
 		return new DexReader(getNextUniqId(), fileName, content);
 	}
 
-	private List<DexReader> collectDexFromZip(File file) {
+	public DexReader loadDexReader(String fileName, ByteBuffer content) {
+		if (options.isVerifyChecksum()) {
+			DexCheckSum.verify(content);
+		}
+		return new DexReader(getNextUniqId(), fileName, content);
+	}
+
+	/**
+	 * Map file once and use it as dex content or as zip with uncompressed dex entries
+	 *
+	 * @return null if file can't be mapped or not dex or zip
+	 */
+	@Nullable
+	private List<DexReader> loadMappedFile(File file) throws IOException {
+		ByteBuffer buf;
+		try (FileInputStream in = new FileInputStream(file);
+				FileChannel channel = in.getChannel()) {
+			long size = channel.size();
+			if (size < DexConsts.MAX_MAGIC_SIZE || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			// mapping stays valid after channel close
+			buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		String fileName = file.getAbsolutePath();
+		if (isDexContent(buf, fileName)) {
+			return Collections.singletonList(loadDexReader(fileName, buf));
+		}
+		if (startsWith(buf, DexConsts.ZIP_FILE_MAGIC) || CommonFileUtils.isZipFileExt(fileName)) {
+			return collectDexFromZip(file, MappedZipEntries.collectStoredEntries(buf));
+		}
+		return null;
+	}
+
+	/**
+	 * @param storedEntries uncompressed entries from mapped zip file (can be empty)
+	 */
+	private List<DexReader> collectDexFromZip(File file, Map<String, ByteBuffer> storedEntries) {
 		List<DexReader> result = new ArrayList<>();
 		try {
 			ZipSecurity.readZipEntries(file, (entry, in) -> {
 				try {
+					ByteBuffer mappedEntry = storedEntries.get(entry.getName());
+					if (mappedEntry != null
+							&& mappedEntry.limit() == entry.getSize()
+							&& isDexContent(mappedEntry, entry.getName())) {
+						result.add(loadDexReader(entry.getName(), mappedEntry));
+						return;
+					}
 					result.addAll(load(null, in, entry.getName()));
 				} catch (Exception e) {
 					LOG.error("Failed to read zip entry: {}", entry, e);
@@ -98,6 +156,21 @@ public class DexFileLoader {
 		return result;
 	}
 
+	private static boolean isDexContent(ByteBuffer buf, String fileName) {
+		return fileName.endsWith(".dex") || startsWith(buf, DexConsts.DEX_FILE_MAGIC);
+	}
+
+	private static boolean startsWith(ByteBuffer buf, byte[] expectedBytes) {
+		if (buf.limit() < DexConsts.MAX_MAGIC_SIZE) {
+			return false;
+		}
+		byte[] magic = new byte[DexConsts.MAX_MAGIC_SIZE];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(0);
+		dup.get(magic);
+		return isStartWithBytes(magic, expectedBytes);
+	}
+
 	private static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes) {
 		int len = expectedBytes.length;
 		if (fileMagic.length < len) {
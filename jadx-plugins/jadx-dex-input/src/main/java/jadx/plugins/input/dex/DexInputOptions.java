@@ -1,6 +1,6 @@
 package jadx.plugins.input.dex;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 import jadx.api.plugins.options.OptionDescription;
@@ -10,23 +10,34 @@ import jadx.api.plugins.options.impl.JadxOptionDescription;
 public class DexInputOptions extends BaseOptionsParser {
 
 	private static final String VERIFY_CHECKSUM_OPT = DexInputPlugin.PLUGIN_ID + ".verify-checksum";
+	private static final String USE_MMAP_OPT = DexInputPlugin.PLUGIN_ID + ".use-mmap";
 
 	private boolean verifyChecksum = true;
+	private boolean useMmap = false;
 
 	@Override
 	public void parseOptions() {
 		verifyChecksum = getBooleanOption(VERIFY_CHECKSUM_OPT, true);
+		useMmap = getBooleanOption(USE_MMAP_OPT, false);
 	}
 
 	public List<OptionDescription> getOptionsDescriptions() {
-		return Collections.singletonList(
+		return Arrays.asList(
 				JadxOptionDescription.booleanOption(
 						VERIFY_CHECKSUM_OPT,
 						"verify dex file checksum before load",
-						true));
+						true),
+				JadxOptionDescription.booleanOption(
+						USE_MMAP_OPT,
+						"memory map dex files and uncompressed dex entries in zip instead of loading into heap",
+						false));
 	}
 
 	public boolean isVerifyChecksum() {
 		return verifyChecksum;
 	}
+
+	public boolean isUseMmap() {
+		return useMmap;
+	}
 }
@@ -2,6 +2,7 @@ package jadx.plugins.input.dex;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -11,9 +12,19 @@ import jadx.api.plugins.input.ICodeLoader;
 import jadx.api.plugins.input.data.IClassData;
 
 public class DexLoadResult implements ICodeLoader {
+	/**
+	 * Max class defs count in one part for concurrent visit,
+	 * so big single dex file also can be loaded in parallel
+	 */
+	private static final int PART_CLASSES_LIMIT = 2000;
+
 	private final List<DexReader> dexReaders;
 	@Nullable
 	private final Closeable closeable;
+	/**
+	 * Parts for concurrent visit: dex reader index, start and end class def index
+	 */
+	private List<int[]> parts;
 
 	public DexLoadResult(List<DexReader> dexReaders, @Nullable Closeable closeable) {
 		this.dexReaders = dexReaders;
@@ -27,6 +38,31 @@ public class DexLoadResult implements ICodeLoader {
 		}
 	}
 
+	@Override
+	public int getPartsCount() {
+		return getParts().size();
+	}
+
+	@Override
+	public void visitClasses(int part, Consumer<IClassData> consumer) {
+		int[] range = getParts().get(part);
+		dexReaders.get(range[0]).visitClasses(range[1], range[2], consumer);
+	}
+
+	private synchronized List<int[]> getParts() {
+		if (parts == null) {
+			List<int[]> list = new ArrayList<>();
+			for (int i = 0, len = dexReaders.size(); i < len; i++) {
+				int count = dexReaders.get(i).getClassesCount();
+				for (int start = 0; start < count; start += PART_CLASSES_LIMIT) {
+					list.add(new int[] { i, start, Math.min(count, start + PART_CLASSES_LIMIT) });
+				}
+			}
+			parts = list;
+		}
+		return parts;
+	}
+
 	@Override
 	public void close() throws IOException {
 		if (closeable != null) {
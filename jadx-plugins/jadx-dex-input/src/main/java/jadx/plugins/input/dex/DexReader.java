@@ -1,11 +1,13 @@
 package jadx.plugins.input.dex;
 
+import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import jadx.api.plugins.input.data.IClassData;
 import jadx.plugins.input.dex.sections.DexClassData;
 import jadx.plugins.input.dex.sections.DexHeader;
+import jadx.plugins.input.dex.sections.DexStringPool;
 import jadx.plugins.input.dex.sections.SectionReader;
 import jadx.plugins.input.dex.sections.annotations.AnnotationsParser;
 
@@ -14,37 +16,97 @@ public class DexReader {
 	private final String inputFileName;
 	private final ByteBuffer buf;
 	private final DexHeader header;
+	private final DexStringPool stringPool;
+	/**
+	 * Copy of mapped content for consumers which need byte array (smali disassembler),
+	 * created once and released on low memory
+	 */
+	private volatile SoftReference<byte[]> bytesCopy;
 
 	public DexReader(int uniqId, String inputFileName, byte[] content) {
+		this(uniqId, inputFileName, ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * Buffer content starts at position 0 and can be direct (memory mapped)
+	 */
+	public DexReader(int uniqId, String inputFileName, ByteBuffer buf) {
 		this.uniqId = uniqId;
 		this.inputFileName = inputFileName;
-		this.buf = ByteBuffer.wrap(content);
+		this.buf = buf;
 		this.header = new DexHeader(new SectionReader(this, 0));
+		this.stringPool = new DexStringPool(checkStringIds(header, buf));
+	}
+
+	/**
+	 * Validate string ids section before allocating strings cache
+	 */
+	private static int checkStringIds(DexHeader header, ByteBuffer buf) {
+		int size = header.getStringIdsSize();
+		int offset = header.getStringIdsOff();
+		if (size < 0 || offset < 0 || offset + size * 4L > buf.limit()) {
+			throw new DexException("Invalid string ids section: size " + size
+					+ ", offset 0x" + Integer.toHexString(offset) + ", file size " + buf.limit());
+		}
+		return size;
 	}
 
 	public void visitClasses(Consumer<IClassData> consumer) {
-		int count = header.getClassDefsSize();
-		if (count == 0) {
+		visitClasses(0, getClassesCount(), consumer);
+	}
+
+	/**
+	 * Visit class defs in range [start, end), can be used concurrently for different ranges
+	 */
+	public void visitClasses(int start, int end, Consumer<IClassData> consumer) {
+		if (start >= end) {
 			return;
 		}
 		int classDefsOff = header.getClassDefsOff();
-		SectionReader in = new SectionReader(this, classDefsOff);
+		SectionReader in = new SectionReader(this, classDefsOff + start * DexClassData.SIZE);
 		AnnotationsParser annotationsParser = new AnnotationsParser(in.copy(), in.copy());
 		DexClassData classData = new DexClassData(in, annotationsParser);
-		for (int i = 0; i < count; i++) {
+		for (int i = start; i < end; i++) {
 			consumer.accept(classData);
 			in.shiftOffset(DexClassData.SIZE);
 		}
 	}
 
+	public int getClassesCount() {
+		return header.getClassDefsSize();
+	}
+
 	public ByteBuffer getBuf() {
 		return buf;
 	}
 
+	/**
+	 * Dex file content as byte array, for mapped buffer copy is created on first call and reused
+	 */
+	public byte[] getBytes() {
+		if (buf.hasArray() && buf.arrayOffset() == 0 && buf.array().length == buf.limit()) {
+			return buf.array();
+		}
+		SoftReference<byte[]> ref = bytesCopy;
+		byte[] bytes = ref != null ? ref.get() : null;
+		if (bytes == null) {
+			ByteBuffer dup = buf.duplicate();
+			dup.position(0);
+			bytes = new byte[dup.limit()];
+			dup.get(bytes);
+			bytesCopy = new SoftReference<>(bytes);
+		}
+		return bytes;
+	}
+
 	public DexHeader getHeader() {
 		return header;
 	}
 
+	public DexStringPool getStringPool() {
+		return stringPool;
+	}
+
 	public String getInputFileName() {
 		return inputFileName;
 	}
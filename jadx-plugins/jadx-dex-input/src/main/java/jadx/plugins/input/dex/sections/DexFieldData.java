@@ -71,6 +71,11 @@ public class DexFieldData implements IFieldData {
 		this.constValue = constValue;
 	}
 
+	@Override
+	public @Nullable EncodedValue getConstValue() {
+		return constValue;
+	}
+
 	private List<IAnnotation> getAnnotations() {
 		if (annotationsParser == null) {
 			throw new NullPointerException("Annotation parser not initialized");
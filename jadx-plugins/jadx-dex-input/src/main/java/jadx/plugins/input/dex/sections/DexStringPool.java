@@ -0,0 +1,35 @@
+package jadx.plugins.input.dex.sections;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lazy filled cache for decoded strings from dex string ids section.
+ * <br>
+ * No locks used: {@link String} is immutable and safe to publish through data race,
+ * so concurrent readers can only see null (and decode string again) or fully constructed string.
+ */
+public class DexStringPool {
+	private final String[] strings;
+
+	public DexStringPool(int size) {
+		this.strings = new String[size];
+	}
+
+	@Nullable
+	public String get(int idx) {
+		if (idx < 0 || idx >= strings.length) {
+			return null;
+		}
+		return strings[idx];
+	}
+
+	public void put(int idx, String str) {
+		if (idx >= 0 && idx < strings.length) {
+			strings[idx] = str;
+		}
+	}
+
+	public int size() {
+		return strings.length;
+	}
+}
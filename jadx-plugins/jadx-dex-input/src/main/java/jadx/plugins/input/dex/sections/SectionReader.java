@@ -170,12 +170,18 @@ public class SectionReader {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		// TODO: make string pool cache?
+		DexStringPool stringPool = dexReader.getStringPool();
+		String cachedStr = stringPool.get(idx);
+		if (cachedStr != null) {
+			return cachedStr;
+		}
 		int stringIdsOff = dexReader.getHeader().getStringIdsOff();
 		absPos(stringIdsOff + idx * 4);
 		int strOff = readInt();
 		absPos(strOff);
-		return MUtf8.decode(this);
+		String str = MUtf8.decode(this);
+		stringPool.put(idx, str);
+		return str;
 	}
 
 	public IFieldRef getFieldRef(int idx) {
@@ -11,12 +11,40 @@ public class DexCheckSum {
 
 	public static void verify(byte[] content) {
 		int len = content.length;
-		if (len < 12) {
-			throw new DexException("Dex file truncated, length: " + len);
-		}
+		checkLength(len);
 		int checksum = ByteBuffer.wrap(content, 8, 4).order(LITTLE_ENDIAN).getInt();
 		Adler32 adler32 = new Adler32();
 		adler32.update(content, 12, len - 12);
+		checkValue(checksum, adler32);
+	}
+
+	/**
+	 * Verify checksum for buffer content from position 0 to limit,
+	 * data read by chunks to avoid copy of whole (mapped) buffer
+	 */
+	public static void verify(ByteBuffer content) {
+		ByteBuffer buf = content.duplicate();
+		int len = buf.limit();
+		checkLength(len);
+		int checksum = buf.order(LITTLE_ENDIAN).getInt(8);
+		Adler32 adler32 = new Adler32();
+		byte[] chunk = new byte[8192];
+		buf.position(12);
+		while (buf.hasRemaining()) {
+			int count = Math.min(chunk.length, buf.remaining());
+			buf.get(chunk, 0, count);
+			adler32.update(chunk, 0, count);
+		}
+		checkValue(checksum, adler32);
+	}
+
+	private static void checkLength(int len) {
+		if (len < 12) {
+			throw new DexException("Dex file truncated, length: " + len);
+		}
+	}
+
+	private static void checkValue(int checksum, Adler32 adler32) {
 		int fileChecksum = (int) (adler32.getValue());
 		if (checksum != fileChecksum) {
 			throw new DexException(String.format("Bad checksum: 0x%08x, expected: 0x%08x", fileChecksum, checksum));
@@ -0,0 +1,141 @@
+package jadx.plugins.input.dex.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collect uncompressed (stored) entries from zip file as slices of memory mapped file.
+ * Only plain zip layout supported (no zip64 and encryption), in other cases such entries just skipped.
+ */
+public class MappedZipEntries {
+	private static final int LOC_SIG = 0x04034b50;
+	private static final int CEN_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+
+	private static final int LOC_HEADER_SIZE = 30;
+	private static final int CEN_HEADER_SIZE = 46;
+	private static final int END_HEADER_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private MappedZipEntries() {
+	}
+
+	public static Map<String, ByteBuffer> mapStoredEntries(File file) throws IOException {
+		try (FileInputStream in = new FileInputStream(file);
+				FileChannel channel = in.getChannel()) {
+			long size = channel.size();
+			if (size < END_HEADER_SIZE || size > Integer.MAX_VALUE) {
+				return Collections.emptyMap();
+			}
+			// mapping stays valid after channel close
+			ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			return collectStoredEntries(buf);
+		}
+	}
+
+	public static Map<String, ByteBuffer> collectStoredEntries(ByteBuffer zipBuf) {
+		ByteBuffer buf = zipBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int endPos = findEndHeader(buf);
+		if (endPos == -1) {
+			return Collections.emptyMap();
+		}
+		int entriesCount = readUShort(buf, endPos + 10);
+		long cenOffset = readUInt(buf, endPos + 16);
+		if (entriesCount == 0xFFFF || cenOffset == 0xFFFFFFFFL) {
+			// zip64
+			return Collections.emptyMap();
+		}
+		int limit = buf.limit();
+		Map<String, ByteBuffer> result = new HashMap<>();
+		long pos = cenOffset;
+		for (int i = 0; i < entriesCount; i++) {
+			if (pos + CEN_HEADER_SIZE > limit) {
+				break;
+			}
+			int cen = (int) pos;
+			if (buf.getInt(cen) != CEN_SIG) {
+				break;
+			}
+			int flags = readUShort(buf, cen + 8);
+			int method = readUShort(buf, cen + 10);
+			long compressedSize = readUInt(buf, cen + 20);
+			long size = readUInt(buf, cen + 24);
+			int nameLen = readUShort(buf, cen + 28);
+			int extraLen = readUShort(buf, cen + 30);
+			int commentLen = readUShort(buf, cen + 32);
+			long locOffset = readUInt(buf, cen + 42);
+			if (cen + CEN_HEADER_SIZE + nameLen > limit) {
+				break;
+			}
+			boolean encrypted = (flags & 1) != 0;
+			if (method == ZipEntry.STORED && !encrypted && compressedSize == size) {
+				ByteBuffer data = sliceEntryData(buf, locOffset, size);
+				if (data != null) {
+					result.put(readName(buf, cen + CEN_HEADER_SIZE, nameLen), data);
+				}
+			}
+			pos += CEN_HEADER_SIZE + nameLen + extraLen + commentLen;
+		}
+		return result;
+	}
+
+	private static int findEndHeader(ByteBuffer buf) {
+		int limit = buf.limit();
+		int minPos = Math.max(0, limit - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+		for (int pos = limit - END_HEADER_SIZE; pos >= minPos; pos--) {
+			if (buf.getInt(pos) == END_SIG) {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	@Nullable
+	private static ByteBuffer sliceEntryData(ByteBuffer buf, long locOffset, long size) {
+		int limit = buf.limit();
+		if (locOffset + LOC_HEADER_SIZE > limit) {
+			return null;
+		}
+		int loc = (int) locOffset;
+		if (buf.getInt(loc) != LOC_SIG) {
+			return null;
+		}
+		// local header can contain different extra field length
+		long dataStart = locOffset + LOC_HEADER_SIZE + readUShort(buf, loc + 26) + readUShort(buf, loc + 28);
+		long dataEnd = dataStart + size;
+		if (dataEnd > limit) {
+			return null;
+		}
+		ByteBuffer data = buf.duplicate();
+		data.position((int) dataStart);
+		data.limit((int) dataEnd);
+		return data.slice();
+	}
+
+	private static String readName(ByteBuffer buf, int pos, int len) {
+		byte[] bytes = new byte[len];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(pos);
+		dup.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int readUShort(ByteBuffer buf, int pos) {
+		return buf.getShort(pos) & 0xFFFF;
+	}
+
+	private static long readUInt(ByteBuffer buf, int pos) {
+		return buf.getInt(pos) & 0xFFFFFFFFL;
+	}
+}
@@ -2,8 +2,12 @@ package jadx.plugins.input.dex;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -17,8 +21,10 @@ import jadx.api.plugins.input.data.ICodeReader;
 import jadx.plugins.input.dex.utils.SmaliTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DexInputPluginTest {
+	private static final int STRING_IDS_SIZE_OFFSET = 0x38;
 
 	@Test
 	public void loadSampleApk() throws Exception {
@@ -35,6 +41,48 @@ class DexInputPluginTest {
 		processFile(SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
 	}
 
+	@Test
+	public void reuseDecodedStrings() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		try (ICodeLoader result = new DexInputPlugin().loadFiles(Collections.singletonList(sample.toFile()))) {
+			List<String> first = new ArrayList<>();
+			List<String> second = new ArrayList<>();
+			result.visitClasses(cls -> first.add(cls.getType()));
+			result.visitClasses(cls -> second.add(cls.getType()));
+			assertThat(first).isNotEmpty().hasSameSizeAs(second);
+			for (int i = 0; i < first.size(); i++) {
+				assertThat(second.get(i)).isSameAs(first.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void visitByParts() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/app-with-fake-dex.apk").toURI());
+		try (ICodeLoader result = new DexInputPlugin().loadFiles(Collections.singletonList(sample.toFile()))) {
+			List<String> expected = new ArrayList<>();
+			result.visitClasses(cls -> expected.add(cls.getType()));
+			List<String> byParts = new ArrayList<>();
+			for (int part = 0; part < result.getPartsCount(); part++) {
+				result.visitClasses(part, cls -> byParts.add(cls.getType()));
+			}
+			assertThat(byParts).isNotEmpty().isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void rejectInvalidStringIds() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		byte[] content = Files.readAllBytes(sample);
+		for (int size : new int[] { -1, Integer.MAX_VALUE, content.length / 4 }) {
+			ByteBuffer buf = ByteBuffer.wrap(content.clone()).order(ByteOrder.LITTLE_ENDIAN);
+			buf.putInt(STRING_IDS_SIZE_OFFSET, size);
+			assertThatThrownBy(() -> new DexReader(0, "hello.dex", buf.array()))
+					.isInstanceOf(DexException.class)
+					.hasMessageContaining("Invalid string ids section");
+		}
+	}
+
 	private static void processFile(Path sample) throws IOException {
 		System.out.println("Input file: " + sample.toAbsolutePath());
 		long start = System.currentTimeMillis();
@@ -0,0 +1,53 @@
+package jadx.plugins.input.dex.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedZipEntriesTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void mapOnlyStoredEntries() throws Exception {
+		byte[] storedData = "stored entry".getBytes(StandardCharsets.UTF_8);
+		File zipFile = tempDir.resolve("test.zip").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			ZipEntry stored = new ZipEntry("classes.dex");
+			stored.setMethod(ZipEntry.STORED);
+			stored.setSize(storedData.length);
+			stored.setCompressedSize(storedData.length);
+			CRC32 crc = new CRC32();
+			crc.update(storedData);
+			stored.setCrc(crc.getValue());
+			stored.setExtra(new byte[] { 1, 2, 3, 4 });
+			out.putNextEntry(stored);
+			out.write(storedData);
+			out.closeEntry();
+
+			out.putNextEntry(new ZipEntry("classes2.dex"));
+			out.write("deflated entry".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+			out.setComment("zip comment");
+		}
+		Map<String, ByteBuffer> entries = MappedZipEntries.mapStoredEntries(zipFile);
+		assertThat(entries).containsOnlyKeys("classes.dex");
+
+		ByteBuffer buf = entries.get("classes.dex");
+		byte[] content = new byte[buf.limit()];
+		buf.duplicate().get(content);
+		assertThat(content).isEqualTo(storedData);
+	}
+}
@@ -10,4 +10,20 @@ public interface ICodeLoader extends Closeable {
 	void visitClasses(Consumer<IClassData> consumer);
 
 	boolean isEmpty();
+
+	/**
+	 * Number of independent classes parts, which can be visited concurrently
+	 * using {@link #visitClasses(int, Consumer)}
+	 */
+	default int getPartsCount() {
+		return 1;
+	}
+
+	/**
+	 * Visit classes from one part.
+	 * Classes from all parts visited in parts order should be the same as in {@link #visitClasses(Consumer)}.
+	 */
+	default void visitClasses(int part, Consumer<IClassData> consumer) {
+		visitClasses(consumer);
+	}
 }
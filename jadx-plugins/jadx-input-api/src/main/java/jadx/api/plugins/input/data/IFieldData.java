@@ -2,11 +2,29 @@ package jadx.api.plugins.input.data;
 
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.annotations.EncodedValue;
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.data.attributes.JadxAttrType;
 
 public interface IFieldData extends IFieldRef {
 
 	int getAccessFlags();
 
 	List<IJadxAttribute> getAttributes();
+
+	/**
+	 * Initial value of static field, same as {@link JadxAttrType#CONSTANT_VALUE} attribute.
+	 * Override to get value without parsing all attributes.
+	 */
+	@Nullable
+	default EncodedValue getConstValue() {
+		for (IJadxAttribute attr : getAttributes()) {
+			if (attr.getAttrType() == JadxAttrType.CONSTANT_VALUE) {
+				return (EncodedValue) attr;
+			}
+		}
+		return null;
+	}
 }
@@ -4,7 +4,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.api.plugins.input.data.IFieldData;
+import jadx.api.plugins.input.data.annotations.EncodedValue;
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
 import jadx.api.plugins.utils.Utils;
 import jadx.plugins.input.java.data.attributes.JavaAttrStorage;
@@ -72,6 +75,12 @@ public class JavaFieldData implements IFieldData {
 		return list;
 	}
 
+	@Override
+	public @Nullable EncodedValue getConstValue() {
+		ConstValueAttr constValueAttr = attributes.get(JavaAttrType.CONST_VALUE);
+		return constValueAttr != null ? constValueAttr.getValue() : null;
+	}
+
 	@Override
 	public String toString() {
 		return parentClassType + "->" + name + ":" + type;